@@ -0,0 +1,233 @@
+package com.example.onlinelibrary.cache;
+
+import com.example.onlinelibrary.dto.BookRow;
+import com.example.onlinelibrary.dto.BookView;
+import com.example.onlinelibrary.dto.NamedRef;
+import com.example.onlinelibrary.entity.Author;
+import com.example.onlinelibrary.entity.Book;
+import com.example.onlinelibrary.entity.Publisher;
+import com.example.onlinelibrary.event.CatalogChangedEvent;
+import com.example.onlinelibrary.event.CatalogChangedEvent.ChangeType;
+import com.example.onlinelibrary.event.CatalogResyncEvent;
+import com.example.onlinelibrary.repository.AuthorRepository;
+import com.example.onlinelibrary.repository.BookRepository;
+import com.example.onlinelibrary.repository.PublisherRepository;
+import com.example.onlinelibrary.search.SearchKeys;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+
+/**
+ * Every book kept in two {@link ConcurrentSkipListMap}s, one keyed by the title's search key and id, one by
+ * publication date and id, so a page in either order, forwards or backwards, from a letter, a date or the last book
+ * of the previous page costs O(log n + k) and no SQL. Loaded when the application is ready (or on first use) and patched
+ * from the committed writes of the catalog services; reads never block, and may briefly miss a book whose sort key
+ * is being moved.
+ */
+@Component
+public class BookNavigationIndex {
+
+    private static final Comparator<TitleKey> TITLE_ORDER =
+            Comparator.comparing(TitleKey::title).thenComparingLong(TitleKey::id);
+    private static final Comparator<DateKey> DATE_ORDER =
+            Comparator.comparingLong(DateKey::epochMillis).thenComparingLong(DateKey::id);
+
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final PublisherRepository publisherRepository;
+    private final ConcurrentSkipListMap<TitleKey, BookRow> byTitle = new ConcurrentSkipListMap<>(TITLE_ORDER);
+    private final ConcurrentSkipListMap<DateKey, BookRow> byDate = new ConcurrentSkipListMap<>(DATE_ORDER);
+    private final Map<Long, BookRow> books = new ConcurrentHashMap<>();
+    private final Map<Long, String> authorNames = new ConcurrentHashMap<>();
+    private final Map<Long, String> publisherNames = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public BookNavigationIndex(BookRepository bookRepository, AuthorRepository authorRepository,
+                               PublisherRepository publisherRepository) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.publisherRepository = publisherRepository;
+    }
+
+    /**
+     * Up to {@code limit} books in title order. Starts after {@code afterId} when given, else at the first title
+     * starting with {@code from} (the last such title when descending), else at either end. Empty if {@code afterId}
+     * is not a known book.
+     */
+    public Optional<List<BookView>> pageByTitle(String from, Long afterId, boolean descending, int limit) {
+        ensureLoaded();
+        if (afterId != null) {
+            BookRow after = books.get(afterId);
+            return after == null ? Optional.empty()
+                    : Optional.of(page(byTitle, titleKey(after), false, descending, limit));
+        }
+        if (from == null || from.isEmpty()) {
+            return Optional.of(page(byTitle, null, true, descending, limit));
+        }
+        String prefix = normalize(from);
+        TitleKey start = descending ? new TitleKey(prefix + Character.MAX_VALUE, Long.MAX_VALUE)
+                : new TitleKey(prefix, Long.MIN_VALUE);
+        return Optional.of(page(byTitle, start, true, descending, limit));
+    }
+
+    /**
+     * Up to {@code limit} books in publication-date order, books without a date first. Starts after {@code afterId}
+     * when given, else at the first book published on {@code from} (the last one when descending), else at either end.
+     */
+    public Optional<List<BookView>> pageByPublicationDate(LocalDate from, Long afterId, boolean descending, int limit) {
+        ensureLoaded();
+        if (afterId != null) {
+            BookRow after = books.get(afterId);
+            return after == null ? Optional.empty()
+                    : Optional.of(page(byDate, dateKey(after), false, descending, limit));
+        }
+        if (from == null) {
+            return Optional.of(page(byDate, null, true, descending, limit));
+        }
+        DateKey start = descending ? new DateKey(startOfDay(from.plusDays(1)) - 1, Long.MAX_VALUE)
+                : new DateKey(startOfDay(from), Long.MIN_VALUE);
+        return Optional.of(page(byDate, start, true, descending, limit));
+    }
+
+    @EventListener({ApplicationReadyEvent.class, CatalogResyncEvent.class})
+    public synchronized void reload() {
+        byTitle.clear();
+        byDate.clear();
+        books.clear();
+        authorNames.clear();
+        publisherNames.clear();
+        authorRepository.findAllRefs().forEach(author -> putName(authorNames, author.id(), author.name()));
+        publisherRepository.findAllRefs().forEach(publisher -> putName(publisherNames, publisher.id(), publisher.name()));
+        bookRepository.findAllRows().forEach(this::put);
+        loaded = true;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCatalogChanged(CatalogChangedEvent event) {
+        if (!loaded) {
+            return;
+        }
+        boolean deleted = event.changeType() == ChangeType.DELETED;
+        switch (event.entityType()) {
+            case BOOK -> {
+                remove(event.entityId());
+                if (!deleted && event.entity() instanceof Book book) {
+                    put(new BookRow(book.getId(), book.getTitle(), book.getPublicationDate(),
+                            book.getAuthor() == null ? null : book.getAuthor().getId(),
+                            book.getPublisher() == null ? null : book.getPublisher().getId()));
+                }
+            }
+            case AUTHOR -> {
+                if (deleted) {
+                    authorNames.remove(event.entityId());
+                    removeBooksWhere(row -> event.entityId().equals(row.authorId()));
+                } else if (event.entity() instanceof Author author) {
+                    putName(authorNames, author.getId(), author.getName());
+                }
+            }
+            case PUBLISHER -> {
+                if (deleted) {
+                    publisherNames.remove(event.entityId());
+                    removeBooksWhere(row -> event.entityId().equals(row.publisherId()));
+                } else if (event.entity() instanceof Publisher publisher) {
+                    putName(publisherNames, publisher.getId(), publisher.getName());
+                }
+            }
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    reload();
+                }
+            }
+        }
+    }
+
+    private <K> List<BookView> page(ConcurrentSkipListMap<K, BookRow> index, K start, boolean inclusive,
+                                    boolean descending, int limit) {
+        NavigableMap<K, BookRow> range;
+        if (start == null) {
+            range = descending ? index.descendingMap() : index;
+        } else {
+            range = descending ? index.headMap(start, inclusive).descendingMap() : index.tailMap(start, inclusive);
+        }
+        List<BookView> page = new ArrayList<>(Math.min(limit, 256));
+        for (BookRow row : range.values()) {
+            if (page.size() == limit) {
+                break;
+            }
+            page.add(view(row));
+        }
+        return page;
+    }
+
+    private BookView view(BookRow row) {
+        return new BookView(row.id(), row.title(), row.publicationDate(),
+                row.authorId() == null ? null : new NamedRef(row.authorId(), authorNames.get(row.authorId())),
+                row.publisherId() == null ? null : new NamedRef(row.publisherId(), publisherNames.get(row.publisherId())));
+    }
+
+    private void put(BookRow row) {
+        books.put(row.id(), row);
+        byTitle.put(titleKey(row), row);
+        byDate.put(dateKey(row), row);
+    }
+
+    private void remove(Long bookId) {
+        BookRow row = books.remove(bookId);
+        if (row != null) {
+            byTitle.remove(titleKey(row));
+            byDate.remove(dateKey(row));
+        }
+    }
+
+    private void removeBooksWhere(Predicate<BookRow> predicate) {
+        books.values().stream().filter(predicate).map(BookRow::id).toList().forEach(this::remove);
+    }
+
+    private static void putName(Map<Long, String> names, Long id, String name) {
+        if (id != null && name != null) {
+            names.put(id, name);
+        }
+    }
+
+    private static TitleKey titleKey(BookRow row) {
+        return new TitleKey(normalize(row.title()), row.id());
+    }
+
+    private static DateKey dateKey(BookRow row) {
+        Date date = row.publicationDate();
+        return new DateKey(date == null ? Long.MIN_VALUE : date.getTime(), row.id());
+    }
+
+    private static String normalize(String title) {
+        return title == null ? "" : SearchKeys.normalize(title);
+    }
+
+    private static long startOfDay(LocalDate date) {
+        return date.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record TitleKey(String title, long id) {
+    }
+
+    private record DateKey(long epochMillis, long id) {
+    }
+}
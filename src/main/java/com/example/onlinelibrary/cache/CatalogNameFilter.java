@@ -0,0 +1,101 @@
+package com.example.onlinelibrary.cache;
+
+import com.example.onlinelibrary.entity.Author;
+import com.example.onlinelibrary.entity.Book;
+import com.example.onlinelibrary.entity.Publisher;
+import com.example.onlinelibrary.event.CatalogChangedEvent;
+import com.example.onlinelibrary.event.CatalogChangedEvent.ChangeType;
+import com.example.onlinelibrary.event.CatalogChangedEvent.EntityType;
+import com.example.onlinelibrary.event.CatalogResyncEvent;
+import com.example.onlinelibrary.repository.AuthorRepository;
+import com.example.onlinelibrary.repository.BookRepository;
+import com.example.onlinelibrary.repository.PublisherRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bloom filters over author names, publisher names and book titles, so a create or rename can skip the existence
+ * lookup for a name that is definitely new. Built when the application is ready and fed from committed writes;
+ * until then every name counts as possibly taken. Deleted names stay in the filter and only cost a lookup. The
+ * unique indexes remain the source of truth for writes that race the filter.
+ */
+@Component
+public class CatalogNameFilter {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final AuthorRepository authorRepository;
+    private final PublisherRepository publisherRepository;
+    private final BookRepository bookRepository;
+    private final MeterRegistry meterRegistry;
+    private final int minCapacity;
+    private final Map<EntityType, BloomFilter> filters = new ConcurrentHashMap<>();
+
+    public CatalogNameFilter(AuthorRepository authorRepository, PublisherRepository publisherRepository,
+                             BookRepository bookRepository, MeterRegistry meterRegistry,
+                             @Value("${library.name-filter.min-capacity:10000}") int minCapacity) {
+        this.authorRepository = authorRepository;
+        this.publisherRepository = publisherRepository;
+        this.bookRepository = bookRepository;
+        this.meterRegistry = meterRegistry;
+        this.minCapacity = minCapacity;
+    }
+
+    /**
+     * {@code false} only if no entity of this type has ever been written with this name since the last rebuild.
+     */
+    public boolean mightExist(EntityType entityType, String name) {
+        if (name == null) {
+            return false;
+        }
+        BloomFilter filter = filters.get(entityType);
+        boolean mightExist = filter == null || filter.mightContain(name);
+        meterRegistry.counter("library.name-filter.checks", "entity", entityType.name().toLowerCase(),
+                "result", mightExist ? "maybe-present" : "definitely-new").increment();
+        return mightExist;
+    }
+
+    @EventListener({ApplicationReadyEvent.class, CatalogResyncEvent.class})
+    public void rebuild() {
+        filters.put(EntityType.AUTHOR, build(authorRepository.findAllNames()));
+        filters.put(EntityType.PUBLISHER, build(publisherRepository.findAllNames()));
+        filters.put(EntityType.BOOK, build(bookRepository.findAllTitles()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.changeType() == ChangeType.DELETED) {
+            return;
+        }
+        String name = null;
+        if (event.entity() instanceof Book book) {
+            name = book.getTitle();
+        } else if (event.entity() instanceof Author author) {
+            name = author.getName();
+        } else if (event.entity() instanceof Publisher publisher) {
+            name = publisher.getName();
+        }
+        BloomFilter filter = filters.get(event.entityType());
+        if (name != null && filter != null) {
+            filter.add(name);
+        }
+    }
+
+    private BloomFilter build(List<String> names) {
+        BloomFilter filter = new BloomFilter(Math.max(minCapacity, names.size() * 2), FALSE_POSITIVE_RATE);
+        for (String name : names) {
+            if (name != null) {
+                filter.add(name);
+            }
+        }
+        return filter;
+    }
+}
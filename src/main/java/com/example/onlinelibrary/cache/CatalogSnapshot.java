@@ -0,0 +1,342 @@
+package com.example.onlinelibrary.cache;
+
+import com.example.onlinelibrary.dto.BookRow;
+import com.example.onlinelibrary.dto.NamedRef;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Immutable column-per-field copy of the catalog for whole-catalog scans. Books are held in ascending id order as
+ * primitive arrays; authors and publishers are dictionary-encoded, each book storing the index of its author and
+ * publisher in the dictionary. Titles are unique (V3), so dictionary encoding would not shrink them and they are
+ * kept as a plain column. Every {@code with...}/{@code without...} returns a patched copy and leaves this one
+ * untouched, so readers never need a lock.
+ */
+public final class CatalogSnapshot {
+
+    /** Epoch day stored for a book without a publication date. */
+    public static final int NO_DATE = Integer.MIN_VALUE;
+
+    /** Dictionary code stored for a missing author or publisher. */
+    public static final int NO_CODE = -1;
+
+    // Below this many books a scan is cheaper than forking
+    private static final int SCAN_THRESHOLD = 8_192;
+
+    private final long[] bookIds;
+    private final String[] titles;
+    private final int[] authorCodes;
+    private final int[] publisherCodes;
+    private final int[] epochDays;
+    private final Dictionary authors;
+    private final Dictionary publishers;
+
+    private CatalogSnapshot(long[] bookIds, String[] titles, int[] authorCodes, int[] publisherCodes, int[] epochDays,
+                            Dictionary authors, Dictionary publishers) {
+        this.bookIds = bookIds;
+        this.titles = titles;
+        this.authorCodes = authorCodes;
+        this.publisherCodes = publisherCodes;
+        this.epochDays = epochDays;
+        this.authors = authors;
+        this.publishers = publishers;
+    }
+
+    public static CatalogSnapshot of(List<BookRow> books, List<NamedRef> authors, List<NamedRef> publishers) {
+        Dictionary authorDictionary = Dictionary.of(authors);
+        Dictionary publisherDictionary = Dictionary.of(publishers);
+        List<BookRow> sorted = new ArrayList<>(books);
+        sorted.sort(Comparator.comparing(BookRow::id));
+        int size = sorted.size();
+        long[] bookIds = new long[size];
+        String[] titles = new String[size];
+        int[] authorCodes = new int[size];
+        int[] publisherCodes = new int[size];
+        int[] epochDays = new int[size];
+        for (int i = 0; i < size; i++) {
+            BookRow book = sorted.get(i);
+            bookIds[i] = book.id();
+            titles[i] = book.title();
+            authorCodes[i] = authorDictionary.codeOf(book.authorId());
+            publisherCodes[i] = publisherDictionary.codeOf(book.publisherId());
+            epochDays[i] = toEpochDay(book.publicationDate());
+        }
+        return new CatalogSnapshot(bookIds, titles, authorCodes, publisherCodes, epochDays,
+                authorDictionary, publisherDictionary);
+    }
+
+    public int size() {
+        return bookIds.length;
+    }
+
+    public long bookId(int row) {
+        return bookIds[row];
+    }
+
+    public String title(int row) {
+        return titles[row];
+    }
+
+    public int epochDay(int row) {
+        return epochDays[row];
+    }
+
+    public String authorName(int code) {
+        return authors.names[code];
+    }
+
+    public String publisherName(int code) {
+        return publishers.names[code];
+    }
+
+    /**
+     * Books per author, indexed by author code. Large catalogs are counted in parallel on the common fork-join
+     * pool; the scan itself reads only the code column and allocates one counter array per forked range.
+     */
+    public int[] countBooksByAuthor() {
+        return new CountTask(authorCodes, authors.size(), 0, authorCodes.length).invoke();
+    }
+
+    /**
+     * Books per publisher, indexed by publisher code.
+     */
+    public int[] countBooksByPublisher() {
+        return new CountTask(publisherCodes, publishers.size(), 0, publisherCodes.length).invoke();
+    }
+
+    /**
+     * A copy with {@code book} inserted, or replacing the book with the same id. {@code null} if the book refers to an
+     * author or publisher this snapshot does not know, in which case the caller should rebuild.
+     */
+    public CatalogSnapshot withBook(BookRow book) {
+        int authorCode = authors.codeOf(book.authorId());
+        int publisherCode = publishers.codeOf(book.publisherId());
+        if ((book.authorId() != null && authorCode == NO_CODE)
+                || (book.publisherId() != null && publisherCode == NO_CODE)) {
+            return null;
+        }
+        int row = Arrays.binarySearch(bookIds, book.id());
+        boolean replace = row >= 0;
+        int at = replace ? row : -row - 1;
+        int size = replace ? bookIds.length : bookIds.length + 1;
+        long[] newIds = insertGap(bookIds, at, size, replace);
+        String[] newTitles = insertGap(titles, at, size, replace);
+        int[] newAuthorCodes = insertGap(authorCodes, at, size, replace);
+        int[] newPublisherCodes = insertGap(publisherCodes, at, size, replace);
+        int[] newEpochDays = insertGap(epochDays, at, size, replace);
+        newIds[at] = book.id();
+        newTitles[at] = book.title();
+        newAuthorCodes[at] = authorCode;
+        newPublisherCodes[at] = publisherCode;
+        newEpochDays[at] = toEpochDay(book.publicationDate());
+        return new CatalogSnapshot(newIds, newTitles, newAuthorCodes, newPublisherCodes, newEpochDays,
+                authors, publishers);
+    }
+
+    public CatalogSnapshot withoutBook(long bookId) {
+        int row = Arrays.binarySearch(bookIds, bookId);
+        if (row < 0) {
+            return this;
+        }
+        boolean[] dropped = new boolean[bookIds.length];
+        dropped[row] = true;
+        return retain(dropped, 1);
+    }
+
+    /**
+     * A copy with the author added or renamed. {@code null} if a new author's id is lower than a known one, which
+     * would reorder the dictionary; the caller should rebuild.
+     */
+    public CatalogSnapshot withAuthor(NamedRef author) {
+        Dictionary patched = authors.with(author);
+        return patched == null ? null : new CatalogSnapshot(bookIds, titles, authorCodes, publisherCodes, epochDays,
+                patched, publishers);
+    }
+
+    public CatalogSnapshot withPublisher(NamedRef publisher) {
+        Dictionary patched = publishers.with(publisher);
+        return patched == null ? null : new CatalogSnapshot(bookIds, titles, authorCodes, publisherCodes, epochDays,
+                authors, patched);
+    }
+
+    /**
+     * A copy without the author's books, which are deleted with it. The author keeps its code with no books.
+     */
+    public CatalogSnapshot withoutAuthor(long authorId) {
+        return withoutBooksCoded(authorCodes, authors.codeOf(authorId));
+    }
+
+    public CatalogSnapshot withoutPublisher(long publisherId) {
+        return withoutBooksCoded(publisherCodes, publishers.codeOf(publisherId));
+    }
+
+    private CatalogSnapshot withoutBooksCoded(int[] codes, int code) {
+        if (code == NO_CODE) {
+            return this;
+        }
+        boolean[] dropped = new boolean[codes.length];
+        int droppedCount = 0;
+        for (int i = 0; i < codes.length; i++) {
+            if (codes[i] == code) {
+                dropped[i] = true;
+                droppedCount++;
+            }
+        }
+        return droppedCount == 0 ? this : retain(dropped, droppedCount);
+    }
+
+    private CatalogSnapshot retain(boolean[] dropped, int droppedCount) {
+        int size = bookIds.length - droppedCount;
+        long[] newIds = new long[size];
+        String[] newTitles = new String[size];
+        int[] newAuthorCodes = new int[size];
+        int[] newPublisherCodes = new int[size];
+        int[] newEpochDays = new int[size];
+        int row = 0;
+        for (int i = 0; i < bookIds.length; i++) {
+            if (!dropped[i]) {
+                newIds[row] = bookIds[i];
+                newTitles[row] = titles[i];
+                newAuthorCodes[row] = authorCodes[i];
+                newPublisherCodes[row] = publisherCodes[i];
+                newEpochDays[row] = epochDays[i];
+                row++;
+            }
+        }
+        return new CatalogSnapshot(newIds, newTitles, newAuthorCodes, newPublisherCodes, newEpochDays,
+                authors, publishers);
+    }
+
+    private static long[] insertGap(long[] column, int at, int size, boolean replace) {
+        if (replace) {
+            return column.clone();
+        }
+        long[] copy = new long[size];
+        System.arraycopy(column, 0, copy, 0, at);
+        System.arraycopy(column, at, copy, at + 1, column.length - at);
+        return copy;
+    }
+
+    private static int[] insertGap(int[] column, int at, int size, boolean replace) {
+        if (replace) {
+            return column.clone();
+        }
+        int[] copy = new int[size];
+        System.arraycopy(column, 0, copy, 0, at);
+        System.arraycopy(column, at, copy, at + 1, column.length - at);
+        return copy;
+    }
+
+    private static String[] insertGap(String[] column, int at, int size, boolean replace) {
+        if (replace) {
+            return column.clone();
+        }
+        String[] copy = new String[size];
+        System.arraycopy(column, 0, copy, 0, at);
+        System.arraycopy(column, at, copy, at + 1, column.length - at);
+        return copy;
+    }
+
+    // Dates come back as java.sql.Date or Timestamp, whose toInstant() is not uniformly supported
+    private static int toEpochDay(Date date) {
+        if (date == null) {
+            return NO_DATE;
+        }
+        return (int) Instant.ofEpochMilli(date.getTime()).atZone(ZoneId.systemDefault()).toLocalDate().toEpochDay();
+    }
+
+    /**
+     * Ids and names in ascending id order; a code is the position in these arrays.
+     */
+    private record Dictionary(long[] ids, String[] names) {
+
+        static Dictionary of(List<NamedRef> refs) {
+            List<NamedRef> sorted = new ArrayList<>(refs);
+            sorted.sort(Comparator.comparing(NamedRef::id));
+            long[] ids = new long[sorted.size()];
+            String[] names = new String[sorted.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = sorted.get(i).id();
+                names[i] = sorted.get(i).name();
+            }
+            return new Dictionary(ids, names);
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        int codeOf(Long id) {
+            if (id == null) {
+                return NO_CODE;
+            }
+            int code = Arrays.binarySearch(ids, id);
+            return code < 0 ? NO_CODE : code;
+        }
+
+        Dictionary with(NamedRef ref) {
+            int code = codeOf(ref.id());
+            if (code != NO_CODE) {
+                String[] renamed = names.clone();
+                renamed[code] = ref.name();
+                return new Dictionary(ids, renamed);
+            }
+            if (ids.length > 0 && ref.id() < ids[ids.length - 1]) {
+                return null;
+            }
+            long[] grownIds = Arrays.copyOf(ids, ids.length + 1);
+            String[] grownNames = Arrays.copyOf(names, names.length + 1);
+            grownIds[ids.length] = ref.id();
+            grownNames[names.length] = ref.name();
+            return new Dictionary(grownIds, grownNames);
+        }
+    }
+
+    /**
+     * Histogram of a code column over {@code [from, to)}, split in halves until a range is small enough to scan.
+     */
+    private static final class CountTask extends RecursiveTask<int[]> {
+
+        private final int[] codes;
+        private final int cardinality;
+        private final int from;
+        private final int to;
+
+        CountTask(int[] codes, int cardinality, int from, int to) {
+            this.codes = codes;
+            this.cardinality = cardinality;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from <= SCAN_THRESHOLD) {
+                int[] counts = new int[cardinality];
+                for (int i = from; i < to; i++) {
+                    int code = codes[i];
+                    if (code != NO_CODE) {
+                        counts[code]++;
+                    }
+                }
+                return counts;
+            }
+            int middle = (from + to) >>> 1;
+            CountTask left = new CountTask(codes, cardinality, from, middle);
+            left.fork();
+            int[] counts = new CountTask(codes, cardinality, middle, to).compute();
+            int[] leftCounts = left.join();
+            for (int i = 0; i < cardinality; i++) {
+                counts[i] += leftCounts[i];
+            }
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.onlinelibrary.cache;
+
+import com.example.onlinelibrary.event.CatalogChangedEvent;
+import com.example.onlinelibrary.event.CatalogChangedEvent.ChangeType;
+import com.example.onlinelibrary.event.CatalogResyncEvent;
+import com.example.onlinelibrary.repository.AuthorRepository;
+import com.example.onlinelibrary.repository.BookRepository;
+import com.example.onlinelibrary.repository.PublisherRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Holds the current {@link CatalogSnapshot}. It is built once the application is ready and then replaced
+ * copy-on-write from committed catalog writes on a single background thread, re-reading the written row outside the
+ * writer's persistence context. Readers see either the old or the new snapshot, never a partial one; anything a
+ * patch cannot express triggers a full rebuild. Each snapshot records the {@link CatalogVersion} it reflects, and
+ * {@link #current()} withholds it while a committed write has not been applied yet.
+ */
+@Component
+public class CatalogSnapshotCache {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSnapshotCache.class);
+
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final PublisherRepository publisherRepository;
+    private final CatalogVersion catalogVersion;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final ExecutorService updates = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile CatalogSnapshot snapshot;
+    private volatile long snapshotVersion = -1;
+
+    public CatalogSnapshotCache(BookRepository bookRepository, AuthorRepository authorRepository,
+                                PublisherRepository publisherRepository, CatalogVersion catalogVersion) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.publisherRepository = publisherRepository;
+        this.catalogVersion = catalogVersion;
+    }
+
+    /**
+     * The latest snapshot if it reflects every committed write; empty until the first build has finished and while
+     * a write is still being applied, so callers fall back to the database.
+     */
+    public Optional<CatalogSnapshot> current() {
+        // Checked before the snapshot is read: both are written after the snapshot they describe
+        long version = catalogVersion.current();
+        if (pending.get() > 0 || snapshotVersion < version) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(snapshot);
+    }
+
+    @EventListener({ApplicationReadyEvent.class, CatalogResyncEvent.class})
+    public void onApplicationReady() {
+        submit(this::rebuild);
+    }
+
+    // Runs after CatalogVersion's listener, so the write's version bump is already visible to current()
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        long version = catalogVersion.current();
+        submit(() -> {
+            apply(event);
+            snapshotVersion = Math.max(snapshotVersion, version);
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        updates.shutdownNow();
+    }
+
+    private void submit(Runnable update) {
+        pending.incrementAndGet();
+        updates.execute(() -> {
+            try {
+                update.run();
+            } catch (RuntimeException ex) {
+                log.warn("Catalog snapshot update failed", ex);
+            } finally {
+                pending.decrementAndGet();
+            }
+        });
+    }
+
+    void rebuild() {
+        long version = catalogVersion.current();
+        snapshot = CatalogSnapshot.of(bookRepository.findAllRows(), authorRepository.findAllRefs(),
+                publisherRepository.findAllRefs());
+        snapshotVersion = Math.max(snapshotVersion, version);
+        log.info("Catalog snapshot built with {} books", snapshot.size());
+    }
+
+    void apply(CatalogChangedEvent event) {
+        CatalogSnapshot base = snapshot;
+        if (base == null) {
+            return;
+        }
+        boolean deleted = event.changeType() == ChangeType.DELETED;
+        CatalogSnapshot patched = switch (event.entityType()) {
+            case BOOK -> deleted ? base.withoutBook(event.entityId())
+                    : bookRepository.findRowById(event.entityId())
+                            .map(base::withBook)
+                            .orElseGet(() -> base.withoutBook(event.entityId()));
+            case AUTHOR -> deleted ? base.withoutAuthor(event.entityId())
+                    : authorRepository.findRefsByIdIn(List.of(event.entityId())).stream().findFirst()
+                            .map(base::withAuthor)
+                            .orElse(base);
+            case PUBLISHER -> deleted ? base.withoutPublisher(event.entityId())
+                    : publisherRepository.findRefsByIdIn(List.of(event.entityId())).stream().findFirst()
+                            .map(base::withPublisher)
+                            .orElse(base);
+        };
+        if (patched == null) {
+            rebuild();
+        } else {
+            snapshot = patched;
+        }
+    }
+}
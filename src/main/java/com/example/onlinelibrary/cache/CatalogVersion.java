@@ -0,0 +1,39 @@
+package com.example.onlinelibrary.cache;
+
+import com.example.onlinelibrary.event.CatalogChangedEvent;
+import com.example.onlinelibrary.event.CatalogResyncEvent;
+import org.springframework.core.Ordered;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Global catalog version, bumped after every committed book, author or publisher write, and when writes may have
+ * been missed.
+ * Anything cached under an older version is stale by definition. The bump runs before every other listener, so a
+ * cache that sees any effect of a write also sees the new version.
+ */
+@Component
+public class CatalogVersion {
+
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener
+    public void onCatalogResync(CatalogResyncEvent event) {
+        version.incrementAndGet();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.onlinelibrary.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, thread-safe count-min sketch over {@code long} keys. {@link #increment} never under-estimates a
+ * key's count; it over-estimates by at most about {@code 2 * total / width} with probability {@code 1 - 2^-depth}.
+ * {@link #halve} ages every counter so the sketch follows the recent request mix rather than all-time totals.
+ */
+public class CountMinSketch {
+
+    private final AtomicLongArray counters;
+    private final int depth;
+    private final int mask;
+
+    /**
+     * @param width counters per row, rounded up to a power of two
+     */
+    public CountMinSketch(int depth, int width) {
+        int rowWidth = Integer.highestOneBit(Math.max(2, width - 1)) << 1;
+        this.depth = depth;
+        this.mask = rowWidth - 1;
+        this.counters = new AtomicLongArray(depth * rowWidth);
+    }
+
+    /**
+     * Counts one occurrence of {@code key} and returns its new estimate.
+     */
+    public long increment(long key) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(slot(row, key)));
+        }
+        return estimate;
+    }
+
+    public long estimate(long key) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(slot(row, key)));
+        }
+        return estimate;
+    }
+
+    public void halve() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, count -> count >>> 1);
+        }
+    }
+
+    private int slot(int row, long key) {
+        return row * (mask + 1) + (int) (mix(key + row * 0x9e3779b97f4a7c15L) & mask);
+    }
+
+    // MurmurHash3 finalizer; a different additive seed per row gives independent-enough row hashes
+    private static long mix(long value) {
+        long hash = value;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.onlinelibrary.cache;
+
+import com.example.onlinelibrary.entity.Author;
+import com.example.onlinelibrary.entity.Book;
+import com.example.onlinelibrary.entity.Publisher;
+import com.example.onlinelibrary.event.CatalogChangedEvent;
+import com.example.onlinelibrary.event.CatalogChangedEvent.EntityType;
+import com.example.onlinelibrary.event.CatalogResyncEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded LRU cache of the UTF-8 JSON of single books, authors and publishers, so a response re-serializes only the
+ * entities that changed. Every fragment records the generation of each entity it embeds (a book embeds its author
+ * and publisher, an author or publisher embeds its books and their other side); committed catalog writes bump the
+ * written entity's generation and, for books, the generations of the author and publisher they now belong to, so a
+ * rename or a moved book retires every fragment that shows it. Generations live in a fixed array of stripes, so an
+ * unrelated write can occasionally retire a fragment early but never leaves a stale one.
+ * <p>
+ * Generations are bumped after {@link CatalogVersion}: a fragment is stored only if the version is unchanged since
+ * the entity was loaded, which rules out storing old JSON under stamps that already include a later write.
+ */
+@Component
+public class EntityJsonCache {
+
+    /**
+     * Request attribute holding the {@link CatalogVersion} read before the handler loaded anything, lowered by
+     * {@link #loadedAt} when the response reuses an entity another thread loaded.
+     */
+    public static final String REQUEST_VERSION = EntityJsonCache.class.getName() + ".requestVersion";
+
+    private static final int STRIPES = 4096;
+
+    private final CatalogVersion catalogVersion;
+    private final ObjectMapper objectMapper;
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+    private final Map<FragmentKey, Fragment> fragments;
+    private final Counter hits;
+    private final Counter misses;
+
+    public EntityJsonCache(CatalogVersion catalogVersion, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                           @Value("${library.json-cache.max-entries:20000}") int maxEntries) {
+        this.catalogVersion = catalogVersion;
+        this.objectMapper = objectMapper;
+        this.fragments = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<FragmentKey, Fragment> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.hits = meterRegistry.counter("library.json-cache", "result", "hit");
+        this.misses = meterRegistry.counter("library.json-cache", "result", "miss");
+        meterRegistry.gauge("library.json-cache.size", this, EntityJsonCache::size);
+    }
+
+    public long currentVersion() {
+        return catalogVersion.current();
+    }
+
+    /**
+     * Records that the current request is about to return entities loaded by another thread once the catalog was at
+     * {@code version}, such as the result of a coalesced read, so its fragments are kept only if nothing has been
+     * written since then. A no-op outside a request.
+     */
+    public static void loadedAt(long version) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null
+                && attributes.getAttribute(REQUEST_VERSION, RequestAttributes.SCOPE_REQUEST) instanceof Long current
+                && version < current) {
+            attributes.setAttribute(REQUEST_VERSION, version, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /**
+     * Whether {@link #json} can serve {@code value} from a fragment: a persisted book, author or publisher whose
+     * embedded collections are loaded.
+     */
+    public static boolean isCacheable(Object value) {
+        if (value instanceof Book book) {
+            return book.getId() != null;
+        }
+        if (value instanceof Author author) {
+            return author.getId() != null && Hibernate.isInitialized(author.getBooks());
+        }
+        if (value instanceof Publisher publisher) {
+            return publisher.getId() != null && Hibernate.isInitialized(publisher.getBooks());
+        }
+        return false;
+    }
+
+    /**
+     * The JSON of a {@linkplain #isCacheable cacheable} entity. A fragment is served only if it was built from an
+     * entity with the same dependencies as {@code entity} and none of them has been written since. Otherwise the
+     * JSON is serialized from {@code entity} and kept only if no catalog write has committed since
+     * {@code loadedAtVersion}, the version read before the entity was loaded; pass {@code null} when that is unknown.
+     */
+    public byte[] json(Object entity, Long loadedAtVersion) throws JsonProcessingException {
+        FragmentKey key = key(entity);
+        int[] stripes = dependencies(entity);
+        synchronized (fragments) {
+            Fragment fragment = fragments.get(key);
+            if (fragment != null && Arrays.equals(fragment.stripes(), stripes) && fragment.isCurrent(generations)) {
+                hits.increment();
+                return fragment.json();
+            }
+        }
+        misses.increment();
+        long[] stamps = new long[stripes.length];
+        for (int i = 0; i < stripes.length; i++) {
+            stamps[i] = generations.get(stripes[i]);
+        }
+        byte[] json = objectMapper.writeValueAsBytes(entity);
+        if (loadedAtVersion != null && loadedAtVersion == catalogVersion.current()) {
+            synchronized (fragments) {
+                fragments.put(key, new Fragment(stripes, stamps, json));
+            }
+        }
+        return json;
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        bump(event.entityType(), event.entityId());
+        if (event.entity() instanceof Book book) {
+            if (book.getAuthor() != null) {
+                bump(EntityType.AUTHOR, book.getAuthor().getId());
+            }
+            if (book.getPublisher() != null) {
+                bump(EntityType.PUBLISHER, book.getPublisher().getId());
+            }
+        }
+    }
+
+    // Every stripe moves on, so pins handed out by fragment() go stale along with the dropped fragments
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @EventListener
+    public void onCatalogResync(CatalogResyncEvent event) {
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            generations.incrementAndGet(stripe);
+        }
+        synchronized (fragments) {
+            fragments.clear();
+        }
+    }
+
+    /**
+     * The fragment cached for an entity, if none of the entities it shows has been written since it was stored.
+     */
+    Optional<Fragment> fragment(EntityType entityType, long id) {
+        synchronized (fragments) {
+            Fragment fragment = fragments.get(new FragmentKey(entityType, id));
+            return fragment != null && fragment.isCurrent(generations) ? Optional.of(fragment) : Optional.empty();
+        }
+    }
+
+    /**
+     * Whether a fragment obtained from {@link #fragment} still shows current data, even after it was evicted here.
+     */
+    boolean isCurrent(Fragment fragment) {
+        return fragment.isCurrent(generations);
+    }
+
+    public int size() {
+        synchronized (fragments) {
+            return fragments.size();
+        }
+    }
+
+    private void bump(EntityType entityType, Long id) {
+        if (id != null) {
+            generations.incrementAndGet(stripe(entityType, id));
+        }
+    }
+
+    private static FragmentKey key(Object entity) {
+        if (entity instanceof Book book) {
+            return new FragmentKey(EntityType.BOOK, book.getId());
+        }
+        if (entity instanceof Author author) {
+            return new FragmentKey(EntityType.AUTHOR, author.getId());
+        }
+        if (entity instanceof Publisher publisher) {
+            return new FragmentKey(EntityType.PUBLISHER, publisher.getId());
+        }
+        throw new IllegalArgumentException("Not a catalog entity: " + entity.getClass().getName());
+    }
+
+    private static int[] dependencies(Object entity) {
+        if (entity instanceof Book book) {
+            return new int[] {
+                    stripe(EntityType.BOOK, book.getId()),
+                    stripe(EntityType.AUTHOR, book.getAuthor() == null ? null : book.getAuthor().getId()),
+                    stripe(EntityType.PUBLISHER, book.getPublisher() == null ? null : book.getPublisher().getId())};
+        }
+        if (entity instanceof Author author) {
+            return withBooks(stripe(EntityType.AUTHOR, author.getId()), author.getBooks(), false);
+        }
+        Publisher publisher = (Publisher) entity;
+        return withBooks(stripe(EntityType.PUBLISHER, publisher.getId()), publisher.getBooks(), true);
+    }
+
+    private static int[] withBooks(int owner, Collection<Book> books, boolean embedsAuthors) {
+        int[] stripes = new int[1 + 2 * books.size()];
+        stripes[0] = owner;
+        int i = 1;
+        for (Book book : books) {
+            stripes[i++] = stripe(EntityType.BOOK, book.getId());
+            if (embedsAuthors) {
+                stripes[i++] = stripe(EntityType.AUTHOR, book.getAuthor() == null ? null : book.getAuthor().getId());
+            } else {
+                stripes[i++] = stripe(EntityType.PUBLISHER,
+                        book.getPublisher() == null ? null : book.getPublisher().getId());
+            }
+        }
+        return stripes;
+    }
+
+    private static int stripe(EntityType entityType, Long id) {
+        long hash = ((id == null ? 0 : id) << 2 | entityType.ordinal()) * 0x9e3779b97f4a7c15L;
+        return (int) (hash >>> 52);
+    }
+
+    private record FragmentKey(EntityType entityType, Long id) {
+    }
+
+    record Fragment(int[] stripes, long[] stamps, byte[] json) {
+
+        boolean isCurrent(AtomicLongArray generations) {
+            for (int i = 0; i < stripes.length; i++) {
+                if (generations.get(stripes[i]) != stamps[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
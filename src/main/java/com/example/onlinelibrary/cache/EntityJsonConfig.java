@@ -0,0 +1,44 @@
+package com.example.onlinelibrary.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Puts {@link EntityJsonHttpMessageConverter} ahead of the default Jackson converter and records the catalog version
+ * each request starts at, before its handler loads anything.
+ */
+@Configuration
+public class EntityJsonConfig implements WebMvcConfigurer {
+
+    private final EntityJsonCache entityJsonCache;
+    private final ObjectMapper objectMapper;
+
+    public EntityJsonConfig(EntityJsonCache entityJsonCache, ObjectMapper objectMapper) {
+        this.entityJsonCache = entityJsonCache;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new EntityJsonHttpMessageConverter(entityJsonCache, objectMapper));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                request.setAttribute(EntityJsonCache.REQUEST_VERSION, entityJsonCache.currentVersion());
+                return true;
+            }
+        });
+    }
+}
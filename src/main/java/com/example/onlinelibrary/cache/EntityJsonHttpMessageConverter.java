@@ -0,0 +1,112 @@
+package com.example.onlinelibrary.cache;
+
+import com.example.onlinelibrary.entity.Author;
+import com.example.onlinelibrary.entity.Book;
+import com.example.onlinelibrary.entity.Publisher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Writes books, authors and publishers, and collections of them, as the concatenation of their
+ * {@link EntityJsonCache} fragments straight to the response stream. Anything else it is asked to write, such as a
+ * {@code List<?>} that turns out to hold DTOs, goes through the same {@link ObjectMapper} unchanged. Never reads.
+ */
+public class EntityJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private static final Set<Class<?>> ENTITY_TYPES = Set.of(Book.class, Author.class, Publisher.class);
+
+    private final EntityJsonCache entityJsonCache;
+    private final ObjectMapper objectMapper;
+
+    public EntityJsonHttpMessageConverter(EntityJsonCache entityJsonCache, ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON);
+        this.entityJsonCache = entityJsonCache;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ENTITY_TYPES.contains(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        ResolvableType declared = type == null ? ResolvableType.forClass(clazz) : ResolvableType.forType(type);
+        if (declared.resolve() != null && Collection.class.isAssignableFrom(declared.resolve())) {
+            Class<?> element = declared.asCollection().resolveGeneric(0);
+            return element == null || element == Object.class || supports(element);
+        }
+        return supports(clazz);
+    }
+
+    @Override
+    protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage) throws IOException {
+        OutputStream body = outputMessage.getBody();
+        Long loadedAtVersion = loadedAtVersion();
+        if (EntityJsonCache.isCacheable(value)) {
+            body.write(entityJsonCache.json(value, loadedAtVersion));
+        } else if (value instanceof Collection<?> values && values.stream().allMatch(EntityJsonCache::isCacheable)) {
+            body.write('[');
+            boolean first = true;
+            for (Object element : values) {
+                if (!first) {
+                    body.write(',');
+                }
+                body.write(entityJsonCache.json(element, loadedAtVersion));
+                first = false;
+            }
+            body.write(']');
+        } else {
+            objectMapper.writeValue(StreamUtils.nonClosing(body), value);
+        }
+    }
+
+    // canRead is always false, so these are only reached when called directly
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw notReadable(inputMessage);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw notReadable(inputMessage);
+    }
+
+    private static HttpMessageNotReadableException notReadable(HttpInputMessage inputMessage) {
+        return new HttpMessageNotReadableException("Entity JSON fragments are write-only", inputMessage);
+    }
+
+    private static Long loadedAtVersion() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        Object version = attributes == null ? null
+                : attributes.getAttribute(EntityJsonCache.REQUEST_VERSION, RequestAttributes.SCOPE_REQUEST);
+        return version instanceof Long loaded ? loaded : null;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.onlinelibrary.cache;
+
+import com.example.onlinelibrary.cache.EntityJsonCache.Fragment;
+import com.example.onlinelibrary.cache.HotKeyTracker.HotKey;
+import com.example.onlinelibrary.event.CatalogChangedEvent.EntityType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Protected segment holding the serialized JSON of the entities {@link HotKeyTracker} currently reports as hot. It is
+ * sized by the hot set rather than by recency, so scans over cold ids cannot evict it. A pin is the
+ * {@link EntityJsonCache} fragment the response was written from, so it carries that fragment's per-entity
+ * generations: it is ignored once one of the entities it shows has been written, and is only ever taken from a
+ * fragment that was stored because nothing had been written since its entity was loaded. Entries whose id has cooled
+ * down are dropped on the next pin.
+ */
+@Component
+public class HotEntityCache {
+
+    private final EntityJsonCache entityJsonCache;
+    private final HotKeyTracker hotKeyTracker;
+    private final Map<PinKey, Fragment> pinned = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    public HotEntityCache(EntityJsonCache entityJsonCache, HotKeyTracker hotKeyTracker, MeterRegistry meterRegistry) {
+        this.entityJsonCache = entityJsonCache;
+        this.hotKeyTracker = hotKeyTracker;
+        this.hits = meterRegistry.counter("library.hot-cache", "result", "hit");
+        this.misses = meterRegistry.counter("library.hot-cache", "result", "miss");
+        meterRegistry.gauge("library.hot-cache.size", pinned, Map::size);
+    }
+
+    public Optional<byte[]> get(EntityType entityType, long id) {
+        PinKey key = new PinKey(entityType, id);
+        Fragment entry = pinned.get(key);
+        if (entry != null && entityJsonCache.isCurrent(entry)) {
+            hits.increment();
+            return Optional.of(entry.json());
+        }
+        if (entry != null) {
+            pinned.remove(key, entry);
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Pins {@code json}, a response body, if it is exactly the current {@link EntityJsonCache} fragment of the
+     * entity; any other body, such as one serialized from an entity loaded before a write, is not pinned.
+     */
+    public void pin(EntityType entityType, long id, byte[] json) {
+        if (!hotKeyTracker.isHot(entityType, id)) {
+            return;
+        }
+        Optional<Fragment> fragment = entityJsonCache.fragment(entityType, id)
+                .filter(current -> Arrays.equals(current.json(), json));
+        if (fragment.isEmpty()) {
+            return;
+        }
+        pinned.put(new PinKey(entityType, id), fragment.get());
+        pinned.keySet().removeIf(key -> !hotKeyTracker.isHot(key.entityType(), key.id()));
+    }
+
+    /**
+     * The hot ids of every entity type, most requested first, with the size of their pinned JSON (0 if not pinned
+     * or no longer current).
+     */
+    public Map<EntityType, List<HotEntity>> hotSet() {
+        Map<EntityType, List<HotEntity>> hotSet = new EnumMap<>(EntityType.class);
+        for (EntityType entityType : EntityType.values()) {
+            hotSet.put(entityType, hotKeyTracker.hotKeys(entityType).stream()
+                    .map(hotKey -> describe(entityType, hotKey))
+                    .toList());
+        }
+        return hotSet;
+    }
+
+    private HotEntity describe(EntityType entityType, HotKey hotKey) {
+        Fragment entry = pinned.get(new PinKey(entityType, hotKey.id()));
+        int bytes = entry != null && entityJsonCache.isCurrent(entry) ? entry.json().length : 0;
+        return new HotEntity(hotKey.id(), hotKey.estimatedRequests(), bytes);
+    }
+
+    public record HotEntity(long id, long estimatedRequests, int pinnedBytes) {
+    }
+
+    private record PinKey(EntityType entityType, long id) {
+    }
+}
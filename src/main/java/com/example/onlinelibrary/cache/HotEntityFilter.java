@@ -0,0 +1,94 @@
+package com.example.onlinelibrary.cache;
+
+import com.example.onlinelibrary.event.CatalogChangedEvent.EntityType;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Counts every {@code GET /api/books/{id}}, {@code /api/authors/{id}} and {@code /api/publishers/{id}} in the
+ * {@link HotKeyTracker}. Requests for a hot id are answered from the JSON pinned in {@link HotEntityCache} without
+ * reaching the controller; the first request for a newly hot id goes through and its response body is pinned.
+ * Runs inside {@code SqlTrackingFilter} and {@code RequestEventFilter}, so pinned responses still carry the SQL
+ * headers and are still recorded.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class HotEntityFilter extends OncePerRequestFilter {
+
+    private static final Pattern BY_ID = Pattern.compile("/api/(books|authors|publishers)/(\\d{1,18})");
+    private static final Map<String, EntityType> ENTITY_TYPES =
+            Map.of("books", EntityType.BOOK, "authors", EntityType.AUTHOR, "publishers", EntityType.PUBLISHER);
+
+    private final HotKeyTracker hotKeyTracker;
+    private final HotEntityCache hotEntityCache;
+
+    public HotEntityFilter(HotKeyTracker hotKeyTracker, HotEntityCache hotEntityCache) {
+        this.hotKeyTracker = hotKeyTracker;
+        this.hotEntityCache = hotEntityCache;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod()) || request.getQueryString() != null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Matcher matcher = BY_ID.matcher(request.getRequestURI().substring(request.getContextPath().length()));
+        if (!matcher.matches()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        EntityType entityType = ENTITY_TYPES.get(matcher.group(1));
+        long id = Long.parseLong(matcher.group(2));
+        if (!hotKeyTracker.record(entityType, id)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Optional<byte[]> json = hotEntityCache.get(entityType, id);
+        if (json.isPresent()) {
+            write(response, json.get());
+            return;
+        }
+        ContentCachingResponseWrapper capturing = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, capturing);
+            if (capturing.getStatus() == HttpServletResponse.SC_OK
+                    && MediaType.APPLICATION_JSON.isCompatibleWith(contentType(capturing))) {
+                hotEntityCache.pin(entityType, id, capturing.getContentAsByteArray());
+            }
+        } finally {
+            capturing.copyBodyToResponse();
+        }
+    }
+
+    private static void write(HttpServletResponse response, byte[] json) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        // No Content-Length and a buffer larger than the body: the response stays uncommitted until the
+        // enclosing filters have added their headers
+        response.setBufferSize(Math.max(response.getBufferSize(), json.length + 1));
+        response.getOutputStream().write(json);
+    }
+
+    private static MediaType contentType(HttpServletResponse response) {
+        String contentType = response.getContentType();
+        return contentType == null ? null : MediaType.parseMediaType(contentType);
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.onlinelibrary.cache;
+
+import com.example.onlinelibrary.event.CatalogChangedEvent.EntityType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streaming heavy-hitter detection over the ids requested by the by-id endpoints. Each entity type has a
+ * {@link CountMinSketch} counting every request and a min-heap of the {@code library.hot-keys.capacity} ids with the
+ * highest estimates. An id is hot while it is in that heap with at least {@code library.hot-keys.min-requests}
+ * estimated requests. Every {@code library.hot-keys.decay-interval} requests the counts are halved, so an id that
+ * stops being requested cools down.
+ */
+@Component
+public class HotKeyTracker {
+
+    private static final int SKETCH_DEPTH = 4;
+    private static final int SKETCH_WIDTH = 4096;
+
+    private final int capacity;
+    private final long minRequests;
+    private final long decayInterval;
+    private final Map<EntityType, TopK> trackers = new EnumMap<>(EntityType.class);
+
+    public HotKeyTracker(@Value("${library.hot-keys.capacity:32}") int capacity,
+                         @Value("${library.hot-keys.min-requests:50}") long minRequests,
+                         @Value("${library.hot-keys.decay-interval:100000}") long decayInterval) {
+        this.capacity = capacity;
+        this.minRequests = minRequests;
+        this.decayInterval = decayInterval;
+        for (EntityType entityType : EntityType.values()) {
+            trackers.put(entityType, new TopK());
+        }
+    }
+
+    /**
+     * Counts one request for {@code id} and returns whether it is hot afterwards.
+     */
+    public boolean record(EntityType entityType, long id) {
+        TopK tracker = trackers.get(entityType);
+        long estimate = tracker.sketch.increment(id);
+        if (tracker.requests.incrementAndGet() % decayInterval == 0) {
+            tracker.decay();
+        }
+        if (estimate >= minRequests && (estimate > tracker.floor || tracker.members.containsKey(id))) {
+            tracker.offer(id, estimate, capacity);
+        }
+        return tracker.members.containsKey(id) && tracker.members.get(id).estimate >= minRequests;
+    }
+
+    public boolean isHot(EntityType entityType, long id) {
+        Candidate candidate = trackers.get(entityType).members.get(id);
+        return candidate != null && candidate.estimate >= minRequests;
+    }
+
+    /**
+     * Hot ids of {@code entityType}, most requested first.
+     */
+    public List<HotKey> hotKeys(EntityType entityType) {
+        return trackers.get(entityType).members.values().stream()
+                .filter(candidate -> candidate.estimate >= minRequests)
+                .map(candidate -> new HotKey(candidate.id, candidate.estimate))
+                .sorted(Comparator.comparingLong(HotKey::estimatedRequests).reversed())
+                .toList();
+    }
+
+    public record HotKey(long id, long estimatedRequests) {
+    }
+
+    private static final class Candidate {
+
+        final long id;
+        volatile long estimate;
+
+        Candidate(long id, long estimate) {
+            this.id = id;
+            this.estimate = estimate;
+        }
+    }
+
+    /**
+     * Sketch plus the current top-k. {@link #members} is read without locking on every request; the heap and
+     * membership change together under the tracker's lock.
+     */
+    private static final class TopK {
+
+        final CountMinSketch sketch = new CountMinSketch(SKETCH_DEPTH, SKETCH_WIDTH);
+        final AtomicLong requests = new AtomicLong();
+        final Map<Long, Candidate> members = new ConcurrentHashMap<>();
+        final PriorityQueue<Candidate> heap = new PriorityQueue<>(Comparator.comparingLong(c -> c.estimate));
+        // Smallest estimate in a full heap; requests below it skip the lock
+        volatile long floor;
+
+        synchronized void offer(long id, long estimate, int capacity) {
+            Candidate existing = members.get(id);
+            if (existing != null) {
+                heap.remove(existing);
+                existing.estimate = estimate;
+                heap.add(existing);
+            } else if (heap.size() < capacity) {
+                Candidate candidate = new Candidate(id, estimate);
+                heap.add(candidate);
+                members.put(id, candidate);
+            } else if (estimate > heap.peek().estimate) {
+                members.remove(heap.poll().id);
+                Candidate candidate = new Candidate(id, estimate);
+                heap.add(candidate);
+                members.put(id, candidate);
+            }
+            floor = heap.size() < capacity ? 0 : heap.peek().estimate;
+        }
+
+        synchronized void decay() {
+            sketch.halve();
+            for (Candidate candidate : heap) {
+                candidate.estimate >>>= 1;
+            }
+            floor >>>= 1;
+        }
+    }
+}
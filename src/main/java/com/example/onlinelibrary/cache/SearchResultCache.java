@@ -0,0 +1,79 @@
+package com.example.onlinelibrary.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bounded LRU cache of normalized search term to matching book ids. Entries are stamped with the
+ * {@link CatalogVersion} they were computed under and are ignored once the catalog has moved on.
+ */
+@Component
+public class SearchResultCache {
+
+    private final CatalogVersion catalogVersion;
+    private final Map<String, Entry> entries;
+    private final Counter hits;
+    private final Counter misses;
+
+    public SearchResultCache(CatalogVersion catalogVersion, MeterRegistry meterRegistry,
+                             @Value("${library.search.cache.max-entries:5000}") int maxEntries) {
+        this.catalogVersion = catalogVersion;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.hits = meterRegistry.counter("library.search.cache", "result", "hit");
+        this.misses = meterRegistry.counter("library.search.cache", "result", "miss");
+        meterRegistry.gauge("library.search.cache.size", this, SearchResultCache::size);
+    }
+
+    public long currentVersion() {
+        return catalogVersion.current();
+    }
+
+    public Optional<List<Long>> get(String normalizedTerm) {
+        long version = catalogVersion.current();
+        synchronized (entries) {
+            Entry entry = entries.get(normalizedTerm);
+            if (entry != null && entry.version() == version) {
+                hits.increment();
+                return Optional.of(entry.bookIds());
+            }
+            if (entry != null) {
+                entries.remove(normalizedTerm);
+            }
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Stores ids computed while the catalog was at {@code version}; callers must read the version before querying.
+     */
+    public void put(String normalizedTerm, long version, List<Long> bookIds) {
+        if (version != catalogVersion.current()) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(normalizedTerm, new Entry(version, List.copyOf(bookIds)));
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private record Entry(long version, List<Long> bookIds) {
+    }
+}
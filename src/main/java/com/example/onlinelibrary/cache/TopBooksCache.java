@@ -0,0 +1,136 @@
+package com.example.onlinelibrary.cache;
+
+import com.example.onlinelibrary.entity.Book;
+import com.example.onlinelibrary.event.CatalogChangedEvent;
+import com.example.onlinelibrary.event.CatalogChangedEvent.ChangeType;
+import com.example.onlinelibrary.event.CatalogChangedEvent.EntityType;
+import com.example.onlinelibrary.event.CatalogResyncEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps the first {@code library.top-books.capacity} book ids for each {@link Ordering} in memory.
+ * Each list always holds the exact top of the catalog (or the whole catalog when {@code complete}), so
+ * book writes can be patched in place; anything it cannot patch exactly drops the list until the next load.
+ * Lists are installed in the order the database returned them, and each {@link Ordering} compares the same columns
+ * the loading query sorts by ({@code title_key} for titles, which V9 gives a code-point collation on MySQL).
+ */
+@Component
+public class TopBooksCache {
+
+    public enum Ordering {
+        LATEST(Comparator.comparing(Entry::publicationDate, Comparator.nullsFirst(Comparator.<Date>naturalOrder()))
+                .thenComparing(Entry::id)
+                .reversed()),
+        TITLE(Comparator.comparing(Entry::titleKey, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+                .thenComparing(Entry::id));
+
+        private final Comparator<Entry> comparator;
+
+        Ordering(Comparator<Entry> comparator) {
+            this.comparator = comparator;
+        }
+    }
+
+    private final CatalogVersion catalogVersion;
+    private final int capacity;
+    private final Map<Ordering, TopList> lists = new EnumMap<>(Ordering.class);
+
+    public TopBooksCache(CatalogVersion catalogVersion, @Value("${library.top-books.capacity:100}") int capacity) {
+        this.catalogVersion = catalogVersion;
+        this.capacity = capacity;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public long currentVersion() {
+        return catalogVersion.current();
+    }
+
+    public synchronized Optional<List<Long>> topIds(Ordering ordering, int limit) {
+        TopList list = lists.get(ordering);
+        if (list == null || (list.entries().size() < limit && !list.complete())) {
+            return Optional.empty();
+        }
+        return Optional.of(list.entries().stream().limit(limit).map(Entry::id).toList());
+    }
+
+    /**
+     * Installs the first {@code capacity} books loaded from the database in {@code ordering}, unless the catalog
+     * changed after {@code version} was read.
+     */
+    public synchronized void load(Ordering ordering, long version, List<Book> books) {
+        if (version != catalogVersion.current()) {
+            return;
+        }
+        List<Entry> entries = books.stream().limit(capacity).map(Entry::of).toList();
+        lists.put(ordering, new TopList(entries, books.size() < capacity));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.entityType() != EntityType.BOOK) {
+            if (event.changeType() == ChangeType.DELETED) {
+                lists.clear();
+            }
+            return;
+        }
+        if (event.changeType() != ChangeType.DELETED && !(event.entity() instanceof Book)) {
+            lists.clear();
+            return;
+        }
+        for (Map.Entry<Ordering, TopList> list : lists.entrySet()) {
+            list.setValue(patch(list.getKey(), list.getValue(), event));
+        }
+    }
+
+    @EventListener
+    public synchronized void onCatalogResync(CatalogResyncEvent event) {
+        lists.clear();
+    }
+
+    private TopList patch(Ordering ordering, TopList list, CatalogChangedEvent event) {
+        List<Entry> entries = new ArrayList<>(list.entries());
+        entries.removeIf(entry -> entry.id().equals(event.entityId()));
+        boolean complete = list.complete();
+        if (event.changeType() != ChangeType.DELETED) {
+            Entry changed = Entry.of((Book) event.entity());
+            boolean beatsLast = !entries.isEmpty()
+                    && ordering.comparator.compare(changed, entries.get(entries.size() - 1)) < 0;
+            if (complete || beatsLast) {
+                int position = 0;
+                while (position < entries.size() && ordering.comparator.compare(entries.get(position), changed) < 0) {
+                    position++;
+                }
+                entries.add(position, changed);
+            }
+            if (entries.size() > capacity) {
+                entries.remove(entries.size() - 1);
+                complete = false;
+            }
+        }
+        return new TopList(List.copyOf(entries), complete);
+    }
+
+    private record TopList(List<Entry> entries, boolean complete) {
+    }
+
+    private record Entry(Long id, String titleKey, Date publicationDate) {
+
+        static Entry of(Book book) {
+            return new Entry(book.getId(), book.getTitleKey(), book.getPublicationDate());
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.onlinelibrary.controller;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -10,20 +12,29 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.onlinelibrary.dto.ModifiedPage;
 import com.example.onlinelibrary.entity.Author;
 import com.example.onlinelibrary.service.AuthorService;
+import com.example.onlinelibrary.service.ModifiedSinceService;
+import com.example.onlinelibrary.service.SparseFieldService;
 
 @RestController
 @RequestMapping("/api/authors")
 public class AuthorController {
 
     private final AuthorService authorService;
+    private final SparseFieldService sparseFieldService;
+    private final ModifiedSinceService modifiedSinceService;
 
     
-    public AuthorController(AuthorService authorService) {
+    public AuthorController(AuthorService authorService, SparseFieldService sparseFieldService,
+                            ModifiedSinceService modifiedSinceService) {
         this.authorService = authorService;
+        this.sparseFieldService = sparseFieldService;
+        this.modifiedSinceService = modifiedSinceService;
     }
 
     @PostMapping
@@ -36,6 +47,18 @@ public class AuthorController {
         return authorService.getAllAuthors();
     }
 
+    @GetMapping(params = "fields")
+    public List<Map<String, Object>> getAllAuthors(@RequestParam String fields) {
+        return sparseFieldService.getAllAuthors(fields);
+    }
+
+    @GetMapping(params = "modifiedSince")
+    public ModifiedPage<Author> getAuthorsModifiedSince(@RequestParam Instant modifiedSince,
+                                                        @RequestParam(defaultValue = "0") long after,
+                                                        @RequestParam(defaultValue = "500") int limit) {
+        return modifiedSinceService.authorsModifiedSince(modifiedSince, after, limit);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Author> getAuthorById(@PathVariable Long id) {
         Author author = authorService.getAuthorById(id);
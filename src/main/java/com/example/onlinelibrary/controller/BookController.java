@@ -1,7 +1,11 @@
 package com.example.onlinelibrary.controller;
 
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,17 +17,31 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.onlinelibrary.dto.BookView;
+import com.example.onlinelibrary.dto.ModifiedPage;
+import com.example.onlinelibrary.dto.NormalizedBookList;
 import com.example.onlinelibrary.entity.Book;
+import com.example.onlinelibrary.search.BookSearchResult;
+import com.example.onlinelibrary.service.BookReadService;
 import com.example.onlinelibrary.service.BookService;
+import com.example.onlinelibrary.service.ModifiedSinceService;
+import com.example.onlinelibrary.service.SparseFieldService;
 
 @RestController
 @RequestMapping("/api/books")
 public class BookController {
 
     private final BookService bookService;
+    private final SparseFieldService sparseFieldService;
+    private final ModifiedSinceService modifiedSinceService;
+    private final BookReadService bookReadService;
 
-    public BookController(BookService bookService) {
+    public BookController(BookService bookService, SparseFieldService sparseFieldService,
+                          BookReadService bookReadService, ModifiedSinceService modifiedSinceService) {
         this.bookService = bookService;
+        this.sparseFieldService = sparseFieldService;
+        this.modifiedSinceService = modifiedSinceService;
+        this.bookReadService = bookReadService;
     }
 
     @PostMapping
@@ -32,10 +50,30 @@ public class BookController {
     }
 
     @GetMapping
-    public List<Book> getAllBooks() {
+    public List<?> getAllBooks() {
+        if (bookReadService.servesFromJdbc("getAllBooks")) {
+            return bookReadService.getAllBooks();
+        }
         return bookService.getAllBooks();
     }
 
+    @GetMapping(params = "view=normalized")
+    public NormalizedBookList getAllBooksNormalized() {
+        return bookService.getAllBooksNormalized();
+    }
+
+    @GetMapping(params = "fields")
+    public List<Map<String, Object>> getAllBooks(@RequestParam String fields) {
+        return sparseFieldService.getAllBooks(fields);
+    }
+
+    @GetMapping(params = "modifiedSince")
+    public ModifiedPage<Book> getBooksModifiedSince(@RequestParam Instant modifiedSince,
+                                                    @RequestParam(defaultValue = "0") long after,
+                                                    @RequestParam(defaultValue = "500") int limit) {
+        return modifiedSinceService.booksModifiedSince(modifiedSince, after, limit);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Book> getBookById(@PathVariable Long id) {
         Book book = bookService.getBookById(id);
@@ -55,22 +93,87 @@ public class BookController {
     }
 
     @GetMapping("/search")
-    public List<Book> searchBooks(@RequestParam String searchTerm) {
+    public List<?> searchBooks(@RequestParam String searchTerm) {
+        if (bookReadService.servesFromJdbc("searchBooks")) {
+            return bookReadService.searchBooks(searchTerm);
+        }
         return bookService.searchBooks(searchTerm);
     }
 
+    @GetMapping(value = "/search", params = "fields")
+    public List<Map<String, Object>> searchBooks(@RequestParam String searchTerm, @RequestParam String fields) {
+        return sparseFieldService.searchBooks(searchTerm, fields);
+    }
+
+    @GetMapping("/search/ranked")
+    public List<BookSearchResult> rankedSearch(@RequestParam String searchTerm,
+                                               @RequestParam(defaultValue = "10") int limit) {
+        return bookService.rankedSearch(searchTerm, limit);
+    }
+
     @GetMapping("/sort/title")
-    public List<Book> sortBooksByTitle() {
+    public List<?> sortBooksByTitle() {
+        if (bookReadService.servesFromJdbc("sortBooksByTitle")) {
+            return bookReadService.sortBooksByTitle();
+        }
         return bookService.sortBooksByTitle();
     }
 
+    @GetMapping(value = "/sort/title", params = {"fields", "!limit"})
+    public List<Map<String, Object>> sortBooksByTitle(@RequestParam String fields) {
+        return sparseFieldService.sortBooksByTitle(fields);
+    }
+
+    @GetMapping(value = "/sort/title", params = {"fields", "limit"})
+    public List<Map<String, Object>> sortBooksByTitle(@RequestParam String fields, @RequestParam int limit) {
+        return sparseFieldService.sortBooksByTitle(fields, limit);
+    }
+
+    @GetMapping(value = "/sort/title", params = "limit")
+    public List<Book> sortBooksByTitle(@RequestParam int limit) {
+        return bookService.sortBooksByTitle(limit);
+    }
+
+    @GetMapping("/sort/title/page")
+    public List<BookView> pageBooksByTitle(@RequestParam(required = false) String from,
+                                           @RequestParam(required = false) Long after,
+                                           @RequestParam(defaultValue = "false") boolean desc,
+                                           @RequestParam(defaultValue = "20") int limit) {
+        return bookService.pageBooksByTitle(from, after, desc, limit);
+    }
+
+    @GetMapping("/latest")
+    public List<Book> findLatestBooks(@RequestParam(defaultValue = "20") int limit) {
+        return bookService.findLatestBooks(limit);
+    }
+
     @GetMapping("/sort/publication-date")
-    public List<Book> sortBooksByPublicationDate() {
+    public List<?> sortBooksByPublicationDate() {
+        if (bookReadService.servesFromJdbc("sortBooksByPublicationDate")) {
+            return bookReadService.sortBooksByPublicationDate();
+        }
         return bookService.sortBooksByPublicationDate();
     }
 
+    @GetMapping(value = "/sort/publication-date", params = "fields")
+    public List<Map<String, Object>> sortBooksByPublicationDate(@RequestParam String fields) {
+        return sparseFieldService.sortBooksByPublicationDate(fields);
+    }
+
+    @GetMapping("/sort/publication-date/page")
+    public List<BookView> pageBooksByPublicationDate(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "false") boolean desc,
+            @RequestParam(defaultValue = "20") int limit) {
+        return bookService.pageBooksByPublicationDate(from, after, desc, limit);
+    }
+
     @GetMapping("/report")
     public List<String> generateAuthorReport() {
+        if (bookReadService.servesFromJdbc("generateAuthorReport")) {
+            return bookReadService.generateAuthorReport();
+        }
         return bookService.generateAuthorReport();
     }
 }
\ No newline at end of file
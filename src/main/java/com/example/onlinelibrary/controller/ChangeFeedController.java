@@ -0,0 +1,54 @@
+package com.example.onlinelibrary.controller;
+
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.onlinelibrary.service.ChangeFeedService;
+
+@RestController
+@RequestMapping("/api/changes")
+public class ChangeFeedController {
+
+    private final ChangeFeedService changeFeedService;
+
+    public ChangeFeedController(ChangeFeedService changeFeedService) {
+        this.changeFeedService = changeFeedService;
+    }
+
+    @GetMapping
+    public ResponseEntity<?> getChanges(@RequestParam(defaultValue = "0") long since,
+                                        @RequestParam(defaultValue = "100") int limit) {
+        return changeFeedService.changesSince(since, limit)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(this::gone);
+    }
+
+    /**
+     * Server-Sent Events named {@code change} with the sequence number as event id, so a reconnecting
+     * {@code EventSource} resumes from its {@code Last-Event-ID}. The header wins over {@code since}, because the
+     * browser reconnects to the URL the stream was opened with; without either, the stream starts at the latest
+     * change.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(@RequestParam(required = false) Long since,
+                                                    @RequestHeader(value = "Last-Event-ID", required = false)
+                                                    Long lastEventId) {
+        long from = lastEventId != null ? lastEventId : since != null ? since : changeFeedService.latestSeq();
+        return changeFeedService.stream(from)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.GONE).build());
+    }
+
+    private ResponseEntity<?> gone() {
+        return ResponseEntity.status(HttpStatus.GONE).body(Map.of("latest", changeFeedService.latestSeq()));
+    }
+}
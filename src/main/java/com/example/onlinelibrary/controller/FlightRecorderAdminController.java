@@ -0,0 +1,46 @@
+package com.example.onlinelibrary.controller;
+
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.onlinelibrary.monitoring.FlightRecordingService;
+
+/**
+ * Unauthenticated, like the other {@code /api/admin} endpoints: a dump writes a file to the server's disk and
+ * records request paths and stack traces, so keep these endpoints off public networks.
+ */
+@RestController
+@RequestMapping("/api/admin/jfr")
+public class FlightRecorderAdminController {
+
+    private final FlightRecordingService flightRecordingService;
+
+    public FlightRecorderAdminController(FlightRecordingService flightRecordingService) {
+        this.flightRecordingService = flightRecordingService;
+    }
+
+    @GetMapping
+    public Map<String, Object> status() {
+        return flightRecordingService.status();
+    }
+
+    @PostMapping("/start")
+    public Map<String, Object> start() {
+        return flightRecordingService.start();
+    }
+
+    @PostMapping("/dump")
+    public ResponseEntity<Map<String, String>> dump() {
+        return ResponseEntity.ok(Map.of("file", flightRecordingService.dump().toString()));
+    }
+
+    @PostMapping("/stop")
+    public ResponseEntity<Map<String, String>> stop() {
+        return ResponseEntity.ok(Map.of("file", flightRecordingService.stop().toString()));
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.onlinelibrary.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.onlinelibrary.cache.HotEntityCache;
+import com.example.onlinelibrary.cache.HotEntityCache.HotEntity;
+import com.example.onlinelibrary.event.CatalogChangedEvent.EntityType;
+
+@RestController
+@RequestMapping("/api/admin/hot-keys")
+public class HotKeyAdminController {
+
+    private final HotEntityCache hotEntityCache;
+
+    public HotKeyAdminController(HotEntityCache hotEntityCache) {
+        this.hotEntityCache = hotEntityCache;
+    }
+
+    @GetMapping
+    public Map<EntityType, List<HotEntity>> hotKeys() {
+        return hotEntityCache.hotSet();
+    }
+}
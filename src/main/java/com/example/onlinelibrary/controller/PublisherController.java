@@ -1,6 +1,8 @@
 package com.example.onlinelibrary.controller;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -10,20 +12,29 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.onlinelibrary.dto.ModifiedPage;
 import com.example.onlinelibrary.entity.Publisher;
 import com.example.onlinelibrary.service.PublisherService;
+import com.example.onlinelibrary.service.ModifiedSinceService;
+import com.example.onlinelibrary.service.SparseFieldService;
 
 @RestController
 @RequestMapping("/api/publishers")
 public class PublisherController {
 
     private final PublisherService publisherService;
+    private final SparseFieldService sparseFieldService;
+    private final ModifiedSinceService modifiedSinceService;
 
     
-    public PublisherController(PublisherService publisherService) {
+    public PublisherController(PublisherService publisherService, SparseFieldService sparseFieldService,
+                               ModifiedSinceService modifiedSinceService) {
         this.publisherService = publisherService;
+        this.sparseFieldService = sparseFieldService;
+        this.modifiedSinceService = modifiedSinceService;
     }
 
     @PostMapping
@@ -36,6 +47,18 @@ public class PublisherController {
         return publisherService.getAllPublishers();
     }
 
+    @GetMapping(params = "fields")
+    public List<Map<String, Object>> getAllPublishers(@RequestParam String fields) {
+        return sparseFieldService.getAllPublishers(fields);
+    }
+
+    @GetMapping(params = "modifiedSince")
+    public ModifiedPage<Publisher> getPublishersModifiedSince(@RequestParam Instant modifiedSince,
+                                                              @RequestParam(defaultValue = "0") long after,
+                                                              @RequestParam(defaultValue = "500") int limit) {
+        return modifiedSinceService.publishersModifiedSince(modifiedSince, after, limit);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Publisher> getPublisherById(@PathVariable Long id) {
         Publisher publisher = publisherService.getPublisherById(id);
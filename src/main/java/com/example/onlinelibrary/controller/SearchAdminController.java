@@ -0,0 +1,26 @@
+package com.example.onlinelibrary.controller;
+
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.onlinelibrary.search.BookSearchEngine;
+
+@RestController
+@RequestMapping("/api/admin/search")
+public class SearchAdminController {
+
+    private final BookSearchEngine searchEngine;
+
+    public SearchAdminController(BookSearchEngine searchEngine) {
+        this.searchEngine = searchEngine;
+    }
+
+    @PostMapping("/reindex")
+    public ResponseEntity<Map<String, Long>> reindex() {
+        return ResponseEntity.ok(Map.of("indexed", searchEngine.reindex()));
+    }
+}
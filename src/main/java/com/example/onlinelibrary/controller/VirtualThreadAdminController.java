@@ -0,0 +1,38 @@
+package com.example.onlinelibrary.controller;
+
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.onlinelibrary.monitoring.VirtualThreadPinningMonitor;
+import com.example.onlinelibrary.threading.BoundedDataSource;
+
+@RestController
+@RequestMapping("/api/admin/virtual-threads")
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadAdminController {
+
+    private final VirtualThreadPinningMonitor pinningMonitor;
+    private final DataSource dataSource;
+
+    public VirtualThreadAdminController(VirtualThreadPinningMonitor pinningMonitor, DataSource dataSource) {
+        this.pinningMonitor = pinningMonitor;
+        this.dataSource = dataSource;
+    }
+
+    @GetMapping
+    public Map<String, Object> status() throws SQLException {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("connectionPermits", dataSource.unwrap(BoundedDataSource.class).status());
+        status.put("pinning", pinningMonitor.status());
+        return status;
+    }
+}
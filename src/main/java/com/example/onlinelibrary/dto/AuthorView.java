@@ -0,0 +1,10 @@
+package com.example.onlinelibrary.dto;
+
+import java.util.List;
+
+/**
+ * Read-only author with its books, as served by the reactive read path; serializes to the same JSON as an
+ * {@code Author} entity.
+ */
+public record AuthorView(Long id, String name, List<BookView> books) {
+}
@@ -0,0 +1,6 @@
+package com.example.onlinelibrary.dto;
+
+import java.util.Date;
+
+public record BookRow(Long id, String title, Date publicationDate, Long authorId, Long publisherId) {
+}
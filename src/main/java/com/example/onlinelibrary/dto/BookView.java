@@ -0,0 +1,9 @@
+package com.example.onlinelibrary.dto;
+
+import java.util.Date;
+
+/**
+ * Read-only book as served by the JDBC read path; serializes to the same JSON as a {@code Book} entity.
+ */
+public record BookView(Long id, String title, Date publicationDate, NamedRef author, NamedRef publisher) {
+}
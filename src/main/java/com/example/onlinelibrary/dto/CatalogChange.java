@@ -0,0 +1,13 @@
+package com.example.onlinelibrary.dto;
+
+import java.time.Instant;
+
+import com.example.onlinelibrary.event.CatalogChangedEvent.ChangeType;
+import com.example.onlinelibrary.event.CatalogChangedEvent.EntityType;
+
+/**
+ * One committed catalog write in the change feed. Deleting an author or publisher also deletes its books; each of
+ * those books gets its own {@code BOOK}/{@code DELETED} entry, numbered just before the owner's.
+ */
+public record CatalogChange(long seq, EntityType entityType, Long entityId, ChangeType changeType, Instant changedAt) {
+}
@@ -0,0 +1,9 @@
+package com.example.onlinelibrary.dto;
+
+import java.util.List;
+
+/**
+ * A page of the change feed; {@code next} is the {@code since} to ask for the following page.
+ */
+public record ChangePage(List<CatalogChange> changes, long next) {
+}
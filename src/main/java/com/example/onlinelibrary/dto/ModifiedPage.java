@@ -0,0 +1,13 @@
+package com.example.onlinelibrary.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A page of a {@code modifiedSince} read: the rows written and the ids deleted since the cursor. Ask for the following
+ * page with {@code modifiedSince=nextModifiedSince&after=nextAfter}; {@code more} is false once the page reached the
+ * present, and that cursor is then the one to keep for the next sync.
+ */
+public record ModifiedPage<T>(List<T> items, List<Long> deletedIds, Instant nextModifiedSince, long nextAfter,
+                              boolean more) {
+}
@@ -0,0 +1,4 @@
+package com.example.onlinelibrary.dto;
+
+public record NamedRef(Long id, String name) {
+}
@@ -0,0 +1,10 @@
+package com.example.onlinelibrary.dto;
+
+import java.util.List;
+
+/**
+ * Book list where each book refers to its author and publisher by id, and every distinct author and publisher
+ * appears once in the side tables.
+ */
+public record NormalizedBookList(List<BookRow> books, List<NamedRef> authors, List<NamedRef> publishers) {
+}
@@ -0,0 +1,10 @@
+package com.example.onlinelibrary.dto;
+
+import java.util.List;
+
+/**
+ * Read-only publisher with its books, as served by the reactive read path; serializes to the same JSON as a
+ * {@code Publisher} entity.
+ */
+public record PublisherView(Long id, String name, List<BookView> books) {
+}
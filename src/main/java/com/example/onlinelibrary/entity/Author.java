@@ -1,6 +1,7 @@
 package com.example.onlinelibrary.entity;
  
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
@@ -9,11 +10,18 @@ import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
  
-import lombok.AllArgsConstructor;
+import com.example.onlinelibrary.search.SearchKeys;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
+
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
  
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
  
@@ -22,7 +30,6 @@ import java.util.Set;
 @Getter
 @Setter
 @NoArgsConstructor
-@AllArgsConstructor
 public class Author {
  
     @Id
@@ -30,7 +37,32 @@ public class Author {
     private Long id;
  
     private String name;
+
+    // SearchKeys.normalize(name), kept in step by setName
+    @Column(name = "name_key", length = 512)
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    private String nameKey;
+
+    // Last change to this row's JSON; also bumped by CatalogDeltaRepository when embedded names or books change
+    @UpdateTimestamp
+    @JdbcTypeCode(SqlTypes.TIMESTAMP)
+    @Column(name = "updated_at")
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    private Instant updatedAt;
  
     @OneToMany(mappedBy = "author", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private Set<Book> books = new HashSet<>();
+
+    public Author(Long id, String name, Set<Book> books) {
+        this.id = id;
+        setName(name);
+        this.books = books;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+        this.nameKey = SearchKeys.normalize(name);
+    }
 }
\ No newline at end of file
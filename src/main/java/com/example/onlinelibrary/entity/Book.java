@@ -1,6 +1,8 @@
 package com.example.onlinelibrary.entity;
  
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -8,11 +10,19 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
  
-import lombok.AllArgsConstructor;
+import com.example.onlinelibrary.search.SearchKeys;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
+
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
  
+import java.time.Instant;
 import java.util.Date;
  
 @Entity
@@ -20,7 +30,6 @@ import java.util.Date;
 @Getter
 @Setter
 @NoArgsConstructor
-@AllArgsConstructor
 public class Book {
  
     @Id
@@ -28,16 +37,43 @@ public class Book {
     private Long id;
  
     private String title;
+
+    // SearchKeys.normalize(title), kept in step by setTitle so search never re-normalizes stored titles
+    @Column(name = "title_key", length = 512)
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    private String titleKey;
  
     private Date publicationDate;
+
+    // Last change to this row's JSON; also bumped by CatalogDeltaRepository when embedded names or books change
+    @UpdateTimestamp
+    @JdbcTypeCode(SqlTypes.TIMESTAMP)
+    @Column(name = "updated_at")
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    private Instant updatedAt;
  
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", nullable = false)
+    @JsonIgnoreProperties({"books", "hibernateLazyInitializer", "handler"})
     private Author author;
  
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "publisher_id", nullable = false)
+    @JsonIgnoreProperties({"books", "hibernateLazyInitializer", "handler"})
     private Publisher publisher;
 
-	 
+    public Book(Long id, String title, Date publicationDate, Author author, Publisher publisher) {
+        this.id = id;
+        setTitle(title);
+        this.publicationDate = publicationDate;
+        this.author = author;
+        this.publisher = publisher;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+        this.titleKey = SearchKeys.normalize(title);
+    }
 }
\ No newline at end of file
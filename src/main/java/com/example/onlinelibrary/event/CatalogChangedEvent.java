@@ -0,0 +1,22 @@
+package com.example.onlinelibrary.event;
+
+/**
+ * Published by the book, author and publisher services whenever they write to the catalog, and republished by the
+ * invalidation bus for writes committed on other instances ({@code remote}). {@code entity} is the saved entity for
+ * creates and updates (re-read from the database for remote events) and may be {@code null} for deletes.
+ */
+public record CatalogChangedEvent(EntityType entityType, Long entityId, ChangeType changeType, Object entity,
+                                  boolean remote) {
+
+    public CatalogChangedEvent(EntityType entityType, Long entityId, ChangeType changeType, Object entity) {
+        this(entityType, entityId, changeType, entity, false);
+    }
+
+    public enum EntityType {
+        BOOK, AUTHOR, PUBLISHER
+    }
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.onlinelibrary.event;
+
+/**
+ * Published by the invalidation bus when this instance may have missed catalog writes committed elsewhere. Every
+ * in-process cache and index drops or rebuilds what it derived from the catalog, since it cannot tell which entries
+ * the lost writes made stale.
+ */
+public record CatalogResyncEvent(long missed) {
+}
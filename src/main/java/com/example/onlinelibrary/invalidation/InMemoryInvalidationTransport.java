@@ -0,0 +1,54 @@
+package com.example.onlinelibrary.invalidation;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Delivers messages synchronously to every subscriber in the same JVM, so several application contexts started by
+ * one test behave like instances sharing a bus. A message published inside a transaction is delivered once it has
+ * committed, so receivers re-read the written data. Nothing is lost and nothing survives the JVM.
+ */
+@Component
+@ConditionalOnProperty(name = "library.invalidation.transport", havingValue = "in-memory")
+public class InMemoryInvalidationTransport implements InvalidationTransport {
+
+    private static final List<Receiver> RECEIVERS = new CopyOnWriteArrayList<>();
+
+    private final List<Receiver> own = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(InvalidationMessage message) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            deliver(message);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                deliver(message);
+            }
+        });
+    }
+
+    private static void deliver(InvalidationMessage message) {
+        RECEIVERS.forEach(receiver -> receiver.receive(message));
+    }
+
+    @Override
+    public void subscribe(Receiver receiver) {
+        own.add(receiver);
+        RECEIVERS.add(receiver);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        RECEIVERS.removeAll(own);
+        own.clear();
+    }
+}
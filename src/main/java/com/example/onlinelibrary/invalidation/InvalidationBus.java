@@ -0,0 +1,130 @@
+package com.example.onlinelibrary.invalidation;
+
+import com.example.onlinelibrary.event.CatalogChangedEvent;
+import com.example.onlinelibrary.event.CatalogChangedEvent.ChangeType;
+import com.example.onlinelibrary.event.CatalogResyncEvent;
+import com.example.onlinelibrary.repository.AuthorRepository;
+import com.example.onlinelibrary.repository.BookRepository;
+import com.example.onlinelibrary.repository.PublisherRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Keeps the in-process caches and indexes of every instance coherent. Each {@link CatalogChangedEvent} of this node
+ * is handed to the configured {@link InvalidationTransport} inside the writing transaction, just before it commits,
+ * so a transport that writes to the shared database commits the message with the write; each message from another
+ * node is turned back into a {@linkplain CatalogChangedEvent#remote() remote} event, with the entity re-read from
+ * the shared database (or as a delete when it no longer exists), and published locally so every listener applies
+ * it exactly as it applies local writes. When the transport reports lost messages, a {@link CatalogResyncEvent} makes
+ * every cache and index of this node rebuild from the database.
+ * <p>
+ * Metrics: {@code library.invalidation.lag} (time from publication on the writing node to local publication,
+ * across node clocks), {@code library.invalidation.applied}, {@code library.invalidation.missed} and
+ * {@code library.invalidation.publish-failures}.
+ */
+@Component
+@ConditionalOnProperty(name = "library.invalidation.transport")
+public class InvalidationBus implements InvalidationTransport.Receiver {
+
+    private static final Logger log = LoggerFactory.getLogger(InvalidationBus.class);
+
+    private final InvalidationTransport transport;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final PublisherRepository publisherRepository;
+    private final String nodeId;
+    private final Timer lag;
+    private final Counter applied;
+    private final Counter missed;
+    private final Counter publishFailures;
+
+    public InvalidationBus(InvalidationTransport transport, ApplicationEventPublisher eventPublisher,
+                           BookRepository bookRepository, AuthorRepository authorRepository,
+                           PublisherRepository publisherRepository, MeterRegistry meterRegistry,
+                           @Value("${library.invalidation.node-id:}") String nodeId) {
+        this.transport = transport;
+        this.eventPublisher = eventPublisher;
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.publisherRepository = publisherRepository;
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.lag = meterRegistry.timer("library.invalidation.lag");
+        this.applied = meterRegistry.counter("library.invalidation.applied");
+        this.missed = meterRegistry.counter("library.invalidation.missed");
+        this.publishFailures = meterRegistry.counter("library.invalidation.publish-failures");
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Subscribes once the local caches have been loaded; writes committed elsewhere before that are already in the
+     * data they loaded.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        transport.subscribe(this);
+        log.info("Cache invalidation bus started as node {}", nodeId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.remote()) {
+            return;
+        }
+        try {
+            transport.publish(new InvalidationMessage(nodeId, event.entityType(), event.entityId(),
+                    event.changeType(), Instant.now()));
+        } catch (RuntimeException ex) {
+            // The write still commits; other nodes serve the entity stale until it is next written
+            publishFailures.increment();
+            log.error("Could not publish invalidation for {} {}", event.entityType(), event.entityId(), ex);
+        }
+    }
+
+    @Override
+    public void receive(InvalidationMessage message) {
+        if (nodeId.equals(message.nodeId())) {
+            return;
+        }
+        Optional<?> entity = message.changeType() == ChangeType.DELETED ? Optional.empty() : load(message);
+        ChangeType changeType = entity.isPresent() ? message.changeType() : ChangeType.DELETED;
+        eventPublisher.publishEvent(new CatalogChangedEvent(message.entityType(), message.entityId(), changeType,
+                entity.orElse(null), true));
+        applied.increment();
+        lag.record(Duration.between(message.publishedAt(), Instant.now()));
+    }
+
+    @Override
+    public void missed(long count) {
+        missed.increment(count);
+        log.warn("Missed {} cache invalidation(s); rebuilding the local caches and indexes", count);
+        eventPublisher.publishEvent(new CatalogResyncEvent(count));
+    }
+
+    private Optional<?> load(InvalidationMessage message) {
+        return switch (message.entityType()) {
+            case BOOK -> bookRepository.findById(message.entityId());
+            case AUTHOR -> authorRepository.findById(message.entityId());
+            case PUBLISHER -> publisherRepository.findById(message.entityId());
+        };
+    }
+}
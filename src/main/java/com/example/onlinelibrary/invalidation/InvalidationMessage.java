@@ -0,0 +1,14 @@
+package com.example.onlinelibrary.invalidation;
+
+import com.example.onlinelibrary.event.CatalogChangedEvent.ChangeType;
+import com.example.onlinelibrary.event.CatalogChangedEvent.EntityType;
+
+import java.time.Instant;
+
+/**
+ * A committed catalog write as sent between instances: which entity changed, how, on which node and when. The entity
+ * itself is not sent; receivers re-read it.
+ */
+public record InvalidationMessage(String nodeId, EntityType entityType, Long entityId, ChangeType changeType,
+                                  Instant publishedAt) {
+}
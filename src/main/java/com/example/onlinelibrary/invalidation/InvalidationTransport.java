@@ -0,0 +1,23 @@
+package com.example.onlinelibrary.invalidation;
+
+/**
+ * Carries {@link InvalidationMessage}s between instances. Every subscriber should receive every published message,
+ * including the ones its own node published, at least once and roughly in publication order; a transport that
+ * detects it can no longer deliver some messages reports how many through {@link Receiver#missed}.
+ */
+public interface InvalidationTransport {
+
+    void publish(InvalidationMessage message);
+
+    /**
+     * Starts delivering messages published from now on to {@code receiver}.
+     */
+    void subscribe(Receiver receiver);
+
+    interface Receiver {
+
+        void receive(InvalidationMessage message);
+
+        void missed(long count);
+    }
+}
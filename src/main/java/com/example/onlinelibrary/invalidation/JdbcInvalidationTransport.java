@@ -0,0 +1,164 @@
+package com.example.onlinelibrary.invalidation;
+
+import com.example.onlinelibrary.event.CatalogChangedEvent.ChangeType;
+import com.example.onlinelibrary.event.CatalogChangedEvent.EntityType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transport over the {@code cache_invalidations} table of the shared database, so instances need nothing but the
+ * database they already use. Publishing appends a row in the caller's transaction, so it commits or rolls back with
+ * the write it describes; every subscriber polls for rows above the highest id it has
+ * seen every {@code library.invalidation.jdbc.poll-interval} on a single background thread.
+ * <p>
+ * Auto-increment ids become visible in commit order, not id order, so an id skipped by a poll may still turn up: it
+ * is re-queried until {@code library.invalidation.jdbc.gap-timeout} has passed and only then reported as missed (an
+ * insert that rolled back, or a row compacted away before this node read it). A message the receiver fails to apply
+ * is logged and counted as missed too, rather than retried forever. Rows older than
+ * {@code library.invalidation.jdbc.retention} are deleted by the pollers.
+ */
+@Component
+@ConditionalOnProperty(name = "library.invalidation.transport", havingValue = "jdbc")
+public class JdbcInvalidationTransport implements InvalidationTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcInvalidationTransport.class);
+
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_PENDING_GAPS = 1000;
+    private static final Duration COMPACTION_INTERVAL = Duration.ofMinutes(1);
+
+    private static final String COLUMNS = "id, node_id, entity_type, entity_id, change_type, published_at";
+    private static final RowMapper<Row> ROW_MAPPER = (rs, rowNum) -> new Row(rs.getLong("id"),
+            new InvalidationMessage(rs.getString("node_id"), EntityType.valueOf(rs.getString("entity_type")),
+                    rs.getLong("entity_id"), ChangeType.valueOf(rs.getString("change_type")),
+                    rs.getTimestamp("published_at").toInstant()));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final Duration pollInterval;
+    private final Duration gapTimeout;
+    private final Duration retention;
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cache-invalidation");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Poller-thread state
+    private final TreeMap<Long, Instant> pendingGaps = new TreeMap<>();
+    private long lastSeenId;
+    private Instant lastCompaction = Instant.MIN;
+
+    public JdbcInvalidationTransport(JdbcTemplate jdbcTemplate,
+                                     @Value("${library.invalidation.jdbc.poll-interval:500ms}") Duration pollInterval,
+                                     @Value("${library.invalidation.jdbc.gap-timeout:10s}") Duration gapTimeout,
+                                     @Value("${library.invalidation.jdbc.retention:1h}") Duration retention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.pollInterval = pollInterval;
+        this.gapTimeout = gapTimeout;
+        this.retention = retention;
+    }
+
+    @Override
+    public void publish(InvalidationMessage message) {
+        jdbcTemplate.update("insert into cache_invalidations (node_id, entity_type, entity_id, change_type, "
+                        + "published_at) values (?, ?, ?, ?, ?)",
+                message.nodeId(), message.entityType().name(), message.entityId(), message.changeType().name(),
+                Timestamp.from(message.publishedAt()));
+    }
+
+    @Override
+    public void subscribe(Receiver receiver) {
+        Long maxId = jdbcTemplate.queryForObject("select max(id) from cache_invalidations", Long.class);
+        // Written before the first poll is scheduled, so the poller thread sees it
+        lastSeenId = maxId == null ? 0 : maxId;
+        poller.scheduleWithFixedDelay(() -> {
+            try {
+                poll(receiver);
+            } catch (RuntimeException ex) {
+                log.warn("Polling cache invalidations failed", ex);
+            }
+        }, pollInterval.toMillis(), pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        poller.shutdownNow();
+    }
+
+    void poll(Receiver receiver) {
+        Instant now = Instant.now();
+        long missed = 0;
+        if (!pendingGaps.isEmpty()) {
+            List<Row> filled = namedJdbcTemplate.query("select " + COLUMNS + " from cache_invalidations "
+                    + "where id in (:ids) order by id", Map.of("ids", pendingGaps.keySet()), ROW_MAPPER);
+            for (Row row : filled) {
+                if (!deliver(receiver, row)) {
+                    missed++;
+                }
+                pendingGaps.remove(row.id());
+            }
+        }
+        List<Row> rows = jdbcTemplate.query("select " + COLUMNS + " from cache_invalidations where id > ? "
+                + "order by id limit " + BATCH_SIZE, ROW_MAPPER, lastSeenId);
+        for (Row row : rows) {
+            // Only the ids closest to the row are worth waiting for; beyond that the skipped ids count as missed
+            long gaps = row.id() - lastSeenId - 1;
+            long tracked = Math.max(0, Math.min(gaps, MAX_PENDING_GAPS - pendingGaps.size()));
+            for (long gap = row.id() - tracked; gap < row.id(); gap++) {
+                pendingGaps.put(gap, now);
+            }
+            missed += gaps - tracked;
+            if (!deliver(receiver, row)) {
+                missed++;
+            }
+            lastSeenId = row.id();
+        }
+        Iterator<Instant> firstSeen = pendingGaps.values().iterator();
+        while (firstSeen.hasNext()) {
+            if (firstSeen.next().plus(gapTimeout).isBefore(now)) {
+                firstSeen.remove();
+                missed++;
+            }
+        }
+        if (missed > 0) {
+            receiver.missed(missed);
+        }
+        if (lastCompaction.plus(COMPACTION_INTERVAL).isBefore(now)) {
+            lastCompaction = now;
+            jdbcTemplate.update("delete from cache_invalidations where published_at < ?",
+                    Timestamp.from(now.minus(retention)));
+        }
+    }
+
+    private static boolean deliver(Receiver receiver, Row row) {
+        try {
+            receiver.receive(row.message());
+            return true;
+        } catch (RuntimeException ex) {
+            log.warn("Applying cache invalidation {} failed", row.id(), ex);
+            return false;
+        }
+    }
+
+    private record Row(long id, InvalidationMessage message) {
+    }
+}
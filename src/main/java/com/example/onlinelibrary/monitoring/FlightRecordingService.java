@@ -0,0 +1,164 @@
+package com.example.onlinelibrary.monitoring;
+
+import com.example.onlinelibrary.exception.InvalidDataException;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Runs one continuous, disk-backed flight recording on demand. Settings are the JDK {@code default} profile with
+ * {@code jfr/online-library.jfc} layered on top; the recording keeps {@code library.jfr.max-age} /
+ * {@code library.jfr.max-size} of history, and dumps are written to {@code library.jfr.directory}, where only the
+ * newest {@code library.jfr.max-dumps} are kept.
+ * <p>
+ * The {@code /api/admin/jfr} endpoints that drive this service are not authenticated; expose them only on a trusted
+ * network or put them behind the same protection as the actuator endpoints.
+ */
+@Service
+public class FlightRecordingService {
+
+    private static final String RECORDING_NAME = "online-library";
+    private static final String SETTINGS = "jfr/online-library.jfc";
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final Path directory;
+    private final Duration maxAge;
+    private final DataSize maxSize;
+    private final int maxDumps;
+    private Recording recording;
+
+    public FlightRecordingService(@Value("${library.jfr.directory:data/jfr}") Path directory,
+                                  @Value("${library.jfr.max-age:6h}") Duration maxAge,
+                                  @Value("${library.jfr.max-size:250MB}") DataSize maxSize,
+                                  @Value("${library.jfr.max-dumps:10}") int maxDumps) {
+        this.directory = directory;
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+        this.maxDumps = maxDumps;
+    }
+
+    public synchronized Map<String, Object> start() {
+        if (isRunning()) {
+            throw new InvalidDataException("A flight recording is already running");
+        }
+        recording = new Recording(settings());
+        recording.setName(RECORDING_NAME);
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSize.toBytes());
+        recording.start();
+        return status();
+    }
+
+    public synchronized Path dump() {
+        requireRunning();
+        return dumpTo(newFile());
+    }
+
+    public synchronized Path stop() {
+        requireRunning();
+        Path file = newFile();
+        try {
+            recording.stop();
+            return dumpTo(file);
+        } finally {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("running", isRunning());
+        if (isRunning()) {
+            status.put("id", recording.getId());
+            status.put("startTime", recording.getStartTime());
+            status.put("maxAge", maxAge);
+            status.put("maxSizeBytes", maxSize.toBytes());
+        }
+        return status;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private boolean isRunning() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+
+    private void requireRunning() {
+        if (!isRunning()) {
+            throw new InvalidDataException("No flight recording is running");
+        }
+    }
+
+    private Path newFile() {
+        return directory.resolve(RECORDING_NAME + "-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr");
+    }
+
+    private Path dumpTo(Path file) {
+        try {
+            Files.createDirectories(directory);
+            recording.dump(file);
+            pruneDumps();
+            return file.toAbsolutePath();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // File names sort by their timestamp, so the oldest dumps come first
+    private void pruneDumps() throws IOException {
+        List<Path> dumps;
+        try (Stream<Path> files = Files.list(directory)) {
+            dumps = files.filter(file -> file.getFileName().toString().startsWith(RECORDING_NAME + "-"))
+                    .filter(file -> file.getFileName().toString().endsWith(".jfr"))
+                    .sorted(Comparator.comparing(file -> file.getFileName().toString()))
+                    .toList();
+        }
+        for (Path dump : dumps.subList(0, Math.max(0, dumps.size() - maxDumps))) {
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    private static Map<String, String> settings() {
+        try (Reader reader = new InputStreamReader(new ClassPathResource(SETTINGS).getInputStream(),
+                StandardCharsets.UTF_8)) {
+            Map<String, String> settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+            settings.putAll(Configuration.create(reader).getSettings());
+            return settings;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } catch (ParseException ex) {
+            throw new IllegalStateException("Invalid JFR settings in " + SETTINGS, ex);
+        }
+    }
+}
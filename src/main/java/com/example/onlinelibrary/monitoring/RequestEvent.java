@@ -0,0 +1,34 @@
+package com.example.onlinelibrary.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.example.onlinelibrary.Request")
+@Label("HTTP Request")
+@Category({"Online Library", "Web"})
+@Description("An HTTP request with the controller method that handled it and the SQL it ran")
+@StackTrace(false)
+public class RequestEvent extends Event {
+
+    @Label("HTTP Method")
+    String httpMethod;
+
+    @Label("URI")
+    String uri;
+
+    @Label("Handler")
+    String handler;
+
+    @Label("Status")
+    int status;
+
+    @Label("SQL Statements")
+    int sqlStatements;
+
+    @Label("SQL Rows")
+    long sqlRows;
+}
@@ -0,0 +1,50 @@
+package com.example.onlinelibrary.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Emits a {@link RequestEvent} per HTTP request. Runs inside {@link SqlTrackingFilter}, so the request's SQL
+ * totals are still available when the event is committed, and outside {@code HotEntityFilter}, so responses served
+ * from pinned JSON are recorded too.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class RequestEventFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestEvent event = new RequestEvent();
+        if (!event.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        event.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.httpMethod = request.getMethod();
+                event.uri = request.getRequestURI();
+                event.status = response.getStatus();
+                SqlRequestStats stats = SqlRequestContext.current();
+                if (stats != null) {
+                    event.handler = stats.getHandler();
+                    event.sqlStatements = stats.getStatements();
+                    event.sqlRows = stats.getRows();
+                }
+                event.commit();
+            }
+        }
+    }
+}
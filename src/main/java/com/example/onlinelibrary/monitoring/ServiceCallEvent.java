@@ -0,0 +1,39 @@
+package com.example.onlinelibrary.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.example.onlinelibrary.ServiceCall")
+@Label("Service Call")
+@Category({"Online Library", "Service"})
+@Description("A BookService, AuthorService or PublisherService method invocation")
+@StackTrace(false)
+public class ServiceCallEvent extends Event {
+
+    @Label("Service")
+    String service;
+
+    @Label("Method")
+    String method;
+
+    @Label("Entity Id")
+    @Description("Id argument or id of the returned entity, -1 if there is none")
+    long entityId = -1;
+
+    @Label("Result Size")
+    @Description("Elements in a returned collection, 1 for a single result, 0 for none")
+    int resultSize;
+
+    @Label("SQL Statements")
+    int sqlStatements;
+
+    @Label("SQL Rows")
+    long sqlRows;
+
+    @Label("Exception")
+    String exception;
+}
@@ -0,0 +1,82 @@
+package com.example.onlinelibrary.monitoring;
+
+import com.example.onlinelibrary.entity.Author;
+import com.example.onlinelibrary.entity.Book;
+import com.example.onlinelibrary.entity.Publisher;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Emits a {@link ServiceCallEvent} around every book, author and publisher service method. The coalescing front
+ * is skipped so a book read shows up once, for the call that actually loaded it. When the event is disabled in
+ * the running recording, the only cost is the enabled check.
+ */
+@Aspect
+@Component
+public class ServiceEventAspect {
+
+    @Around("(within(com.example.onlinelibrary.service.BookService+)"
+            + " || within(com.example.onlinelibrary.service.AuthorService+)"
+            + " || within(com.example.onlinelibrary.service.PublisherService+))"
+            + " && !within(com.example.onlinelibrary.service.impl.CoalescingBookService)"
+            + " && execution(public * *(..))")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        ServiceCallEvent event = new ServiceCallEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        SqlRequestStats stats = SqlRequestContext.current();
+        int statementsBefore = stats != null ? stats.getStatements() : 0;
+        long rowsBefore = stats != null ? stats.getRows() : 0;
+        event.begin();
+        try {
+            Object result = joinPoint.proceed();
+            event.resultSize = resultSize(result);
+            event.entityId = entityId(joinPoint.getArgs(), result);
+            return result;
+        } catch (Throwable ex) {
+            event.exception = ex.getClass().getSimpleName();
+            event.entityId = entityId(joinPoint.getArgs(), null);
+            throw ex;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.service = joinPoint.getSignature().getDeclaringType().getSimpleName();
+                event.method = joinPoint.getSignature().getName();
+                if (stats != null) {
+                    event.sqlStatements = stats.getStatements() - statementsBefore;
+                    event.sqlRows = stats.getRows() - rowsBefore;
+                }
+                event.commit();
+            }
+        }
+    }
+
+    private static int resultSize(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        return result instanceof Collection<?> collection ? collection.size() : 1;
+    }
+
+    private static long entityId(Object[] args, Object result) {
+        for (Object arg : args) {
+            if (arg instanceof Long id) {
+                return id;
+            }
+        }
+        Long id = null;
+        if (result instanceof Book book) {
+            id = book.getId();
+        } else if (result instanceof Author author) {
+            id = author.getId();
+        } else if (result instanceof Publisher publisher) {
+            id = publisher.getId();
+        }
+        return id != null ? id : -1;
+    }
+}
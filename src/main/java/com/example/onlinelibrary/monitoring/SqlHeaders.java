@@ -0,0 +1,26 @@
+package com.example.onlinelibrary.monitoring;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Response headers carrying a request's SQL totals.
+ */
+final class SqlHeaders {
+
+    static final String STATEMENTS = "X-SQL-Statements";
+    static final String ROWS = "X-SQL-Rows";
+    static final String TIME = "X-SQL-Time-Ms";
+    static final String N_PLUS_ONE = "X-SQL-N-Plus-One";
+
+    private SqlHeaders() {
+    }
+
+    static void write(SqlRequestStats stats, int nPlusOneThreshold, BiConsumer<String, String> header) {
+        header.accept(STATEMENTS, String.valueOf(stats.getStatements()));
+        header.accept(ROWS, String.valueOf(stats.getRows()));
+        header.accept(TIME, String.valueOf(stats.getElapsedMillis()));
+        if (stats.mostRepeated(nPlusOneThreshold) != null) {
+            header.accept(N_PLUS_ONE, "true");
+        }
+    }
+}
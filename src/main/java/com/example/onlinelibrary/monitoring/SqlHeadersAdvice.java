@@ -0,0 +1,40 @@
+package com.example.onlinelibrary.monitoring;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the SQL headers just before a response body is written, since a large body commits the response before
+ * {@link SqlTrackingFilter} gets control back.
+ */
+@ControllerAdvice
+public class SqlHeadersAdvice implements ResponseBodyAdvice<Object> {
+
+    private final int nPlusOneThreshold;
+
+    public SqlHeadersAdvice(@Value("${library.sql.n-plus-one-threshold:5}") int nPlusOneThreshold) {
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        SqlRequestStats stats = SqlRequestContext.current();
+        if (stats != null) {
+            SqlHeaders.write(stats, nPlusOneThreshold, response.getHeaders()::set);
+        }
+        return body;
+    }
+}
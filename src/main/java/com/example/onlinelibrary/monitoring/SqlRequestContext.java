@@ -0,0 +1,27 @@
+package com.example.onlinelibrary.monitoring;
+
+/**
+ * Binds {@link SqlRequestStats} to the thread serving the current HTTP request. Statements run on other threads,
+ * such as background index rebuilds, are not attributed to any request.
+ */
+public final class SqlRequestContext {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private SqlRequestContext() {
+    }
+
+    static SqlRequestStats begin() {
+        SqlRequestStats stats = new SqlRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.onlinelibrary.monitoring;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL statements, rows and time attributed to one HTTP request, along with the controller method that handled it.
+ * Only touched by the request thread.
+ */
+public class SqlRequestStats {
+
+    private String handler = "unmapped";
+    private int statements;
+    private long rows;
+    private long elapsedMillis;
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+
+    void recordStatement(String sql, long elapsedMillis) {
+        statements++;
+        this.elapsedMillis += elapsedMillis;
+        executionsBySql.merge(sql, 1, Integer::sum);
+    }
+
+    void recordRow() {
+        rows++;
+    }
+
+    void setHandler(String handler) {
+        this.handler = handler;
+    }
+
+    public String getHandler() {
+        return handler;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * The statement executed most often in this request, or {@code null} if none was executed at least
+     * {@code threshold} times. The same parameterized statement repeated per parent row is the N+1 signature.
+     */
+    public Map.Entry<String, Integer> mostRepeated(int threshold) {
+        return executionsBySql.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .max(Map.Entry.comparingByValue())
+                .orElse(null);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.onlinelibrary.monitoring;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Wraps the application {@link DataSource} in a datasource-proxy so every statement and fetched row, whether it
+ * comes from Hibernate or plain JDBC, is counted against the current request, and statements slower than
+ * {@code library.sql.slow-threshold} are logged with their bind parameters and originating controller method.
+ */
+@Component
+public class SqlTrackingDataSourcePostProcessor implements BeanPostProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlTrackingDataSourcePostProcessor.class);
+
+    private final long slowThresholdMillis;
+
+    public SqlTrackingDataSourcePostProcessor(@Value("${library.sql.slow-threshold:200ms}") Duration slowThreshold) {
+        this.slowThresholdMillis = slowThreshold.toMillis();
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource)) {
+            return bean;
+        }
+        return ProxyDataSourceBuilder.create(dataSource)
+                .name(beanName)
+                .listener(new StatementListener())
+                .proxyResultSet()
+                .methodListener(new RowListener())
+                .build();
+    }
+
+    private class StatementListener implements QueryExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            SqlRequestStats stats = SqlRequestContext.current();
+            for (QueryInfo query : queryInfoList) {
+                if (stats != null) {
+                    stats.recordStatement(query.getQuery(), execInfo.getElapsedTime());
+                }
+            }
+            if (execInfo.getElapsedTime() >= slowThresholdMillis) {
+                log.warn("Slow SQL ({} ms) from {}: {} {}", execInfo.getElapsedTime(),
+                        stats != null ? stats.getHandler() : "background",
+                        queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; ")),
+                        queryInfoList.stream().map(SqlTrackingDataSourcePostProcessor::bindParameters).toList());
+            }
+        }
+    }
+
+    private static class RowListener implements MethodExecutionListener {
+
+        @Override
+        public void beforeMethod(MethodExecutionContext executionContext) {
+        }
+
+        @Override
+        public void afterMethod(MethodExecutionContext executionContext) {
+            if (executionContext.getTarget() instanceof ResultSet
+                    && "next".equals(executionContext.getMethod().getName())
+                    && Boolean.TRUE.equals(executionContext.getResult())) {
+                SqlRequestStats stats = SqlRequestContext.current();
+                if (stats != null) {
+                    stats.recordRow();
+                }
+            }
+        }
+    }
+
+    private static List<List<Object>> bindParameters(QueryInfo query) {
+        return query.getParametersList().stream()
+                .map(operations -> operations.stream()
+                        .map(ParameterSetOperation::getArgs)
+                        .map(args -> args.length > 1 ? args[1] : null)
+                        .toList())
+                .toList();
+    }
+}
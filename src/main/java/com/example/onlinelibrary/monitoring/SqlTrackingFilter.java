@@ -0,0 +1,73 @@
+package com.example.onlinelibrary.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens the per-request SQL scope, and once the request completes records its statement, row and time totals as
+ * metrics tagged with the controller method. A request that executes the same statement at least
+ * {@code library.sql.n-plus-one-threshold} times is logged and counted as a likely N+1.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 2)
+public class SqlTrackingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlTrackingFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int nPlusOneThreshold;
+
+    public SqlTrackingFilter(MeterRegistry meterRegistry,
+                             @Value("${library.sql.n-plus-one-threshold:5}") int nPlusOneThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlRequestStats stats = SqlRequestContext.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlRequestContext.end();
+            if (!response.isCommitted() && !response.containsHeader(SqlHeaders.STATEMENTS)) {
+                SqlHeaders.write(stats, nPlusOneThreshold, response::setHeader);
+            }
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlRequestStats stats) {
+        String handler = stats.getHandler();
+        DistributionSummary.builder("library.sql.statements").tag("handler", handler)
+                .register(meterRegistry).record(stats.getStatements());
+        DistributionSummary.builder("library.sql.rows").tag("handler", handler)
+                .register(meterRegistry).record(stats.getRows());
+        Timer.builder("library.sql.time").tag("handler", handler)
+                .register(meterRegistry).record(stats.getElapsedMillis(), TimeUnit.MILLISECONDS);
+
+        Map.Entry<String, Integer> repeated = stats.mostRepeated(nPlusOneThreshold);
+        if (repeated != null) {
+            meterRegistry.counter("library.sql.n-plus-one", "handler", handler).increment();
+            log.warn("Possible N+1 in {} {} ({}): statement executed {} times: {}", request.getMethod(),
+                    request.getRequestURI(), handler, repeated.getValue(), repeated.getKey());
+        }
+    }
+}
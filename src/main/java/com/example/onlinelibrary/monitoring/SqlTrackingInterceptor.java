@@ -0,0 +1,21 @@
+package com.example.onlinelibrary.monitoring;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Records which controller method is handling the request, for slow-query logs and metric tags.
+ */
+public class SqlTrackingInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SqlRequestStats stats = SqlRequestContext.current();
+        if (stats != null && handler instanceof HandlerMethod method) {
+            stats.setHandler(method.getBeanType().getSimpleName() + "." + method.getMethod().getName());
+        }
+        return true;
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.onlinelibrary.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Streams the JFR {@code jdk.VirtualThreadPinned} event in virtual-thread mode: a virtual thread that blocks while it
+ * cannot unmount (inside a {@code synchronized} block or a native frame) holds its carrier, and enough of those at
+ * once stall every request. Each pinning longer than {@code library.virtual-threads.pinning-threshold} is counted
+ * against the innermost Hibernate, JDBC driver or pool frame on its stack (the application frame otherwise), as
+ * {@code library.virtual-threads.pinned} and in {@link #status()}; the first pinning at each site is logged with
+ * its stack.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final List<String> BLOCKING_LIBRARIES = List.of("org.hibernate.", "com.mysql.", "com.zaxxer.hikari.",
+            "org.h2.");
+    private static final String APPLICATION = "com.example.onlinelibrary.";
+    private static final int LOGGED_FRAMES = 16;
+
+    private final MeterRegistry meterRegistry;
+    private final Duration threshold;
+    private final Map<String, PinningSite> sites = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${library.virtual-threads.pinning-threshold:20ms}") Duration threshold) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+    }
+
+    @PostConstruct
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+    }
+
+    @PreDestroy
+    public void close() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("threshold", threshold);
+        status.put("sites", sites.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, PinningSite> entry) -> entry.getValue().count.sum())
+                        .reversed())
+                .map(entry -> entry.getValue().describe(entry.getKey()))
+                .toList());
+        return status;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        List<String> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames().stream()
+                .map(RecordedFrame::getMethod)
+                .map(method -> method.getType().getName() + "." + method.getName())
+                .toList();
+        record(frames, event.getDuration());
+    }
+
+    void record(List<String> frames, Duration duration) {
+        String site = site(frames);
+        PinningSite pinning = sites.computeIfAbsent(site, key -> {
+            log.warn("Virtual thread pinned its carrier for {} ms at {}: {}", duration.toMillis(), key,
+                    frames.subList(0, Math.min(frames.size(), LOGGED_FRAMES)));
+            return new PinningSite();
+        });
+        pinning.count.increment();
+        pinning.totalNanos.add(duration.toNanos());
+        pinning.maxNanos.accumulate(duration.toNanos());
+        meterRegistry.counter("library.virtual-threads.pinned", "site", site).increment();
+    }
+
+    /**
+     * The innermost frame of a blocking library, else the innermost application frame, else the top frame.
+     */
+    static String site(List<String> frames) {
+        return frames.stream()
+                .filter(frame -> BLOCKING_LIBRARIES.stream().anyMatch(frame::startsWith))
+                .findFirst()
+                .or(() -> frames.stream().filter(frame -> frame.startsWith(APPLICATION)).findFirst())
+                .orElse(frames.isEmpty() ? "unknown" : frames.get(0));
+    }
+
+    private static class PinningSite {
+
+        final LongAdder count = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        Map<String, Object> describe(String site) {
+            Map<String, Object> description = new LinkedHashMap<>();
+            description.put("site", site);
+            description.put("count", count.sum());
+            description.put("totalMillis", Duration.ofNanos(totalNanos.sum()).toMillis());
+            description.put("maxMillis", Duration.ofNanos(maxNanos.get()).toMillis());
+            return description;
+        }
+    }
+}
@@ -1,10 +1,49 @@
 package com.example.onlinelibrary.repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import com.example.onlinelibrary.dto.NamedRef;
 import com.example.onlinelibrary.entity.Author;
 
 @Repository
 public interface AuthorRepository extends JpaRepository<Author, Long> {
 
+    @Override
+    @EntityGraph(attributePaths = {"books", "books.publisher"})
+    List<Author> findAll();
+
+    // findById stays a plain primary-key lookup for write paths; responses that show the books read through this
+    @EntityGraph(attributePaths = {"books", "books.publisher"})
+    Optional<Author> findWithBooksById(Long id);
+
+    // Ids first: a limit cannot be applied in SQL to a query that fetches the books collection
+    @Query("select x.id from Author x where (x.updatedAt > :since or (x.updatedAt = :since and x.id > :afterId)) "
+            + "and x.updatedAt < :until order by x.updatedAt, x.id")
+    List<Long> findIdsModifiedSince(Instant since, long afterId, Instant until, Limit limit);
+
+    @EntityGraph(attributePaths = {"books", "books.publisher"})
+    List<Author> findByIdIn(Collection<Long> ids);
+
+    @Query("select new com.example.onlinelibrary.dto.NamedRef(x.id, x.name) from Author x where x.id in :ids")
+    List<NamedRef> findRefsByIdIn(Collection<Long> ids);
+
+    @Query("select new com.example.onlinelibrary.dto.NamedRef(x.id, x.name) from Author x")
+    List<NamedRef> findAllRefs();
+
+    @Query("select new com.example.onlinelibrary.dto.NamedRef(x.id, x.name) from Author x "
+            + "where exists (select b.id from Book b where b.author = x)")
+    List<NamedRef> findRefsWithBooks();
+
+    boolean existsByName(String name);
+
+    @Query("select x.name from Author x")
+    List<String> findAllNames();
 }
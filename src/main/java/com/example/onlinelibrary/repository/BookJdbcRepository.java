@@ -0,0 +1,89 @@
+package com.example.onlinelibrary.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import com.example.onlinelibrary.dto.BookView;
+import com.example.onlinelibrary.dto.NamedRef;
+import com.example.onlinelibrary.search.SearchKeys;
+
+/**
+ * Plain-SQL reads for the list, search, sort and report endpoints. Rows are mapped straight into records, so no
+ * persistence context, entity snapshots or proxies are involved.
+ */
+@Repository
+public class BookJdbcRepository {
+
+    private static final String SELECT_BOOKS = """
+            select b.id, b.title, b.publication_date,
+                   a.id as author_id, a.name as author_name,
+                   p.id as publisher_id, p.name as publisher_name
+            from books b
+            left join authors a on a.id = b.author_id
+            left join publishers p on p.id = b.publisher_id
+            """;
+
+    private final JdbcClient jdbcClient;
+
+    public BookJdbcRepository(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    public List<BookView> findAll() {
+        return jdbcClient.sql(SELECT_BOOKS).query(BookJdbcRepository::mapBook).list();
+    }
+
+    public List<BookView> search(String searchTerm) {
+        return jdbcClient.sql(SELECT_BOOKS + """
+                        where b.title_key like :pattern escape '!'
+                           or a.name_key like :pattern escape '!'
+                           or p.name_key like :pattern escape '!'
+                        """)
+                .param("pattern", SearchKeys.containsPattern(searchTerm))
+                .query(BookJdbcRepository::mapBook)
+                .list();
+    }
+
+    public List<BookView> findAllOrderByTitle() {
+        return jdbcClient.sql(SELECT_BOOKS + "order by b.title_key, b.id").query(BookJdbcRepository::mapBook).list();
+    }
+
+    public List<BookView> findAllOrderByPublicationDate() {
+        return jdbcClient.sql(SELECT_BOOKS + "order by b.publication_date, b.id")
+                .query(BookJdbcRepository::mapBook)
+                .list();
+    }
+
+    public List<AuthorBookCount> countBooksByAuthor() {
+        return jdbcClient.sql("""
+                        select a.name, count(*) as books
+                        from books b
+                        join authors a on a.id = b.author_id
+                        group by a.name
+                        order by a.name
+                        """)
+                .query((rs, rowNum) -> new AuthorBookCount(rs.getString("name"), rs.getLong("books")))
+                .list();
+    }
+
+    public record AuthorBookCount(String authorName, long books) {
+    }
+
+    private static BookView mapBook(ResultSet rs, int rowNum) throws SQLException {
+        return new BookView(
+                rs.getLong("id"),
+                rs.getString("title"),
+                rs.getTimestamp("publication_date"),
+                reference(rs, "author_id", "author_name"),
+                reference(rs, "publisher_id", "publisher_name"));
+    }
+
+    private static NamedRef reference(ResultSet rs, String idColumn, String nameColumn) throws SQLException {
+        long id = rs.getLong(idColumn);
+        return rs.wasNull() ? null : new NamedRef(id, rs.getString(nameColumn));
+    }
+}
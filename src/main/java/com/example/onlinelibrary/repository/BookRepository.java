@@ -1,10 +1,62 @@
 package com.example.onlinelibrary.repository;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import com.example.onlinelibrary.dto.BookRow;
 import com.example.onlinelibrary.entity.Book;
 
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long> {
 
+    @Override
+    @EntityGraph(attributePaths = {"author", "publisher"})
+    List<Book> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = {"author", "publisher"})
+    Optional<Book> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = {"author", "publisher"})
+    List<Book> findAllById(Iterable<Long> ids);
+
+    @EntityGraph(attributePaths = {"author", "publisher"})
+    List<Book> findAllByOrderByPublicationDateDescIdDesc(Limit limit);
+
+    @EntityGraph(attributePaths = {"author", "publisher"})
+    List<Book> findAllByOrderByTitleKeyAscIdAsc(Limit limit);
+
+    @EntityGraph(attributePaths = {"author", "publisher"})
+    List<Book> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @EntityGraph(attributePaths = {"author", "publisher"})
+    List<Book> findByAuthorId(Long authorId);
+
+    @EntityGraph(attributePaths = {"author", "publisher"})
+    List<Book> findByPublisherId(Long publisherId);
+
+    @EntityGraph(attributePaths = {"author", "publisher"})
+    @Query("select b from Book b where (b.updatedAt > :since or (b.updatedAt = :since and b.id > :afterId)) "
+            + "and b.updatedAt < :until order by b.updatedAt, b.id")
+    List<Book> findModifiedSince(Instant since, long afterId, Instant until, Limit limit);
+
+    @Query("select new com.example.onlinelibrary.dto.BookRow(b.id, b.title, b.publicationDate, b.author.id, b.publisher.id) "
+            + "from Book b")
+    List<BookRow> findAllRows();
+
+    @Query("select new com.example.onlinelibrary.dto.BookRow(b.id, b.title, b.publicationDate, b.author.id, b.publisher.id) "
+            + "from Book b where b.id = :id")
+    Optional<BookRow> findRowById(Long id);
+
+    boolean existsByTitle(String title);
+
+    @Query("select b.title from Book b")
+    List<String> findAllTitles();
 }
@@ -0,0 +1,123 @@
+package com.example.onlinelibrary.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.onlinelibrary.dto.CatalogChange;
+import com.example.onlinelibrary.event.CatalogChangedEvent.ChangeType;
+import com.example.onlinelibrary.event.CatalogChangedEvent.EntityType;
+
+/**
+ * The {@code catalog_changes} outbox. {@link #append} must run inside the writing transaction: it holds the lock on
+ * the sequence counter until that transaction ends, which serializes catalog writes across instances for the
+ * remainder of their commit.
+ */
+@Repository
+public class CatalogChangeRepository {
+
+    private final JdbcClient jdbcClient;
+
+    public CatalogChangeRepository(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    public void append(EntityType entityType, Long entityId, ChangeType changeType, Instant changedAt) {
+        jdbcClient.sql("update catalog_change_sequence set last_seq = last_seq + 1 where id = 1").update();
+        jdbcClient.sql("""
+                        insert into catalog_changes (seq, entity_type, entity_id, change_type, changed_at)
+                        select last_seq, :entityType, :entityId, :changeType, :changedAt
+                        from catalog_change_sequence where id = 1
+                        """)
+                .param("entityType", entityType.name())
+                .param("entityId", entityId)
+                .param("changeType", changeType.name())
+                .param("changedAt", Timestamp.from(changedAt))
+                .update();
+    }
+
+    /**
+     * Appends one {@code BOOK}/{@code DELETED} change for every book of an author or publisher that is about to be
+     * deleted along with it, numbered in book id order. Like {@link #append}, it must run inside the deleting
+     * transaction, and before the owner's rows are deleted.
+     */
+    public void appendBooksDeleted(EntityType owner, Long ownerId, Instant deletedAt) {
+        String books = "from books where " + ownerColumn(owner) + " = :ownerId";
+        // Reserving the block of sequence numbers takes the counter lock first, so the books cannot change before
+        // the insert below numbers them
+        jdbcClient.sql("update catalog_change_sequence set last_seq = last_seq + (select count(*) " + books + ") "
+                        + "where id = 1")
+                .param("ownerId", ownerId)
+                .update();
+        jdbcClient.sql("insert into catalog_changes (seq, entity_type, entity_id, change_type, changed_at) "
+                        + "select s.last_seq - (select count(*) " + books + ") + row_number() over (order by b.id), "
+                        + ":entityType, b.id, :changeType, :changedAt "
+                        + "from books b cross join catalog_change_sequence s "
+                        + "where s.id = 1 and b." + ownerColumn(owner) + " = :ownerId")
+                .param("ownerId", ownerId)
+                .param("entityType", EntityType.BOOK.name())
+                .param("changeType", ChangeType.DELETED.name())
+                .param("changedAt", Timestamp.from(deletedAt))
+                .update();
+    }
+
+    public List<CatalogChange> findSince(long since, int limit) {
+        return jdbcClient.sql("""
+                        select seq, entity_type, entity_id, change_type, changed_at
+                        from catalog_changes where seq > :since order by seq limit :limit
+                        """)
+                .param("since", since)
+                .param("limit", limit)
+                .query(CatalogChangeRepository::mapChange)
+                .list();
+    }
+
+    public long latestSeq() {
+        return jdbcClient.sql("select last_seq from catalog_change_sequence where id = 1").query(Long.class).single();
+    }
+
+    public long compactedThrough() {
+        return jdbcClient.sql("select compacted_through from catalog_change_sequence where id = 1")
+                .query(Long.class)
+                .single();
+    }
+
+    /**
+     * Deletes the changes made before {@code cutoff} and returns how many were removed.
+     */
+    @Transactional
+    public int compactBefore(Instant cutoff) {
+        long through = jdbcClient.sql("select coalesce(max(seq), 0) from catalog_changes where changed_at < :cutoff")
+                .param("cutoff", Timestamp.from(cutoff))
+                .query(Long.class)
+                .single();
+        if (through == 0) {
+            return 0;
+        }
+        jdbcClient.sql("update catalog_change_sequence set compacted_through = :through "
+                        + "where id = 1 and compacted_through < :through")
+                .param("through", through)
+                .update();
+        return jdbcClient.sql("delete from catalog_changes where seq <= :through").param("through", through).update();
+    }
+
+    private static String ownerColumn(EntityType owner) {
+        return switch (owner) {
+            case AUTHOR -> "author_id";
+            case PUBLISHER -> "publisher_id";
+            case BOOK -> throw new IllegalArgumentException("Books own no other rows");
+        };
+    }
+
+    private static CatalogChange mapChange(ResultSet rs, int rowNum) throws SQLException {
+        return new CatalogChange(rs.getLong("seq"), EntityType.valueOf(rs.getString("entity_type")),
+                rs.getLong("entity_id"), ChangeType.valueOf(rs.getString("change_type")),
+                rs.getTimestamp("changed_at").toInstant());
+    }
+}
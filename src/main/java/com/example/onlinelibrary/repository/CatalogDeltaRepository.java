@@ -0,0 +1,114 @@
+package com.example.onlinelibrary.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import com.example.onlinelibrary.event.CatalogChangedEvent.EntityType;
+
+/**
+ * Bookkeeping behind the {@code modifiedSince} reads: the {@code catalog_tombstones} of deleted rows, and the
+ * {@code updated_at} of rows whose JSON changes through another table (a book shows its author's and publisher's
+ * names, an author or publisher shows its books and their other side). Every method must run inside the writing
+ * transaction, before the write it accompanies is flushed.
+ */
+@Repository
+public class CatalogDeltaRepository {
+
+    private final JdbcClient jdbcClient;
+
+    public CatalogDeltaRepository(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    public void recordDeleted(EntityType entityType, Long entityId, Instant deletedAt) {
+        jdbcClient.sql("insert into catalog_tombstones (entity_type, entity_id, deleted_at) "
+                        + "values (:entityType, :entityId, :deletedAt)")
+                .param("entityType", entityType.name())
+                .param("entityId", entityId)
+                .param("deletedAt", Timestamp.from(deletedAt))
+                .update();
+    }
+
+    /**
+     * Records tombstones for the books of an author or publisher that is about to be deleted with them.
+     */
+    public void recordBooksDeleted(EntityType owner, Long ownerId, Instant deletedAt) {
+        jdbcClient.sql("insert into catalog_tombstones (entity_type, entity_id, deleted_at) "
+                        + "select :book, id, :deletedAt from books where " + ownerColumn(owner) + " = :ownerId")
+                .param("book", EntityType.BOOK.name())
+                .param("deletedAt", Timestamp.from(deletedAt))
+                .param("ownerId", ownerId)
+                .update();
+    }
+
+    /**
+     * Ids of the rows of {@code entityType} deleted in {@code [from, until)}, oldest first.
+     */
+    public List<Long> findDeleted(EntityType entityType, Instant from, Instant until) {
+        return jdbcClient.sql("""
+                        select entity_id from catalog_tombstones
+                        where entity_type = :entityType and deleted_at >= :from and deleted_at < :until
+                        order by deleted_at, entity_id
+                        """)
+                .param("entityType", entityType.name())
+                .param("from", Timestamp.from(from))
+                .param("until", Timestamp.from(until))
+                .query(Long.class)
+                .list();
+    }
+
+    /**
+     * Marks the authors and publishers whose book lists show a book that was just written.
+     */
+    public void touchOwners(Collection<Long> authorIds, Collection<Long> publisherIds, Instant at) {
+        if (!authorIds.isEmpty()) {
+            jdbcClient.sql("update authors set updated_at = :at where id in (:ids)")
+                    .param("at", Timestamp.from(at))
+                    .param("ids", authorIds)
+                    .update();
+        }
+        if (!publisherIds.isEmpty()) {
+            jdbcClient.sql("update publishers set updated_at = :at where id in (:ids)")
+                    .param("at", Timestamp.from(at))
+                    .param("ids", publisherIds)
+                    .update();
+        }
+    }
+
+    /**
+     * Marks the books of an author or publisher, which show its name.
+     */
+    public void touchBooksOf(EntityType owner, Long ownerId, Instant at) {
+        jdbcClient.sql("update books set updated_at = :at where " + ownerColumn(owner) + " = :ownerId")
+                .param("at", Timestamp.from(at))
+                .param("ownerId", ownerId)
+                .update();
+    }
+
+    /**
+     * Marks the publishers of an author's books, or the authors of a publisher's books, which show those books
+     * together with the owner's name.
+     */
+    public void touchCounterpartsOf(EntityType owner, Long ownerId, Instant at) {
+        String table = owner == EntityType.AUTHOR ? "publishers" : "authors";
+        String column = owner == EntityType.AUTHOR ? "publisher_id" : "author_id";
+        jdbcClient.sql("update " + table + " set updated_at = :at where id in "
+                        + "(select " + column + " from books where " + ownerColumn(owner) + " = :ownerId)")
+                .param("at", Timestamp.from(at))
+                .param("ownerId", ownerId)
+                .update();
+    }
+
+    private static String ownerColumn(EntityType owner) {
+        return switch (owner) {
+            case AUTHOR -> "author_id";
+            case PUBLISHER -> "publisher_id";
+            case BOOK -> throw new IllegalArgumentException("Books own no other rows");
+        };
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.onlinelibrary.repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Repository;
+
+import com.example.onlinelibrary.entity.Author;
+import com.example.onlinelibrary.entity.Book;
+import com.example.onlinelibrary.entity.Publisher;
+import com.example.onlinelibrary.search.SearchKeys;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/**
+ * Dynamic projections for {@code ?fields=} requests. Only the requested columns are selected, and an association
+ * is joined only when one of its nested fields is requested or the search filter needs it.
+ */
+@Repository
+public class SparseFieldRepository {
+
+    public enum BookOrder {
+        NONE, TITLE, PUBLICATION_DATE
+    }
+
+    private static final String AUTHOR = "author";
+    private static final String PUBLISHER = "publisher";
+
+    private final EntityManager entityManager;
+
+    public SparseFieldRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public List<Map<String, Object>> findBooks(List<String> fields, String searchTerm, BookOrder order) {
+        return findBooks(fields, searchTerm, order, Limit.unlimited());
+    }
+
+    public List<Map<String, Object>> findBooks(List<String> fields, String searchTerm, BookOrder order, Limit limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Book> book = query.from(Book.class);
+        Join<Book, Author> author = fields.contains(AUTHOR) || searchTerm != null ? book.join(AUTHOR) : null;
+        Join<Book, Publisher> publisher = fields.contains(PUBLISHER) || searchTerm != null ? book.join(PUBLISHER) : null;
+
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String field : fields) {
+            switch (field) {
+                case AUTHOR -> addReference(selections, author, AUTHOR);
+                case PUBLISHER -> addReference(selections, publisher, PUBLISHER);
+                case "authorId" -> selections.add(book.get(AUTHOR).get("id").alias(field));
+                case "publisherId" -> selections.add(book.get(PUBLISHER).get("id").alias(field));
+                default -> selections.add(book.get(field).alias(field));
+            }
+        }
+        query.multiselect(selections);
+
+        if (searchTerm != null) {
+            String pattern = SearchKeys.containsPattern(searchTerm);
+            query.where(cb.or(
+                    cb.like(book.get("titleKey"), pattern, SearchKeys.LIKE_ESCAPE),
+                    cb.like(author.get("nameKey"), pattern, SearchKeys.LIKE_ESCAPE),
+                    cb.like(publisher.get("nameKey"), pattern, SearchKeys.LIKE_ESCAPE)));
+        }
+        if (order == BookOrder.TITLE) {
+            // Same keys as the entity and cached title orders, so a limited list is a prefix of the full one
+            query.orderBy(cb.asc(book.get("titleKey")), cb.asc(book.get("id")));
+        } else if (order == BookOrder.PUBLICATION_DATE) {
+            query.orderBy(cb.asc(book.get("publicationDate")), cb.asc(book.get("id")));
+        }
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (limit.isLimited()) {
+            typedQuery.setMaxResults(limit.max());
+        }
+        return toMaps(typedQuery.getResultList(), fields);
+    }
+
+    public List<Map<String, Object>> findAuthors(List<String> fields) {
+        return findNamed(Author.class, fields);
+    }
+
+    public List<Map<String, Object>> findPublishers(List<String> fields) {
+        return findNamed(Publisher.class, fields);
+    }
+
+    private <T> List<Map<String, Object>> findNamed(Class<T> entityType, List<String> fields) {
+        CriteriaQuery<Tuple> query = entityManager.getCriteriaBuilder().createTupleQuery();
+        Root<T> root = query.from(entityType);
+        query.multiselect(fields.stream().<Selection<?>>map(field -> root.get(field).alias(field)).toList());
+        return toMaps(entityManager.createQuery(query).getResultList(), fields);
+    }
+
+    private static void addReference(List<Selection<?>> selections, From<?, ?> join, String field) {
+        selections.add(join.get("id").alias(field + ".id"));
+        selections.add(join.get("name").alias(field + ".name"));
+    }
+
+    private static List<Map<String, Object>> toMaps(List<Tuple> tuples, List<String> fields) {
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String field : fields) {
+                if (field.equals(AUTHOR) || field.equals(PUBLISHER)) {
+                    Map<String, Object> reference = new LinkedHashMap<>();
+                    reference.put("id", tuple.get(field + ".id"));
+                    reference.put("name", tuple.get(field + ".name"));
+                    row.put(field, reference);
+                } else {
+                    row.put(field, tuple.get(field));
+                }
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
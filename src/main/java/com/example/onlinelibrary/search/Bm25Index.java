@@ -0,0 +1,247 @@
+package com.example.onlinelibrary.search;
+
+import com.example.onlinelibrary.entity.Book;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory BM25 index over the search keys of book title, author name and publisher name. Term and length
+ * statistics are kept per field and updated incrementally as books are added, replaced or removed.
+ */
+public class Bm25Index {
+
+    public enum Field {
+        TITLE, AUTHOR, PUBLISHER
+    }
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final Comparator<BookSearchHit> BY_SCORE = Comparator.comparingDouble(BookSearchHit::score)
+            .thenComparing(Comparator.comparingLong(BookSearchHit::bookId).reversed());
+
+    private final EnumMap<Field, Double> boosts;
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final EnumMap<Field, Map<String, Map<Long, Integer>>> postings = new EnumMap<>(Field.class);
+    private final long[] totalLengths = new long[Field.values().length];
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public Bm25Index(double titleBoost, double authorBoost, double publisherBoost) {
+        boosts = new EnumMap<>(Field.class);
+        boosts.put(Field.TITLE, titleBoost);
+        boosts.put(Field.AUTHOR, authorBoost);
+        boosts.put(Field.PUBLISHER, publisherBoost);
+        for (Field field : Field.values()) {
+            postings.put(field, new HashMap<>());
+        }
+    }
+
+    public void index(Book book) {
+        Long authorId = book.getAuthor() != null ? book.getAuthor().getId() : null;
+        Long publisherId = book.getPublisher() != null ? book.getPublisher().getId() : null;
+        EnumMap<Field, Map<String, Integer>> terms = new EnumMap<>(Field.class);
+        terms.put(Field.TITLE, termFrequencies(book.getTitleKey()));
+        terms.put(Field.AUTHOR, termFrequencies(book.getAuthor() != null ? book.getAuthor().getNameKey() : null));
+        terms.put(Field.PUBLISHER, termFrequencies(book.getPublisher() != null ? book.getPublisher().getNameKey() : null));
+
+        lock.writeLock().lock();
+        try {
+            removeDocument(book.getId());
+            Document document = new Document(book.getId(), authorId, publisherId, terms, new int[Field.values().length]);
+            documents.put(document.id(), document);
+            for (Field field : Field.values()) {
+                addPostings(document, field);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Re-tokenizes the author or publisher field of every book that references {@code ownerId}, given the owner's
+     * new {@code nameKey}.
+     */
+    public void rename(Field field, Long ownerId, String nameKey) {
+        Map<String, Integer> terms = termFrequencies(nameKey);
+        lock.writeLock().lock();
+        try {
+            for (Document document : ownedBy(field, ownerId)) {
+                removePostings(document, field);
+                document.terms().put(field, new HashMap<>(terms));
+                addPostings(document, field);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeOwnedBy(Field field, Long ownerId) {
+        lock.writeLock().lock();
+        try {
+            for (Document document : ownedBy(field, ownerId)) {
+                removeDocument(document.id());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<BookSearchHit> search(String query, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<>(tokenize(SearchKeys.normalize(query)));
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Map<Long, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            if (documentCount == 0) {
+                return List.of();
+            }
+            for (Field field : Field.values()) {
+                double averageLength = Math.max(1.0, (double) totalLengths[field.ordinal()] / documentCount);
+                double boost = boosts.get(field);
+                for (String term : queryTerms) {
+                    Map<Long, Integer> posting = postings.get(field).get(term);
+                    if (posting == null) {
+                        continue;
+                    }
+                    int documentFrequency = posting.size();
+                    double idf = Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+                    for (Map.Entry<Long, Integer> entry : posting.entrySet()) {
+                        int length = documents.get(entry.getKey()).length(field);
+                        double tf = entry.getValue();
+                        double norm = tf + K1 * (1 - B + B * length / averageLength);
+                        scores.merge(entry.getKey(), boost * idf * tf * (K1 + 1) / norm, Double::sum);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return topK(scores, limit);
+    }
+
+    // Splits text that is already a search key (see SearchKeys), so only the query is normalized per search
+    static List<String> tokenize(String key) {
+        if (key == null || key.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : key.split("[^\\p{L}\\p{Nd}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static List<BookSearchHit> topK(Map<Long, Double> scores, int limit) {
+        PriorityQueue<BookSearchHit> heap = new PriorityQueue<>(Math.min(limit, Math.max(1, scores.size())), BY_SCORE);
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            BookSearchHit hit = new BookSearchHit(entry.getKey(), entry.getValue());
+            if (heap.size() < limit) {
+                heap.offer(hit);
+            } else if (BY_SCORE.compare(hit, heap.peek()) > 0) {
+                heap.poll();
+                heap.offer(hit);
+            }
+        }
+        List<BookSearchHit> hits = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            hits.add(heap.poll());
+        }
+        Collections.reverse(hits);
+        return hits;
+    }
+
+    private static Map<String, Integer> termFrequencies(String text) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : tokenize(text)) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        return frequencies;
+    }
+
+    private List<Document> ownedBy(Field field, Long ownerId) {
+        List<Document> owned = new ArrayList<>();
+        for (Document document : documents.values()) {
+            Long documentOwner = field == Field.AUTHOR ? document.authorId() : document.publisherId();
+            if (ownerId.equals(documentOwner)) {
+                owned.add(document);
+            }
+        }
+        return owned;
+    }
+
+    private void removeDocument(Long bookId) {
+        Document existing = documents.remove(bookId);
+        if (existing != null) {
+            for (Field field : Field.values()) {
+                removePostings(existing, field);
+            }
+        }
+    }
+
+    private void addPostings(Document document, Field field) {
+        Map<String, Map<Long, Integer>> fieldPostings = postings.get(field);
+        int length = 0;
+        for (Map.Entry<String, Integer> entry : document.terms().get(field).entrySet()) {
+            fieldPostings.computeIfAbsent(entry.getKey(), key -> new HashMap<>()).put(document.id(), entry.getValue());
+            length += entry.getValue();
+        }
+        document.lengths()[field.ordinal()] = length;
+        totalLengths[field.ordinal()] += length;
+    }
+
+    private void removePostings(Document document, Field field) {
+        Map<String, Map<Long, Integer>> fieldPostings = postings.get(field);
+        for (String term : document.terms().get(field).keySet()) {
+            Map<Long, Integer> posting = fieldPostings.get(term);
+            if (posting != null) {
+                posting.remove(document.id());
+                if (posting.isEmpty()) {
+                    fieldPostings.remove(term);
+                }
+            }
+        }
+        totalLengths[field.ordinal()] -= document.length(field);
+    }
+
+    private record Document(Long id, Long authorId, Long publisherId, EnumMap<Field, Map<String, Integer>> terms,
+                            int[] lengths) {
+
+        int length(Field field) {
+            return lengths[field.ordinal()];
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.onlinelibrary.search;
+
+import java.util.List;
+
+public interface BookSearchEngine {
+
+    /**
+     * Returns at most {@code limit} hits for {@code query}, best score first.
+     */
+    List<BookSearchHit> search(String query, int limit);
+
+    /**
+     * Rebuilds the index from the catalog and returns the number of books indexed.
+     */
+    long reindex();
+}
@@ -0,0 +1,4 @@
+package com.example.onlinelibrary.search;
+
+public record BookSearchHit(long bookId, double score) {
+}
@@ -0,0 +1,6 @@
+package com.example.onlinelibrary.search;
+
+import com.example.onlinelibrary.entity.Book;
+
+public record BookSearchResult(Book book, double score) {
+}
@@ -0,0 +1,147 @@
+package com.example.onlinelibrary.search;
+
+import com.example.onlinelibrary.event.CatalogChangedEvent;
+import com.example.onlinelibrary.event.CatalogChangedEvent.ChangeType;
+import com.example.onlinelibrary.event.CatalogResyncEvent;
+import com.example.onlinelibrary.repository.AuthorRepository;
+import com.example.onlinelibrary.repository.BookRepository;
+import com.example.onlinelibrary.repository.PublisherRepository;
+import com.example.onlinelibrary.search.Bm25Index.Field;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * BM25 search over an in-memory {@link Bm25Index}. The index is built once the application is ready and then
+ * patched from committed catalog writes on a single background thread, so changes are applied in commit order
+ * and re-read outside the writer's persistence context. A rebuild fills a fresh index and swaps it in, so searches
+ * keep seeing the previous one until it is complete; an update that fails is logged and counted as
+ * {@code library.search.index.failures}, and the book stays as it was until its next write or reindex.
+ */
+@Component
+@ConditionalOnProperty(name = "library.search.engine", havingValue = "bm25", matchIfMissing = true)
+public class InMemoryBookSearchEngine implements BookSearchEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryBookSearchEngine.class);
+
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final PublisherRepository publisherRepository;
+    private final double titleBoost;
+    private final double authorBoost;
+    private final double publisherBoost;
+    private final Counter failures;
+    private volatile Bm25Index index;
+    private final ExecutorService updates = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "bm25-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public InMemoryBookSearchEngine(BookRepository bookRepository, AuthorRepository authorRepository,
+                                    PublisherRepository publisherRepository, MeterRegistry meterRegistry,
+                                    @Value("${library.search.bm25.title-boost:3.0}") double titleBoost,
+                                    @Value("${library.search.bm25.author-boost:2.0}") double authorBoost,
+                                    @Value("${library.search.bm25.publisher-boost:1.0}") double publisherBoost) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.publisherRepository = publisherRepository;
+        this.titleBoost = titleBoost;
+        this.authorBoost = authorBoost;
+        this.publisherBoost = publisherBoost;
+        this.failures = meterRegistry.counter("library.search.index.failures", "engine", "bm25");
+        this.index = new Bm25Index(titleBoost, authorBoost, publisherBoost);
+    }
+
+    @Override
+    public List<BookSearchHit> search(String query, int limit) {
+        return index.search(query, limit);
+    }
+
+    @Override
+    public long reindex() {
+        try {
+            return updates.submit(this::rebuild).get();
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("BM25 reindex failed", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reindexing", ex);
+        }
+    }
+
+    @EventListener({ApplicationReadyEvent.class, CatalogResyncEvent.class})
+    public void onApplicationReady() {
+        updates.execute(this::rebuild);
+    }
+
+    // Runs on the update thread, so no event is applied to the old index after the new one has been read
+    private long rebuild() {
+        Bm25Index rebuilt = new Bm25Index(titleBoost, authorBoost, publisherBoost);
+        bookRepository.findAll().forEach(rebuilt::index);
+        index = rebuilt;
+        log.info("BM25 search index built with {} books", rebuilt.size());
+        return rebuilt.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        updates.execute(() -> {
+            try {
+                apply(event);
+            } catch (RuntimeException ex) {
+                failures.increment();
+                log.error("Failed to apply {} {} {} to the BM25 index", event.changeType(), event.entityType(),
+                        event.entityId(), ex);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        updates.shutdownNow();
+    }
+
+    void apply(CatalogChangedEvent event) {
+        Bm25Index current = index;
+        switch (event.entityType()) {
+            case BOOK -> {
+                if (event.changeType() == ChangeType.DELETED) {
+                    current.remove(event.entityId());
+                } else {
+                    bookRepository.findById(event.entityId())
+                            .ifPresentOrElse(current::index, () -> current.remove(event.entityId()));
+                }
+            }
+            case AUTHOR -> {
+                if (event.changeType() == ChangeType.DELETED) {
+                    current.removeOwnedBy(Field.AUTHOR, event.entityId());
+                } else {
+                    authorRepository.findById(event.entityId())
+                            .ifPresent(author -> current.rename(Field.AUTHOR, author.getId(), author.getNameKey()));
+                }
+            }
+            case PUBLISHER -> {
+                if (event.changeType() == ChangeType.DELETED) {
+                    current.removeOwnedBy(Field.PUBLISHER, event.entityId());
+                } else {
+                    publisherRepository.findById(event.entityId())
+                            .ifPresent(publisher -> current.rename(Field.PUBLISHER, publisher.getId(), publisher.getNameKey()));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,379 @@
+package com.example.onlinelibrary.search;
+
+import com.example.onlinelibrary.dto.CatalogChange;
+import com.example.onlinelibrary.entity.Book;
+import com.example.onlinelibrary.event.CatalogChangedEvent;
+import com.example.onlinelibrary.event.CatalogChangedEvent.ChangeType;
+import com.example.onlinelibrary.event.CatalogChangedEvent.EntityType;
+import com.example.onlinelibrary.event.CatalogResyncEvent;
+import com.example.onlinelibrary.exception.InvalidDataException;
+import com.example.onlinelibrary.repository.BookRepository;
+import com.example.onlinelibrary.repository.CatalogChangeRepository;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field.Store;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.lucene.util.QueryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Full-text book search on an embedded Lucene index kept on local disk, so it survives restarts. Committed catalog
+ * writes are applied on a single background thread and become searchable through near-real-time reopens; the
+ * index is committed to disk every {@code library.search.lucene.commit-interval-seconds}.
+ * <p>
+ * Every commit first replays the change feed outbox from the last sequence number the index covers and stores the
+ * new one in the commit user data. On startup the index catches up from the stored sequence number, which also
+ * covers writes lost in a crash and writes made by other instances; it is rebuilt when the sequence number is
+ * missing or older than the compacted history.
+ */
+@Component
+@ConditionalOnProperty(name = "library.search.engine", havingValue = "lucene")
+public class LuceneBookSearchEngine implements BookSearchEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(LuceneBookSearchEngine.class);
+
+    private static final String ID = "id";
+    private static final String AUTHOR_ID = "authorId";
+    private static final String PUBLISHER_ID = "publisherId";
+    private static final String GENERATION = "generation";
+    private static final String TITLE = "title";
+    private static final String AUTHOR = "author";
+    private static final String PUBLISHER = "publisher";
+    private static final String CHANGE_SEQ = "catalogChangeSeq";
+    private static final List<String> SEARCH_FIELDS = List.of(TITLE, AUTHOR, PUBLISHER);
+    // A quoted phrase (the closing quote may be missing) or a run of plain terms
+    private static final Pattern PHRASE_OR_TERMS = Pattern.compile("\"([^\"]*)\"?|([^\"]+)");
+
+    private final BookRepository bookRepository;
+    private final CatalogChangeRepository changeRepository;
+    private final int batchSize;
+    private final Analyzer analyzer = new EnglishAnalyzer();
+    private final Map<String, Float> boosts;
+    private final MMapDirectory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final ControlledRealTimeReopenThread<IndexSearcher> reopenThread;
+    private final ScheduledExecutorService updates = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "lucene-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile long generation;
+    private volatile long lastWriteGeneration;
+    // Outbox sequence number up to which every change is in the index, -1 until known; only touched on the
+    // lucene-index thread after construction
+    private long indexedThroughSeq;
+
+    public LuceneBookSearchEngine(BookRepository bookRepository,
+                                  CatalogChangeRepository changeRepository,
+                                  @Value("${library.search.lucene.path:data/search-index}") Path indexPath,
+                                  @Value("${library.search.lucene.batch-size:500}") int batchSize,
+                                  @Value("${library.search.lucene.commit-interval-seconds:30}") long commitIntervalSeconds,
+                                  @Value("${library.search.bm25.title-boost:3.0}") float titleBoost,
+                                  @Value("${library.search.bm25.author-boost:2.0}") float authorBoost,
+                                  @Value("${library.search.bm25.publisher-boost:1.0}") float publisherBoost)
+            throws IOException {
+        this.bookRepository = bookRepository;
+        this.changeRepository = changeRepository;
+        this.batchSize = batchSize;
+        this.boosts = Map.of(TITLE, titleBoost, AUTHOR, authorBoost, PUBLISHER, publisherBoost);
+        this.directory = new MMapDirectory(indexPath);
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        this.indexedThroughSeq = committedSeq();
+        this.searcherManager = new SearcherManager(writer, null);
+        this.reopenThread = new ControlledRealTimeReopenThread<>(writer, searcherManager, 1.0, 0.025);
+        this.reopenThread.setName("lucene-nrt-reopen");
+        this.reopenThread.setDaemon(true);
+        this.reopenThread.start();
+        updates.scheduleWithFixedDelay(this::commit, commitIntervalSeconds, commitIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public List<BookSearchHit> search(String query, int limit) {
+        if (query == null || query.isBlank() || limit <= 0) {
+            return List.of();
+        }
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            TopDocs topDocs = searcher.search(parse(query), limit);
+            List<BookSearchHit> hits = new ArrayList<>(topDocs.scoreDocs.length);
+            for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                String id = searcher.storedFields().document(scoreDoc.doc).get(ID);
+                hits.add(new BookSearchHit(Long.parseLong(id), scoreDoc.score));
+            }
+            return hits;
+        } catch (IndexSearcher.TooManyClauses ex) {
+            throw new InvalidDataException("Search query has too many terms");
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            release(searcher);
+        }
+    }
+
+    /**
+     * Streams the catalog in id order, {@code batchSize} books at a time, stamping every document with a new
+     * time-based generation; documents left over from older generations belong to deleted books and are removed
+     * at the end, so searches keep working while the rebuild runs. The index then covers the outbox up to the
+     * sequence number read before the first batch.
+     */
+    @Override
+    public long reindex() {
+        try {
+            return updates.submit(this::rebuild).get();
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Lucene reindex failed", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reindexing", ex);
+        }
+    }
+
+    // On a resync the outbox catch-up replays every change since the committed sequence number, or rebuilds when
+    // those entries have been compacted away
+    @EventListener({ApplicationReadyEvent.class, CatalogResyncEvent.class})
+    public void onApplicationReady() {
+        updates.execute(() -> {
+            try {
+                if (indexedThroughSeq < 0) {
+                    rebuild();
+                } else {
+                    commit();
+                }
+            } catch (IOException | RuntimeException ex) {
+                log.error("Lucene index build or catch-up failed", ex);
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        updates.execute(() -> apply(event));
+    }
+
+    @PreDestroy
+    public void close() throws IOException, InterruptedException {
+        updates.shutdown();
+        updates.awaitTermination(10, TimeUnit.SECONDS);
+        reopenThread.close();
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    void apply(CatalogChangedEvent event) {
+        try {
+            apply(event.entityType(), event.entityId(), event.changeType());
+        } catch (IOException | RuntimeException ex) {
+            log.error("Failed to apply {} to the Lucene index; the next commit replays it from the change feed",
+                    event, ex);
+        }
+    }
+
+    /**
+     * Replays the outbox from {@link #indexedThroughSeq}, then commits the index together with the new sequence
+     * number. Runs on the lucene-index thread.
+     */
+    void commit() {
+        try {
+            if (indexedThroughSeq >= 0) {
+                catchUp();
+            }
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Lucene commit failed", ex);
+        }
+    }
+
+    /**
+     * Blocks until every change applied so far is visible to searchers.
+     */
+    void awaitVisible() throws InterruptedException {
+        reopenThread.waitForGeneration(lastWriteGeneration);
+    }
+
+    // Upserts re-read the current rows, so replaying a change the event listener already applied is harmless
+    private void catchUp() throws IOException {
+        List<CatalogChange> changes;
+        do {
+            changes = changeRepository.findSince(indexedThroughSeq, batchSize);
+            if (indexedThroughSeq < changeRepository.compactedThrough()) {
+                log.warn("Lucene index is behind the compacted change feed (seq {}), rebuilding", indexedThroughSeq);
+                rebuild();
+                return;
+            }
+            for (CatalogChange change : changes) {
+                apply(change.entityType(), change.entityId(), change.changeType());
+                indexedThroughSeq = change.seq();
+            }
+            if (!changes.isEmpty()) {
+                writer.setLiveCommitData(Map.of(CHANGE_SEQ, Long.toString(indexedThroughSeq)).entrySet());
+            }
+        } while (changes.size() == batchSize);
+    }
+
+    private void apply(EntityType entityType, Long entityId, ChangeType changeType) throws IOException {
+        switch (entityType) {
+            case BOOK -> {
+                if (changeType == ChangeType.DELETED) {
+                    track(writer.deleteDocuments(new Term(ID, entityId.toString())));
+                } else {
+                    bookRepository.findById(entityId).ifPresent(this::upsert);
+                }
+            }
+            case AUTHOR -> {
+                if (changeType == ChangeType.DELETED) {
+                    track(writer.deleteDocuments(new Term(AUTHOR_ID, entityId.toString())));
+                } else {
+                    bookRepository.findByAuthorId(entityId).forEach(this::upsert);
+                }
+            }
+            case PUBLISHER -> {
+                if (changeType == ChangeType.DELETED) {
+                    track(writer.deleteDocuments(new Term(PUBLISHER_ID, entityId.toString())));
+                } else {
+                    bookRepository.findByPublisherId(entityId).forEach(this::upsert);
+                }
+            }
+        }
+    }
+
+    private long committedSeq() {
+        Iterable<Map.Entry<String, String>> commitData = writer.getLiveCommitData();
+        if (commitData != null) {
+            for (Map.Entry<String, String> entry : commitData) {
+                if (CHANGE_SEQ.equals(entry.getKey())) {
+                    return Long.parseLong(entry.getValue());
+                }
+            }
+        }
+        return -1;
+    }
+
+    private long rebuild() throws IOException {
+        long seq = changeRepository.latestSeq();
+        long run = Math.max(generation + 1, System.currentTimeMillis());
+        generation = run;
+        long indexed = 0;
+        Long lastId = 0L;
+        List<Book> batch;
+        do {
+            batch = bookRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(batchSize));
+            for (Book book : batch) {
+                upsert(book);
+                lastId = book.getId();
+            }
+            indexed += batch.size();
+        } while (batch.size() == batchSize);
+        track(writer.deleteDocuments(LongPoint.newRangeQuery(GENERATION, Long.MIN_VALUE, run - 1)));
+        indexedThroughSeq = seq;
+        writer.setLiveCommitData(Map.of(CHANGE_SEQ, Long.toString(seq)).entrySet());
+        writer.commit();
+        log.info("Lucene search index rebuilt with {} books", indexed);
+        return indexed;
+    }
+
+    private void upsert(Book book) {
+        Document document = new Document();
+        document.add(new StringField(ID, book.getId().toString(), Store.YES));
+        document.add(new LongPoint(GENERATION, generation));
+        document.add(new TextField(TITLE, nullToEmpty(book.getTitle()), Store.NO));
+        if (book.getAuthor() != null) {
+            document.add(new StringField(AUTHOR_ID, book.getAuthor().getId().toString(), Store.NO));
+            document.add(new TextField(AUTHOR, nullToEmpty(book.getAuthor().getName()), Store.NO));
+        }
+        if (book.getPublisher() != null) {
+            document.add(new StringField(PUBLISHER_ID, book.getPublisher().getId().toString(), Store.NO));
+            document.add(new TextField(PUBLISHER, nullToEmpty(book.getPublisher().getName()), Store.NO));
+        }
+        try {
+            track(writer.updateDocument(new Term(ID, book.getId().toString()), document));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Builds the query from analyzed terms: quoted text becomes a phrase, everything else plain terms, matched in
+     * every field with its boost. Operators, field prefixes and wildcard, fuzzy or regex syntax are not interpreted,
+     * so no request can expand into a scan of the term dictionary.
+     */
+    private Query parse(String query) {
+        QueryBuilder queryBuilder = new QueryBuilder(analyzer);
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        Matcher matcher = PHRASE_OR_TERMS.matcher(query);
+        while (matcher.find()) {
+            String phrase = matcher.group(1);
+            for (String field : SEARCH_FIELDS) {
+                Query clause = phrase != null
+                        ? queryBuilder.createPhraseQuery(field, phrase)
+                        : queryBuilder.createBooleanQuery(field, matcher.group(2));
+                if (clause != null) {
+                    builder.add(new BoostQuery(clause, boosts.get(field)), Occur.SHOULD);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    private void track(long sequenceNumber) {
+        lastWriteGeneration = sequenceNumber;
+    }
+
+    private void release(IndexSearcher searcher) {
+        if (searcher == null) {
+            return;
+        }
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
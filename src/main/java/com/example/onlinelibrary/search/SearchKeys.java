@@ -0,0 +1,43 @@
+package com.example.onlinelibrary.search;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * The one normalization applied to searchable text: NFKD decomposition with combining marks stripped, case folded
+ * and whitespace collapsed, so "Émile  ZOLA" and "emile zola" share a key. Stored keys ({@code Book.titleKey},
+ * {@code Author.nameKey}, {@code Publisher.nameKey}) are computed with it once on write; search terms go through it
+ * once per request, and stored data never needs it again.
+ */
+public final class SearchKeys {
+
+    /** Escape character used by {@link #containsPattern}; queries must declare {@code escape '!'}. */
+    public static final char LIKE_ESCAPE = '!';
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SearchKeys() {
+    }
+
+    public static String normalize(String text) {
+        if (text == null) {
+            return null;
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFKD);
+        String stripped = COMBINING_MARKS.matcher(decomposed).replaceAll("");
+        // Upper then lower folds the cases a single toLowerCase misses, such as "ß" and the final sigma
+        String folded = stripped.toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+        return WHITESPACE.matcher(folded).replaceAll(" ").trim();
+    }
+
+    /**
+     * A LIKE pattern matching stored keys that contain the normalized {@code term}.
+     */
+    public static String containsPattern(String term) {
+        String key = normalize(term);
+        String escaped = key.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+        return "%" + escaped + "%";
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.onlinelibrary.service;
+
+import java.util.List;
+
+import com.example.onlinelibrary.dto.BookView;
+
+/**
+ * JDBC read path for the book list, search, sort and report endpoints. Each endpoint is switched over
+ * individually with {@code library.read-path.jdbc}; the others keep using {@link BookService}.
+ */
+public interface BookReadService {
+
+    boolean servesFromJdbc(String endpoint);
+    List<BookView> getAllBooks();
+    List<BookView> searchBooks(String searchTerm);
+    List<BookView> sortBooksByTitle();
+    List<BookView> sortBooksByPublicationDate();
+    List<String> generateAuthorReport();
+}
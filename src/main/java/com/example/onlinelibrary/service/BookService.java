@@ -1,18 +1,28 @@
 package com.example.onlinelibrary.service;
  
+import java.time.LocalDate;
 import java.util.List;
  
+import com.example.onlinelibrary.dto.BookView;
+import com.example.onlinelibrary.dto.NormalizedBookList;
 import com.example.onlinelibrary.entity.Book;
+import com.example.onlinelibrary.search.BookSearchResult;
  
 public interface BookService {
 	Book createBook(Book book);
     List<Book> getAllBooks();
+    NormalizedBookList getAllBooksNormalized();
     Book getBookById(Long id);
     Book updateBook(Long id, Book bookDetails);
     void deleteBook(Long id);
     List<Book> searchBooks(String searchTerm);
+    List<BookSearchResult> rankedSearch(String searchTerm, int limit);
     List<Book> sortBooksByTitle();
+    List<Book> sortBooksByTitle(int limit);
+    List<Book> findLatestBooks(int limit);
     List<Book> sortBooksByPublicationDate();
+    List<BookView> pageBooksByTitle(String from, Long afterId, boolean descending, int limit);
+    List<BookView> pageBooksByPublicationDate(LocalDate from, Long afterId, boolean descending, int limit);
     List<String> generateAuthorReport();
  
 }
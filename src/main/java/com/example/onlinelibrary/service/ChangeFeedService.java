@@ -0,0 +1,18 @@
+package com.example.onlinelibrary.service;
+
+import java.util.Optional;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.onlinelibrary.dto.ChangePage;
+
+/**
+ * Incremental sync over the catalog outbox. Both methods are empty when {@code since} is older than the compacted
+ * history; such a consumer must reload the catalog and continue from {@link #latestSeq()} read before the reload.
+ */
+public interface ChangeFeedService {
+
+    Optional<ChangePage> changesSince(long since, int limit);
+    Optional<SseEmitter> stream(long since);
+    long latestSeq();
+}
@@ -0,0 +1,19 @@
+package com.example.onlinelibrary.service;
+
+import java.time.Instant;
+
+import com.example.onlinelibrary.dto.ModifiedPage;
+import com.example.onlinelibrary.entity.Author;
+import com.example.onlinelibrary.entity.Book;
+import com.example.onlinelibrary.entity.Publisher;
+
+/**
+ * Delta reads for clients that sync by timestamp: the rows whose JSON changed after {@code (since, afterId)}, in
+ * {@code (updatedAt, id)} order, with the ids deleted over the same span.
+ */
+public interface ModifiedSinceService {
+
+    ModifiedPage<Book> booksModifiedSince(Instant since, long afterId, int limit);
+    ModifiedPage<Author> authorsModifiedSince(Instant since, long afterId, int limit);
+    ModifiedPage<Publisher> publishersModifiedSince(Instant since, long afterId, int limit);
+}
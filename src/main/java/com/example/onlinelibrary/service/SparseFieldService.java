@@ -0,0 +1,15 @@
+package com.example.onlinelibrary.service;
+
+import java.util.List;
+import java.util.Map;
+
+public interface SparseFieldService {
+
+    List<Map<String, Object>> getAllBooks(String fields);
+    List<Map<String, Object>> searchBooks(String searchTerm, String fields);
+    List<Map<String, Object>> sortBooksByTitle(String fields);
+    List<Map<String, Object>> sortBooksByTitle(String fields, int limit);
+    List<Map<String, Object>> sortBooksByPublicationDate(String fields);
+    List<Map<String, Object>> getAllAuthors(String fields);
+    List<Map<String, Object>> getAllPublishers(String fields);
+}
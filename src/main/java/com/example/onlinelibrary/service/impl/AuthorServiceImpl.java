@@ -1,33 +1,55 @@
 package com.example.onlinelibrary.service.impl;
 
+import com.example.onlinelibrary.cache.CatalogNameFilter;
 import com.example.onlinelibrary.entity.Author;
+import com.example.onlinelibrary.event.CatalogChangedEvent;
+import com.example.onlinelibrary.event.CatalogChangedEvent.ChangeType;
+import com.example.onlinelibrary.event.CatalogChangedEvent.EntityType;
 import com.example.onlinelibrary.exception.DataIntegrityException;
 import com.example.onlinelibrary.exception.ResourceNotFoundException;
+import com.example.onlinelibrary.repository.CatalogChangeRepository;
+import com.example.onlinelibrary.repository.CatalogDeltaRepository;
 import com.example.onlinelibrary.repository.AuthorRepository;
 import com.example.onlinelibrary.service.AuthorService;
 import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Objects;
 
 @Service
 public class AuthorServiceImpl implements AuthorService {
 
     private final AuthorRepository authorRepository;
+    private final CatalogNameFilter catalogNameFilter;
+    private final CatalogDeltaRepository deltaRepository;
+    private final CatalogChangeRepository changeRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final String AUTHOR_NOT_FOUND_MESSAGE = "Author not found with id ";
     private static final String AUTHOR_ALREADY_EXISTS_MESSAGE = "Author with this name already exists";
 
-    public AuthorServiceImpl(AuthorRepository authorRepository) {
+    public AuthorServiceImpl(AuthorRepository authorRepository, CatalogNameFilter catalogNameFilter,
+                             CatalogDeltaRepository deltaRepository, CatalogChangeRepository changeRepository,
+                             ApplicationEventPublisher eventPublisher) {
         this.authorRepository = authorRepository;
+        this.catalogNameFilter = catalogNameFilter;
+        this.deltaRepository = deltaRepository;
+        this.changeRepository = changeRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
     @Transactional
     public Author createAuthor(Author author) {
+        rejectDuplicateName(author.getName());
         try {
-            return authorRepository.save(author);
+            Author savedAuthor = authorRepository.save(author);
+            publishChange(savedAuthor.getId(), ChangeType.CREATED, savedAuthor);
+            return savedAuthor;
         } catch (DataIntegrityViolationException ex) {
             throw new DataIntegrityException(AUTHOR_ALREADY_EXISTS_MESSAGE);
         }
@@ -40,7 +62,7 @@ public class AuthorServiceImpl implements AuthorService {
 
     @Override
     public Author getAuthorById(Long id) {
-        return authorRepository.findById(id)
+        return authorRepository.findWithBooksById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(AUTHOR_NOT_FOUND_MESSAGE + id));
     }
 
@@ -49,10 +71,21 @@ public class AuthorServiceImpl implements AuthorService {
     public Author updateAuthor(Long id, Author authorDetails) {
         Author author = authorRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(AUTHOR_NOT_FOUND_MESSAGE + id));
+        if (!Objects.equals(author.getName(), authorDetails.getName())) {
+            rejectDuplicateName(authorDetails.getName());
+            // Books show the name, and the other side of those books shows them
+            Instant now = Instant.now();
+            deltaRepository.touchBooksOf(EntityType.AUTHOR, id, now);
+            deltaRepository.touchCounterpartsOf(EntityType.AUTHOR, id, now);
+        }
         author.setName(authorDetails.getName());
 
         try {
-            return authorRepository.save(author);
+            authorRepository.save(author);
+            // The response shows the books, which the write itself never needed
+            Author savedAuthor = authorRepository.findWithBooksById(id).orElseThrow();
+            publishChange(id, ChangeType.UPDATED, savedAuthor);
+            return savedAuthor;
         } catch (DataIntegrityViolationException ex) {
             throw new DataIntegrityException(AUTHOR_ALREADY_EXISTS_MESSAGE);
         }
@@ -64,6 +97,23 @@ public class AuthorServiceImpl implements AuthorService {
         if (!authorRepository.existsById(id)) {
             throw new ResourceNotFoundException(AUTHOR_NOT_FOUND_MESSAGE + id);
         }
+        Instant now = Instant.now();
+        deltaRepository.touchCounterpartsOf(EntityType.AUTHOR, id, now);
+        deltaRepository.recordBooksDeleted(EntityType.AUTHOR, id, now);
+        changeRepository.appendBooksDeleted(EntityType.AUTHOR, id, now);
+        deltaRepository.recordDeleted(EntityType.AUTHOR, id, now);
         authorRepository.deleteById(id);
+        publishChange(id, ChangeType.DELETED, null);
+    }
+
+    // Only names the filter cannot rule out cost an indexed lookup before the insert
+    private void rejectDuplicateName(String name) {
+        if (catalogNameFilter.mightExist(EntityType.AUTHOR, name) && authorRepository.existsByName(name)) {
+            throw new DataIntegrityException(AUTHOR_ALREADY_EXISTS_MESSAGE);
+        }
+    }
+
+    private void publishChange(Long id, ChangeType changeType, Author author) {
+        eventPublisher.publishEvent(new CatalogChangedEvent(EntityType.AUTHOR, id, changeType, author));
     }
 }
\ No newline at end of file
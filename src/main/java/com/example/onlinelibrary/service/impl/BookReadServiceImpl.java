@@ -0,0 +1,60 @@
+package com.example.onlinelibrary.service.impl;
+
+import com.example.onlinelibrary.dto.BookView;
+import com.example.onlinelibrary.exception.InvalidDataException;
+import com.example.onlinelibrary.repository.BookJdbcRepository;
+import com.example.onlinelibrary.search.SearchKeys;
+import com.example.onlinelibrary.service.BookReadService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class BookReadServiceImpl implements BookReadService {
+
+    private final BookJdbcRepository bookJdbcRepository;
+    private final Set<String> jdbcEndpoints;
+
+    public BookReadServiceImpl(BookJdbcRepository bookJdbcRepository,
+                               @Value("${library.read-path.jdbc:}") Set<String> jdbcEndpoints) {
+        this.bookJdbcRepository = bookJdbcRepository;
+        this.jdbcEndpoints = jdbcEndpoints;
+    }
+
+    @Override
+    public boolean servesFromJdbc(String endpoint) {
+        return jdbcEndpoints.contains(endpoint);
+    }
+
+    @Override
+    public List<BookView> getAllBooks() {
+        return bookJdbcRepository.findAll();
+    }
+
+    @Override
+    public List<BookView> searchBooks(String searchTerm) {
+        if (searchTerm == null || SearchKeys.normalize(searchTerm).isEmpty()) {
+            throw new InvalidDataException("Search term cannot be empty");
+        }
+        return bookJdbcRepository.search(searchTerm);
+    }
+
+    @Override
+    public List<BookView> sortBooksByTitle() {
+        return bookJdbcRepository.findAllOrderByTitle();
+    }
+
+    @Override
+    public List<BookView> sortBooksByPublicationDate() {
+        return bookJdbcRepository.findAllOrderByPublicationDate();
+    }
+
+    @Override
+    public List<String> generateAuthorReport() {
+        return bookJdbcRepository.countBooksByAuthor().stream()
+                .map(count -> count.authorName() + ": " + count.books() + " books")
+                .toList();
+    }
+}
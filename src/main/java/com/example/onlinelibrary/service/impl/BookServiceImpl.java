@@ -1,30 +1,88 @@
 package com.example.onlinelibrary.service.impl;
 
+import com.example.onlinelibrary.cache.BookNavigationIndex;
+import com.example.onlinelibrary.cache.CatalogNameFilter;
+import com.example.onlinelibrary.cache.CatalogSnapshot;
+import com.example.onlinelibrary.cache.CatalogSnapshotCache;
+import com.example.onlinelibrary.cache.SearchResultCache;
+import com.example.onlinelibrary.cache.TopBooksCache;
+import com.example.onlinelibrary.cache.TopBooksCache.Ordering;
+import com.example.onlinelibrary.dto.BookRow;
+import com.example.onlinelibrary.dto.BookView;
+import com.example.onlinelibrary.dto.NormalizedBookList;
+import com.example.onlinelibrary.entity.Author;
 import com.example.onlinelibrary.entity.Book;
+import com.example.onlinelibrary.entity.Publisher;
+import com.example.onlinelibrary.event.CatalogChangedEvent;
+import com.example.onlinelibrary.event.CatalogChangedEvent.ChangeType;
+import com.example.onlinelibrary.event.CatalogChangedEvent.EntityType;
 import com.example.onlinelibrary.exception.DataIntegrityException;
 import com.example.onlinelibrary.exception.InvalidDataException;
 import com.example.onlinelibrary.exception.ResourceNotFoundException;
+import com.example.onlinelibrary.repository.AuthorRepository;
 import com.example.onlinelibrary.repository.BookRepository;
+import com.example.onlinelibrary.repository.CatalogDeltaRepository;
+import com.example.onlinelibrary.repository.PublisherRepository;
+import com.example.onlinelibrary.search.BookSearchEngine;
+import com.example.onlinelibrary.search.BookSearchHit;
+import com.example.onlinelibrary.search.BookSearchResult;
+import com.example.onlinelibrary.search.SearchKeys;
 import com.example.onlinelibrary.service.BookService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class BookServiceImpl implements BookService {
 
     private final BookRepository bookRepository; 
+    private final AuthorRepository authorRepository;
+    private final PublisherRepository publisherRepository;
+    private final SearchResultCache searchResultCache;
+    private final BookSearchEngine searchEngine;
+    private final TopBooksCache topBooksCache;
+    private final CatalogNameFilter catalogNameFilter;
+    private final CatalogDeltaRepository deltaRepository;
+    private final CatalogSnapshotCache catalogSnapshotCache;
+    private final BookNavigationIndex navigationIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final String BOOK_NOT_FOUND_MESSAGE = "Book not found with id ";
     private static final String BOOK_TITLE_REQUIRED_MESSAGE = "Book title is required";
     private static final String BOOK_ALREADY_EXISTS_MESSAGE = "Book with this title already exists";
+    private static final String SEARCH_TERM_REQUIRED_MESSAGE = "Search term cannot be empty";
+    private static final String LIMIT_INVALID_MESSAGE = "Limit must be greater than zero";
 
     // Constructor injection
-    public BookServiceImpl(BookRepository bookRepository) {
+    public BookServiceImpl(BookRepository bookRepository, AuthorRepository authorRepository,
+                           PublisherRepository publisherRepository, SearchResultCache searchResultCache,
+                           BookSearchEngine searchEngine, TopBooksCache topBooksCache,
+                           CatalogNameFilter catalogNameFilter, CatalogDeltaRepository deltaRepository,
+                           CatalogSnapshotCache catalogSnapshotCache, BookNavigationIndex navigationIndex,
+                           ApplicationEventPublisher eventPublisher) {
         this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.publisherRepository = publisherRepository;
+        this.searchResultCache = searchResultCache;
+        this.searchEngine = searchEngine;
+        this.topBooksCache = topBooksCache;
+        this.catalogNameFilter = catalogNameFilter;
+        this.deltaRepository = deltaRepository;
+        this.catalogSnapshotCache = catalogSnapshotCache;
+        this.navigationIndex = navigationIndex;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -33,18 +91,36 @@ public class BookServiceImpl implements BookService {
         if (book.getTitle() == null || book.getTitle().isEmpty()) {
             throw new InvalidDataException(BOOK_TITLE_REQUIRED_MESSAGE);
         }
+        rejectDuplicateTitle(book.getTitle());
         try {
-            return bookRepository.save(book);
+            Book savedBook = bookRepository.save(book);
+            touchOwners(List.of(savedBook), Instant.now());
+            publishChange(savedBook, ChangeType.CREATED);
+            return savedBook;
         } catch (DataIntegrityViolationException ex) {
             throw new DataIntegrityException(BOOK_ALREADY_EXISTS_MESSAGE);
         }
     }
 
+    @Transactional(readOnly = true)
     @Override
     public List<Book> getAllBooks() {
         return bookRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public NormalizedBookList getAllBooksNormalized() {
+        List<BookRow> books = bookRepository.findAllRows();
+        if (books.isEmpty()) {
+            return new NormalizedBookList(books, List.of(), List.of());
+        }
+        // The page is the whole catalog, so the referenced rows are selected by join rather than an IN list of ids
+        return new NormalizedBookList(books, authorRepository.findRefsWithBooks(),
+                publisherRepository.findRefsWithBooks());
+    }
+
+    @Transactional(readOnly = true)
     @Override
     public Book getBookById(Long id) {
         Book book = bookRepository.findById(id).orElse(null);
@@ -64,12 +140,26 @@ public class BookServiceImpl implements BookService {
         if (book == null) {
             throw new ResourceNotFoundException(BOOK_NOT_FOUND_MESSAGE + id);
         }
+        if (!bookDetails.getTitle().equals(book.getTitle())) {
+            rejectDuplicateTitle(bookDetails.getTitle());
+        }
+        // The old owners stop showing the book, the new ones start
+        touchOwners(List.of(book, bookDetails), Instant.now());
         try {
             book.setTitle(bookDetails.getTitle());
             book.setPublicationDate(bookDetails.getPublicationDate());
-            book.setAuthor(bookDetails.getAuthor());
-            book.setPublisher(bookDetails.getPublisher());
-            return bookRepository.save(book);
+            // Reassigning makes association management load the old owner's books, so skip unchanged references
+            if (book.getAuthor() == null || bookDetails.getAuthor() == null
+                    || !Objects.equals(book.getAuthor().getId(), bookDetails.getAuthor().getId())) {
+                book.setAuthor(bookDetails.getAuthor());
+            }
+            if (book.getPublisher() == null || bookDetails.getPublisher() == null
+                    || !Objects.equals(book.getPublisher().getId(), bookDetails.getPublisher().getId())) {
+                book.setPublisher(bookDetails.getPublisher());
+            }
+            Book savedBook = bookRepository.save(book);
+            publishChange(savedBook, ChangeType.UPDATED);
+            return savedBook;
         } catch (DataIntegrityViolationException ex) {
             throw new DataIntegrityException(BOOK_ALREADY_EXISTS_MESSAGE);
         }
@@ -81,32 +171,111 @@ public class BookServiceImpl implements BookService {
         if (book == null) {
             throw new ResourceNotFoundException(BOOK_NOT_FOUND_MESSAGE + id);
         }
+        Instant now = Instant.now();
+        touchOwners(List.of(book), now);
+        deltaRepository.recordDeleted(EntityType.BOOK, id, now);
         try {
             bookRepository.deleteById(id);
+            publishChange(book, ChangeType.DELETED);
         } catch (DataIntegrityViolationException ex) {
             throw new DataIntegrityException("Cannot delete book because it is associated with other records");
         }
     }
 
+    @Transactional(readOnly = true)
     @Override
     public List<Book> searchBooks(String searchTerm) {
-        if (searchTerm == null || searchTerm.isEmpty()) {
-            throw new InvalidDataException("Search term cannot be empty");
+        String normalizedTerm = SearchKeys.normalize(searchTerm);
+        // Checked after normalizing: a whitespace-only term would otherwise match, and cache, the whole catalog
+        if (normalizedTerm == null || normalizedTerm.isEmpty()) {
+            throw new InvalidDataException(SEARCH_TERM_REQUIRED_MESSAGE);
         }
-        return bookRepository.findAll().stream()
-                .filter(book -> (book.getTitle() != null && book.getTitle().toLowerCase().contains(searchTerm.toLowerCase())) ||
-                                (book.getAuthor() != null && book.getAuthor().getName() != null && book.getAuthor().getName().toLowerCase().contains(searchTerm.toLowerCase())) ||
-                                (book.getPublisher() != null && book.getPublisher().getName() != null && book.getPublisher().getName().toLowerCase().contains(searchTerm.toLowerCase())))
+        Optional<List<Book>> cached = searchResultCache.get(normalizedTerm).flatMap(this::hydrate);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        long version = searchResultCache.currentVersion();
+        List<Book> matches = bookRepository.findAll().stream()
+                .filter(book -> (book.getTitleKey() != null && book.getTitleKey().contains(normalizedTerm)) ||
+                                (book.getAuthor() != null && book.getAuthor().getNameKey() != null && book.getAuthor().getNameKey().contains(normalizedTerm)) ||
+                                (book.getPublisher() != null && book.getPublisher().getNameKey() != null && book.getPublisher().getNameKey().contains(normalizedTerm)))
                 .toList();
+        searchResultCache.put(normalizedTerm, version, matches.stream().map(Book::getId).toList());
+        return matches;
     }
 
+    @Transactional(readOnly = true)
     @Override
-    public List<Book> sortBooksByTitle() {
-        return bookRepository.findAll().stream()
-                .sorted((b1, b2) -> b1.getTitle().compareTo(b2.getTitle()))
+    public List<BookSearchResult> rankedSearch(String searchTerm, int limit) {
+        if (searchTerm == null || searchTerm.isBlank()) {
+            throw new InvalidDataException(SEARCH_TERM_REQUIRED_MESSAGE);
+        }
+        if (limit <= 0) {
+            throw new InvalidDataException(LIMIT_INVALID_MESSAGE);
+        }
+        List<BookSearchHit> hits = searchEngine.search(searchTerm, limit);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Book> booksById = bookRepository.findAllById(hits.stream().map(BookSearchHit::bookId).toList())
+                .stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        return hits.stream()
+                .filter(hit -> booksById.containsKey(hit.bookId()))
+                .map(hit -> new BookSearchResult(booksById.get(hit.bookId()), hit.score()))
                 .toList();
     }
 
+    private List<Book> topBooks(Ordering ordering, int limit) {
+        if (limit <= 0) {
+            throw new InvalidDataException(LIMIT_INVALID_MESSAGE);
+        }
+        Optional<List<Book>> cached = topBooksCache.topIds(ordering, limit).flatMap(this::hydrate);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        long version = topBooksCache.currentVersion();
+        Limit rows = Limit.of(Math.max(limit, topBooksCache.capacity()));
+        List<Book> books = ordering == Ordering.LATEST
+                ? bookRepository.findAllByOrderByPublicationDateDescIdDesc(rows)
+                : bookRepository.findAllByOrderByTitleKeyAscIdAsc(rows);
+        if (limit <= topBooksCache.capacity()) {
+            topBooksCache.load(ordering, version, books);
+        }
+        return books.size() > limit ? books.subList(0, limit) : books;
+    }
+
+    private Optional<List<Book>> hydrate(List<Long> bookIds) {
+        if (bookIds.isEmpty()) {
+            return Optional.of(List.of());
+        }
+        Map<Long, Book> booksById = bookRepository.findAllById(bookIds).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        if (booksById.size() != bookIds.size()) {
+            return Optional.empty();
+        }
+        return Optional.of(bookIds.stream().map(booksById::get).toList());
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<Book> sortBooksByTitle() {
+        return bookRepository.findAllByOrderByTitleKeyAscIdAsc(Limit.unlimited());
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<Book> sortBooksByTitle(int limit) {
+        return topBooks(Ordering.TITLE, limit);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<Book> findLatestBooks(int limit) {
+        return topBooks(Ordering.LATEST, limit);
+    }
+
+    @Transactional(readOnly = true)
     @Override
     public List<Book> sortBooksByPublicationDate() {
         return bookRepository.findAll().stream()
@@ -114,12 +283,72 @@ public class BookServiceImpl implements BookService {
                 .toList(); 
     }
 
+    @Override
+    public List<BookView> pageBooksByTitle(String from, Long afterId, boolean descending, int limit) {
+        if (limit <= 0) {
+            throw new InvalidDataException(LIMIT_INVALID_MESSAGE);
+        }
+        return navigationIndex.pageByTitle(from, afterId, descending, limit)
+                .orElseThrow(() -> new ResourceNotFoundException(BOOK_NOT_FOUND_MESSAGE + afterId));
+    }
+
+    @Override
+    public List<BookView> pageBooksByPublicationDate(LocalDate from, Long afterId, boolean descending, int limit) {
+        if (limit <= 0) {
+            throw new InvalidDataException(LIMIT_INVALID_MESSAGE);
+        }
+        return navigationIndex.pageByPublicationDate(from, afterId, descending, limit)
+                .orElseThrow(() -> new ResourceNotFoundException(BOOK_NOT_FOUND_MESSAGE + afterId));
+    }
+
+    @Transactional(readOnly = true)
     @Override
     public List<String> generateAuthorReport() {
-        return bookRepository.findAll().stream()
-                .collect(Collectors.groupingBy(book -> book.getAuthor().getName(), Collectors.counting()))
-                .entrySet().stream()
+        Optional<CatalogSnapshot> snapshot = catalogSnapshotCache.current();
+        if (snapshot.isPresent()) {
+            return authorReport(snapshot.get());
+        }
+        return reportLines(bookRepository.findAll().stream()
+                .collect(Collectors.groupingBy(book -> book.getAuthor().getName(), TreeMap::new,
+                        Collectors.counting())));
+    }
+
+    // Authors with at least one book; counting touches only the snapshot's author-code column
+    private static List<String> authorReport(CatalogSnapshot snapshot) {
+        int[] counts = snapshot.countBooksByAuthor();
+        Map<String, Long> booksByAuthor = new TreeMap<>();
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] > 0) {
+                booksByAuthor.merge(snapshot.authorName(code), (long) counts[code], Long::sum);
+            }
+        }
+        return reportLines(booksByAuthor);
+    }
+
+    // Both report paths group by author name and list the names in order
+    private static List<String> reportLines(Map<String, Long> booksByAuthor) {
+        return booksByAuthor.entrySet().stream()
                 .map(entry -> entry.getKey() + ": " + entry.getValue() + " books")
-                .toList(); 
+                .toList();
+    }
+
+    // Only titles the filter cannot rule out cost an indexed lookup before the insert
+    private void rejectDuplicateTitle(String title) {
+        if (catalogNameFilter.mightExist(EntityType.BOOK, title) && bookRepository.existsByTitle(title)) {
+            throw new DataIntegrityException(BOOK_ALREADY_EXISTS_MESSAGE);
+        }
+    }
+
+    private void touchOwners(List<Book> books, Instant at) {
+        deltaRepository.touchOwners(
+                books.stream().map(Book::getAuthor).filter(Objects::nonNull).map(Author::getId)
+                        .filter(Objects::nonNull).collect(Collectors.toSet()),
+                books.stream().map(Book::getPublisher).filter(Objects::nonNull).map(Publisher::getId)
+                        .filter(Objects::nonNull).collect(Collectors.toSet()),
+                at);
+    }
+
+    private void publishChange(Book book, ChangeType changeType) {
+        eventPublisher.publishEvent(new CatalogChangedEvent(EntityType.BOOK, book.getId(), changeType, book));
     }
 }
\ No newline at end of file
@@ -0,0 +1,257 @@
+package com.example.onlinelibrary.service.impl;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.onlinelibrary.dto.CatalogChange;
+import com.example.onlinelibrary.dto.ChangePage;
+import com.example.onlinelibrary.event.CatalogChangedEvent;
+import com.example.onlinelibrary.exception.InvalidDataException;
+import com.example.onlinelibrary.repository.CatalogChangeRepository;
+import com.example.onlinelibrary.service.ChangeFeedService;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Records every local catalog write in the outbox inside the writing transaction, just before it commits, so a
+ * write and its change entry commit or roll back together. A background thread polls the outbox once every
+ * {@code library.changes.stream.poll-interval} from the oldest stream subscriber's cursor, which also picks up writes
+ * committed by other instances, and queues each subscriber the entries it has not seen yet; the same thread deletes
+ * entries older than {@code library.changes.retention} every {@code library.changes.compaction-interval}.
+ * <p>
+ * Events are written to the clients from a separate sender pool, one drain at a time per subscriber, so a slow client
+ * delays neither the others nor the poll. Each subscriber queues at most {@code library.changes.stream.buffer-size}
+ * entries; one whose queue is full and that has not taken an event for a whole poll interval is disconnected, and
+ * its {@code EventSource} reconnects from its {@code Last-Event-ID}.
+ */
+@Service
+public class ChangeFeedServiceImpl implements ChangeFeedService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeedServiceImpl.class);
+
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int STREAM_BATCH_SIZE = 500;
+    private static final String LIMIT_INVALID_MESSAGE = "Limit must be greater than zero";
+
+    private final CatalogChangeRepository changeRepository;
+    private final Duration retention;
+    private final Duration streamTimeout;
+    private final long stallNanos;
+    private final int bufferSize;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService feed = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "change-feed");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService senders = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "change-feed-send");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ChangeFeedServiceImpl(CatalogChangeRepository changeRepository,
+                                 @Value("${library.changes.retention:7d}") Duration retention,
+                                 @Value("${library.changes.compaction-interval:1h}") Duration compactionInterval,
+                                 @Value("${library.changes.stream.poll-interval:1s}") Duration pollInterval,
+                                 @Value("${library.changes.stream.timeout:30m}") Duration streamTimeout,
+                                 @Value("${library.changes.stream.buffer-size:1000}") int bufferSize) {
+        this.changeRepository = changeRepository;
+        this.retention = retention;
+        this.streamTimeout = streamTimeout;
+        this.stallNanos = pollInterval.toNanos();
+        this.bufferSize = bufferSize;
+        feed.scheduleWithFixedDelay(this::poll,
+                pollInterval.toMillis(), pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        feed.scheduleWithFixedDelay(this::compact,
+                compactionInterval.toMillis(), compactionInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void record(CatalogChangedEvent event) {
+        if (!event.remote()) {
+            changeRepository.append(event.entityType(), event.entityId(), event.changeType(), Instant.now());
+        }
+    }
+
+    @Override
+    public Optional<ChangePage> changesSince(long since, int limit) {
+        if (limit <= 0) {
+            throw new InvalidDataException(LIMIT_INVALID_MESSAGE);
+        }
+        if (since < changeRepository.compactedThrough()) {
+            return Optional.empty();
+        }
+        List<CatalogChange> changes = changeRepository.findSince(since, Math.min(limit, MAX_PAGE_SIZE));
+        long next = changes.isEmpty() ? since : changes.get(changes.size() - 1).seq();
+        return Optional.of(new ChangePage(changes, next));
+    }
+
+    @Override
+    public Optional<SseEmitter> stream(long since) {
+        if (since < changeRepository.compactedThrough()) {
+            return Optional.empty();
+        }
+        SseEmitter emitter = createEmitter(streamTimeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, since, bufferSize);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        feed.execute(this::poll);
+        return Optional.of(emitter);
+    }
+
+    @Override
+    public long latestSeq() {
+        return changeRepository.latestSeq();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        feed.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    protected SseEmitter createEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    // Runs on the feed thread only: one outbox read per batch however many subscribers there are, and each
+    // subscriber's queued cursor is only touched here, so every change is queued once and in order
+    private void poll() {
+        try {
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.queue.remainingCapacity() == 0
+                        && System.nanoTime() - subscriber.progressNanos > stallNanos) {
+                    log.warn("Disconnecting a change stream client that stopped reading at seq {}", subscriber.queued);
+                    drop(subscriber);
+                }
+            }
+            if (subscribers.isEmpty()) {
+                return;
+            }
+            long from = subscribers.stream().mapToLong(subscriber -> subscriber.queued).min().getAsLong();
+            List<CatalogChange> changes;
+            boolean queued;
+            do {
+                changes = changeRepository.findSince(from, STREAM_BATCH_SIZE);
+                queued = false;
+                for (Subscriber subscriber : subscribers) {
+                    queued |= enqueue(subscriber, changes);
+                }
+                if (!changes.isEmpty()) {
+                    from = changes.get(changes.size() - 1).seq();
+                }
+            } while (changes.size() == STREAM_BATCH_SIZE && queued);
+        } catch (RuntimeException ex) {
+            log.warn("Reading the change feed failed", ex);
+        }
+    }
+
+    // Queues what fits; the rest is read again on the next poll, from the subscriber's queued cursor
+    private boolean enqueue(Subscriber subscriber, List<CatalogChange> changes) {
+        boolean queued = false;
+        for (CatalogChange change : changes) {
+            if (change.seq() <= subscriber.queued) {
+                continue;
+            }
+            if (subscriber.queue.isEmpty()) {
+                // An idle client has not fallen behind; its stall clock starts with this change
+                subscriber.progressNanos = System.nanoTime();
+            }
+            if (!subscriber.queue.offer(change)) {
+                break;
+            }
+            subscriber.queued = change.seq();
+            queued = true;
+        }
+        if (queued) {
+            scheduleDrain(subscriber);
+        }
+        return queued;
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            CatalogChange change;
+            while ((change = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(SseEmitter.event()
+                        .id(String.valueOf(change.seq()))
+                        .name("change")
+                        .data(change, MediaType.APPLICATION_JSON));
+                subscriber.progressNanos = System.nanoTime();
+            }
+        } catch (IOException | IllegalStateException ex) {
+            // Client gone or emitter already completed
+            subscribers.remove(subscriber);
+            subscriber.queue.clear();
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // Catches a change queued after the queue read empty but before the flag was cleared
+        if (!subscriber.queue.isEmpty()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void drop(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        subscriber.queue.clear();
+        subscriber.emitter.complete();
+    }
+
+    private void compact() {
+        try {
+            int removed = changeRepository.compactBefore(Instant.now().minus(retention));
+            if (removed > 0) {
+                log.info("Compacted {} change feed entries", removed);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Change feed compaction failed", ex);
+        }
+    }
+
+    private static final class Subscriber {
+
+        final SseEmitter emitter;
+        final BlockingQueue<CatalogChange> queue;
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile long progressNanos = System.nanoTime();
+        long queued;
+
+        Subscriber(SseEmitter emitter, long cursor, int bufferSize) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+            this.queued = cursor;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.onlinelibrary.service.impl;
+
+import com.example.onlinelibrary.dto.BookView;
+import com.example.onlinelibrary.dto.NormalizedBookList;
+import com.example.onlinelibrary.entity.Book;
+import com.example.onlinelibrary.search.BookSearchResult;
+import com.example.onlinelibrary.service.BookService;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Front for {@link BookServiceImpl} that coalesces identical concurrent reads; writes go straight through.
+ */
+@Service
+@Primary
+public class CoalescingBookService implements BookService {
+
+    private final BookService delegate;
+    private final RequestCoalescer coalescer;
+
+    public CoalescingBookService(BookServiceImpl delegate, RequestCoalescer coalescer) {
+        this.delegate = delegate;
+        this.coalescer = coalescer;
+    }
+
+    @Override
+    public Book createBook(Book book) {
+        return delegate.createBook(book);
+    }
+
+    @Override
+    public List<Book> getAllBooks() {
+        return coalescer.execute("getAllBooks", Collections.emptyList(), delegate::getAllBooks);
+    }
+
+    @Override
+    public NormalizedBookList getAllBooksNormalized() {
+        return coalescer.execute("getAllBooksNormalized", Collections.emptyList(), delegate::getAllBooksNormalized);
+    }
+
+    @Override
+    public Book getBookById(Long id) {
+        return coalescer.execute("getBookById", Collections.singletonList(id), () -> delegate.getBookById(id));
+    }
+
+    @Override
+    public Book updateBook(Long id, Book bookDetails) {
+        return delegate.updateBook(id, bookDetails);
+    }
+
+    @Override
+    public void deleteBook(Long id) {
+        delegate.deleteBook(id);
+    }
+
+    @Override
+    public List<Book> searchBooks(String searchTerm) {
+        return coalescer.execute("searchBooks", Collections.singletonList(searchTerm),
+                () -> delegate.searchBooks(searchTerm));
+    }
+
+    @Override
+    public List<BookSearchResult> rankedSearch(String searchTerm, int limit) {
+        return coalescer.execute("rankedSearch", Arrays.asList(searchTerm, limit),
+                () -> delegate.rankedSearch(searchTerm, limit));
+    }
+
+    @Override
+    public List<Book> sortBooksByTitle() {
+        return coalescer.execute("sortBooksByTitle", Collections.emptyList(), delegate::sortBooksByTitle);
+    }
+
+    @Override
+    public List<Book> sortBooksByTitle(int limit) {
+        return coalescer.execute("sortBooksByTitle", Collections.singletonList(limit),
+                () -> delegate.sortBooksByTitle(limit));
+    }
+
+    @Override
+    public List<Book> findLatestBooks(int limit) {
+        return coalescer.execute("findLatestBooks", Collections.singletonList(limit),
+                () -> delegate.findLatestBooks(limit));
+    }
+
+    @Override
+    public List<Book> sortBooksByPublicationDate() {
+        return coalescer.execute("sortBooksByPublicationDate", Collections.emptyList(),
+                delegate::sortBooksByPublicationDate);
+    }
+
+    // Pages come from the in-memory navigation index, so there is no query worth sharing
+    @Override
+    public List<BookView> pageBooksByTitle(String from, Long afterId, boolean descending, int limit) {
+        return delegate.pageBooksByTitle(from, afterId, descending, limit);
+    }
+
+    @Override
+    public List<BookView> pageBooksByPublicationDate(LocalDate from, Long afterId, boolean descending, int limit) {
+        return delegate.pageBooksByPublicationDate(from, afterId, descending, limit);
+    }
+
+    @Override
+    public List<String> generateAuthorReport() {
+        return coalescer.execute("generateAuthorReport", Collections.emptyList(), delegate::generateAuthorReport);
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.onlinelibrary.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.onlinelibrary.dto.ModifiedPage;
+import com.example.onlinelibrary.entity.Author;
+import com.example.onlinelibrary.entity.Book;
+import com.example.onlinelibrary.entity.Publisher;
+import com.example.onlinelibrary.event.CatalogChangedEvent.EntityType;
+import com.example.onlinelibrary.exception.InvalidDataException;
+import com.example.onlinelibrary.repository.AuthorRepository;
+import com.example.onlinelibrary.repository.BookRepository;
+import com.example.onlinelibrary.repository.CatalogDeltaRepository;
+import com.example.onlinelibrary.repository.PublisherRepository;
+import com.example.onlinelibrary.service.ModifiedSinceService;
+
+/**
+ * Reads stop {@code library.modified-since.settle-time} short of now. A row is stamped when its transaction writes it
+ * but becomes visible only when that transaction commits, possibly on an instance whose clock differs; reading only
+ * up to the settle horizon keeps a late commit from landing behind a cursor already handed out. Each page covers the
+ * half-open span from its cursor to the next one, rows and tombstones alike, so consecutive pages neither repeat nor
+ * skip a change.
+ */
+@Service
+public class ModifiedSinceServiceImpl implements ModifiedSinceService {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final String LIMIT_INVALID_MESSAGE = "Limit must be greater than zero";
+
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final PublisherRepository publisherRepository;
+    private final CatalogDeltaRepository deltaRepository;
+    private final Duration settleTime;
+
+    public ModifiedSinceServiceImpl(BookRepository bookRepository, AuthorRepository authorRepository,
+                                    PublisherRepository publisherRepository, CatalogDeltaRepository deltaRepository,
+                                    @Value("${library.modified-since.settle-time:5s}") Duration settleTime) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.publisherRepository = publisherRepository;
+        this.deltaRepository = deltaRepository;
+        this.settleTime = settleTime;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public ModifiedPage<Book> booksModifiedSince(Instant since, long afterId, int limit) {
+        return page(EntityType.BOOK, since, afterId, limit,
+                (until, size) -> bookRepository.findModifiedSince(since, afterId, until, Limit.of(size)),
+                Book::getUpdatedAt, Book::getId);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public ModifiedPage<Author> authorsModifiedSince(Instant since, long afterId, int limit) {
+        return page(EntityType.AUTHOR, since, afterId, limit,
+                (until, size) -> inIdOrder(
+                        authorRepository.findIdsModifiedSince(since, afterId, until, Limit.of(size)),
+                        authorRepository::findByIdIn, Author::getId),
+                Author::getUpdatedAt, Author::getId);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public ModifiedPage<Publisher> publishersModifiedSince(Instant since, long afterId, int limit) {
+        return page(EntityType.PUBLISHER, since, afterId, limit,
+                (until, size) -> inIdOrder(
+                        publisherRepository.findIdsModifiedSince(since, afterId, until, Limit.of(size)),
+                        publisherRepository::findByIdIn, Publisher::getId),
+                Publisher::getUpdatedAt, Publisher::getId);
+    }
+
+    private <T> ModifiedPage<T> page(EntityType entityType, Instant since, long afterId, int limit,
+                                     BiFunction<Instant, Integer, List<T>> rowsUntil,
+                                     Function<T, Instant> updatedAt, Function<T, Long> id) {
+        if (limit <= 0) {
+            throw new InvalidDataException(LIMIT_INVALID_MESSAGE);
+        }
+        // Cursors carry the precision of the updated_at columns
+        Instant horizon = Instant.now().minus(settleTime).truncatedTo(ChronoUnit.MILLIS);
+        if (!horizon.isAfter(since)) {
+            return new ModifiedPage<>(List.of(), List.of(), since, afterId, false);
+        }
+        int size = Math.min(limit, MAX_PAGE_SIZE);
+        List<T> rows = rowsUntil.apply(horizon, size);
+        boolean more = rows.size() == size;
+        T last = more ? rows.get(rows.size() - 1) : null;
+        Instant next = more ? updatedAt.apply(last) : horizon;
+        List<Long> deletedIds = deltaRepository.findDeleted(entityType, since, next);
+        return new ModifiedPage<>(rows, deletedIds, next, more ? id.apply(last) : 0, more);
+    }
+
+    private static <T> List<T> inIdOrder(List<Long> ids, Function<Collection<Long>, List<T>> load,
+                                         Function<T, Long> id) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Integer> positions = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            positions.put(ids.get(i), i);
+        }
+        return load.apply(ids).stream()
+                .sorted(Comparator.comparing(row -> positions.get(id.apply(row))))
+                .toList();
+    }
+}
@@ -1,36 +1,59 @@
 package com.example.onlinelibrary.service.impl;
 
+import com.example.onlinelibrary.cache.CatalogNameFilter;
 import com.example.onlinelibrary.entity.Publisher;
+import com.example.onlinelibrary.event.CatalogChangedEvent;
+import com.example.onlinelibrary.event.CatalogChangedEvent.ChangeType;
+import com.example.onlinelibrary.event.CatalogChangedEvent.EntityType;
 import com.example.onlinelibrary.exception.DataIntegrityException;
 import com.example.onlinelibrary.exception.ResourceNotFoundException;
+import com.example.onlinelibrary.repository.CatalogChangeRepository;
+import com.example.onlinelibrary.repository.CatalogDeltaRepository;
 import com.example.onlinelibrary.repository.PublisherRepository;
 import com.example.onlinelibrary.service.PublisherService;
 import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Objects;
 
 @Service
 public class PublisherServiceImpl implements PublisherService {
 
     private final PublisherRepository publisherRepository; 
+    private final CatalogNameFilter catalogNameFilter;
+    private final CatalogDeltaRepository deltaRepository;
+    private final CatalogChangeRepository changeRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
    
     private static final String PUBLISHER_NOT_FOUND_MESSAGE = "Publisher not found with id ";
+    private static final String PUBLISHER_ALREADY_EXISTS_MESSAGE = "Publisher with this name already exists";
 
     
-    public PublisherServiceImpl(PublisherRepository publisherRepository) {
+    public PublisherServiceImpl(PublisherRepository publisherRepository, CatalogNameFilter catalogNameFilter,
+                                CatalogDeltaRepository deltaRepository, CatalogChangeRepository changeRepository,
+                                ApplicationEventPublisher eventPublisher) {
         this.publisherRepository = publisherRepository;
+        this.catalogNameFilter = catalogNameFilter;
+        this.deltaRepository = deltaRepository;
+        this.changeRepository = changeRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
     @Transactional
     public Publisher createPublisher(Publisher publisher) {
+        rejectDuplicateName(publisher.getName());
         try {
-            return publisherRepository.save(publisher);
+            Publisher savedPublisher = publisherRepository.save(publisher);
+            publishChange(savedPublisher.getId(), ChangeType.CREATED, savedPublisher);
+            return savedPublisher;
         } catch (DataIntegrityViolationException ex) {
-            throw new DataIntegrityException("Publisher with this name already exists");
+            throw new DataIntegrityException(PUBLISHER_ALREADY_EXISTS_MESSAGE);
         }
     }
 
@@ -41,7 +64,7 @@ public class PublisherServiceImpl implements PublisherService {
 
     @Override
     public Publisher getPublisherById(Long id) {
-        return publisherRepository.findById(id)
+        return publisherRepository.findWithBooksById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(PUBLISHER_NOT_FOUND_MESSAGE + id));
     }
 
@@ -50,12 +73,23 @@ public class PublisherServiceImpl implements PublisherService {
     public Publisher updatePublisher(Long id, Publisher publisherDetails) {
         Publisher publisher = publisherRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(PUBLISHER_NOT_FOUND_MESSAGE + id));
+        if (!Objects.equals(publisher.getName(), publisherDetails.getName())) {
+            rejectDuplicateName(publisherDetails.getName());
+            // Books show the name, and the other side of those books shows them
+            Instant now = Instant.now();
+            deltaRepository.touchBooksOf(EntityType.PUBLISHER, id, now);
+            deltaRepository.touchCounterpartsOf(EntityType.PUBLISHER, id, now);
+        }
         publisher.setName(publisherDetails.getName());
 
         try {
-            return publisherRepository.save(publisher);
+            publisherRepository.save(publisher);
+            // The response shows the books, which the write itself never needed
+            Publisher savedPublisher = publisherRepository.findWithBooksById(id).orElseThrow();
+            publishChange(id, ChangeType.UPDATED, savedPublisher);
+            return savedPublisher;
         } catch (DataIntegrityViolationException ex) {
-            throw new DataIntegrityException("Publisher with this name already exists");
+            throw new DataIntegrityException(PUBLISHER_ALREADY_EXISTS_MESSAGE);
         }
     }
 
@@ -65,6 +99,23 @@ public class PublisherServiceImpl implements PublisherService {
         if (!publisherRepository.existsById(id)) {
             throw new ResourceNotFoundException(PUBLISHER_NOT_FOUND_MESSAGE + id);
         }
+        Instant now = Instant.now();
+        deltaRepository.touchCounterpartsOf(EntityType.PUBLISHER, id, now);
+        deltaRepository.recordBooksDeleted(EntityType.PUBLISHER, id, now);
+        changeRepository.appendBooksDeleted(EntityType.PUBLISHER, id, now);
+        deltaRepository.recordDeleted(EntityType.PUBLISHER, id, now);
         publisherRepository.deleteById(id);
+        publishChange(id, ChangeType.DELETED, null);
+    }
+
+    // Only names the filter cannot rule out cost an indexed lookup before the insert
+    private void rejectDuplicateName(String name) {
+        if (catalogNameFilter.mightExist(EntityType.PUBLISHER, name) && publisherRepository.existsByName(name)) {
+            throw new DataIntegrityException(PUBLISHER_ALREADY_EXISTS_MESSAGE);
+        }
+    }
+
+    private void publishChange(Long id, ChangeType changeType, Publisher publisher) {
+        eventPublisher.publishEvent(new CatalogChangedEvent(EntityType.PUBLISHER, id, changeType, publisher));
     }
 }
\ No newline at end of file
@@ -0,0 +1,94 @@
+package com.example.onlinelibrary.service.impl;
+
+import com.example.onlinelibrary.cache.CatalogVersion;
+import com.example.onlinelibrary.cache.EntityJsonCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent callers asking for the same method and arguments at the same {@link CatalogVersion} share a single
+ * in-flight computation. Keying on the version keeps read-your-writes: a caller that observes a write never joins a
+ * load that started before it. Followers wait at most {@code library.coalescing.max-wait} for the leader before
+ * computing on their own, and are marked as holding entities loaded at the leader's version (see
+ * {@link EntityJsonCache#loadedAt}).
+ */
+@Component
+public class RequestCoalescer {
+
+    private static final String METRIC_NAME = "library.coalescing.calls";
+
+    private final ConcurrentHashMap<CallKey, CompletableFuture<Loaded>> inFlight = new ConcurrentHashMap<>();
+    private final CatalogVersion catalogVersion;
+    private final MeterRegistry meterRegistry;
+    private final Duration maxWait;
+
+    public RequestCoalescer(CatalogVersion catalogVersion, MeterRegistry meterRegistry,
+                            @Value("${library.coalescing.max-wait:2s}") Duration maxWait) {
+        this.catalogVersion = catalogVersion;
+        this.meterRegistry = meterRegistry;
+        this.maxWait = maxWait;
+        meterRegistry.gaugeMapSize("library.coalescing.in-flight", List.of(), inFlight);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String method, List<?> args, Supplier<T> loader) {
+        long version = catalogVersion.current();
+        CallKey key = new CallKey(method, args, version);
+        CompletableFuture<Loaded> future = new CompletableFuture<>();
+        CompletableFuture<Loaded> existing = inFlight.putIfAbsent(key, future);
+        if (existing == null) {
+            record(method, "leader");
+            try {
+                T result = loader.get();
+                future.complete(new Loaded(result, version));
+                return result;
+            } catch (RuntimeException | Error ex) {
+                future.completeExceptionally(ex);
+                throw ex;
+            } finally {
+                inFlight.remove(key, future);
+            }
+        }
+
+        record(method, "deduplicated");
+        try {
+            Loaded loaded = existing.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+            EntityJsonCache.loadedAt(loaded.version());
+            return (T) loaded.result();
+        } catch (TimeoutException ex) {
+            record(method, "timeout");
+            return loader.get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for in-flight " + method, ex);
+        }
+    }
+
+    private void record(String method, String outcome) {
+        meterRegistry.counter(METRIC_NAME, "method", method, "outcome", outcome).increment();
+    }
+
+    private record CallKey(String method, List<?> args, long version) {
+    }
+
+    private record Loaded(Object result, long version) {
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.onlinelibrary.service.impl;
+
+import com.example.onlinelibrary.exception.InvalidDataException;
+import com.example.onlinelibrary.repository.SparseFieldRepository;
+import com.example.onlinelibrary.repository.SparseFieldRepository.BookOrder;
+import com.example.onlinelibrary.search.SearchKeys;
+import com.example.onlinelibrary.service.SparseFieldService;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@Transactional(readOnly = true)
+public class SparseFieldServiceImpl implements SparseFieldService {
+
+    private static final Set<String> BOOK_FIELDS =
+            Set.of("id", "title", "publicationDate", "authorId", "publisherId", "author", "publisher");
+    private static final Set<String> NAMED_FIELDS = Set.of("id", "name");
+
+    private final SparseFieldRepository sparseFieldRepository;
+
+    public SparseFieldServiceImpl(SparseFieldRepository sparseFieldRepository) {
+        this.sparseFieldRepository = sparseFieldRepository;
+    }
+
+    @Override
+    public List<Map<String, Object>> getAllBooks(String fields) {
+        return sparseFieldRepository.findBooks(parse(fields, BOOK_FIELDS), null, BookOrder.NONE);
+    }
+
+    @Override
+    public List<Map<String, Object>> searchBooks(String searchTerm, String fields) {
+        if (searchTerm == null || SearchKeys.normalize(searchTerm).isEmpty()) {
+            throw new InvalidDataException("Search term cannot be empty");
+        }
+        return sparseFieldRepository.findBooks(parse(fields, BOOK_FIELDS), searchTerm, BookOrder.NONE);
+    }
+
+    @Override
+    public List<Map<String, Object>> sortBooksByTitle(String fields) {
+        return sparseFieldRepository.findBooks(parse(fields, BOOK_FIELDS), null, BookOrder.TITLE);
+    }
+
+    @Override
+    public List<Map<String, Object>> sortBooksByTitle(String fields, int limit) {
+        if (limit <= 0) {
+            throw new InvalidDataException("Limit must be greater than zero");
+        }
+        return sparseFieldRepository.findBooks(parse(fields, BOOK_FIELDS), null, BookOrder.TITLE, Limit.of(limit));
+    }
+
+    @Override
+    public List<Map<String, Object>> sortBooksByPublicationDate(String fields) {
+        return sparseFieldRepository.findBooks(parse(fields, BOOK_FIELDS), null, BookOrder.PUBLICATION_DATE);
+    }
+
+    @Override
+    public List<Map<String, Object>> getAllAuthors(String fields) {
+        return sparseFieldRepository.findAuthors(parse(fields, NAMED_FIELDS));
+    }
+
+    @Override
+    public List<Map<String, Object>> getAllPublishers(String fields) {
+        return sparseFieldRepository.findPublishers(parse(fields, NAMED_FIELDS));
+    }
+
+    private static List<String> parse(String fields, Set<String> allowed) {
+        List<String> requested = new ArrayList<>();
+        if (fields != null) {
+            for (String field : fields.split(",")) {
+                String trimmed = field.trim();
+                if (trimmed.isEmpty() || requested.contains(trimmed)) {
+                    continue;
+                }
+                if (!allowed.contains(trimmed)) {
+                    throw new InvalidDataException("Unknown field: " + trimmed);
+                }
+                requested.add(trimmed);
+            }
+        }
+        if (requested.isEmpty()) {
+            throw new InvalidDataException("At least one field is required");
+        }
+        return requested;
+    }
+}
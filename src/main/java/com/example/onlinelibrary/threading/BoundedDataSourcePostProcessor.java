@@ -0,0 +1,40 @@
+package com.example.onlinelibrary.threading;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * In virtual-thread mode, wraps the application {@link DataSource} in a {@link BoundedDataSource} with
+ * {@code library.db.max-concurrency} permits, which defaults to the Hikari pool size. A caller waits at most
+ * {@code library.db.acquire-timeout} for a permit; that budget is separate from and shorter than Hikari's
+ * {@code connection-timeout}, since a permit holder normally finds an idle connection at once and the Hikari wait
+ * then only covers opening a new one.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class BoundedDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final int maxConcurrency;
+    private final Duration acquireTimeout;
+
+    public BoundedDataSourcePostProcessor(
+            @Value("${library.db.max-concurrency:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrency,
+            @Value("${library.db.acquire-timeout:5s}") Duration acquireTimeout) {
+        this.maxConcurrency = maxConcurrency;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource) || bean instanceof BoundedDataSource) {
+            return bean;
+        }
+        return new BoundedDataSource(dataSource, maxConcurrency, acquireTimeout);
+    }
+}
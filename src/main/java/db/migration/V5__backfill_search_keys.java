@@ -0,0 +1,51 @@
+package db.migration;
+
+import com.example.onlinelibrary.search.SearchKeys;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Fills the search key columns added by V4 for rows written before them. NFKD folding cannot be expressed
+ * portably in SQL, so the keys are computed with {@link SearchKeys} exactly as the entities compute them.
+ */
+public class V5__backfill_search_keys extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 500;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        backfill(connection, "books", "title", "title_key");
+        backfill(connection, "authors", "name", "name_key");
+        backfill(connection, "publishers", "name", "name_key");
+    }
+
+    private static void backfill(Connection connection, String table, String column, String keyColumn)
+            throws SQLException {
+        try (Statement select = connection.createStatement();
+             ResultSet rows = select.executeQuery("select id, " + column + " from " + table
+                     + " where " + keyColumn + " is null and " + column + " is not null");
+             PreparedStatement update = connection.prepareStatement(
+                     "update " + table + " set " + keyColumn + " = ? where id = ?")) {
+            int pending = 0;
+            while (rows.next()) {
+                update.setString(1, SearchKeys.normalize(rows.getString(2)));
+                update.setLong(2, rows.getLong(1));
+                update.addBatch();
+                if (++pending == BATCH_SIZE) {
+                    update.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                update.executeBatch();
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Orders {@code books.title_key} by code point on MySQL, as {@link String#compareTo} and H2 do. The key is already
+ * case- and accent-folded by {@code SearchKeys}, and the default {@code utf8mb4_0900_ai_ci} collation would fold it
+ * again with different rules, so a page sorted by the database and one patched in memory could disagree.
+ */
+public class V9__binary_collation_for_title_key extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        if (!connection.getMetaData().getDatabaseProductName().equalsIgnoreCase("MySQL")) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("alter table books modify title_key varchar(512) character set utf8mb4 collate utf8mb4_bin");
+        }
+    }
+}
@@ -0,0 +1,25 @@
+-- Catalog tables as previously created by ddl-auto=update. IF NOT EXISTS lets databases that predate
+-- migrations (baselined at version 0) pick up the later versions without touching their existing tables.
+
+create table if not exists authors (
+    id bigint not null auto_increment,
+    name varchar(255),
+    primary key (id)
+);
+
+create table if not exists publishers (
+    id bigint not null auto_increment,
+    name varchar(255),
+    primary key (id)
+);
+
+create table if not exists books (
+    id bigint not null auto_increment,
+    title varchar(255),
+    publication_date datetime(6),
+    author_id bigint not null,
+    publisher_id bigint not null,
+    primary key (id),
+    constraint fk_books_author foreign key (author_id) references authors (id),
+    constraint fk_books_publisher foreign key (publisher_id) references publishers (id)
+);
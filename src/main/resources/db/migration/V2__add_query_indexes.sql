@@ -0,0 +1,10 @@
+-- Title and publication-date orderings (sort and top-k endpoints), author and publisher lookups (entity graphs,
+-- index updates), and name uniqueness that createAuthor/createPublisher already report as "already exists".
+
+create index idx_books_title on books (title);
+create index idx_books_publication_date on books (publication_date);
+create index idx_books_author_id on books (author_id);
+create index idx_books_publisher_id on books (publisher_id);
+
+create unique index ux_authors_name on authors (name);
+create unique index ux_publishers_name on publishers (name);
@@ -0,0 +1,4 @@
+-- Book titles are unique, as createBook/updateBook already assume; the unique index also serves title ordering.
+
+drop index idx_books_title on books;
+create unique index ux_books_title on books (title);
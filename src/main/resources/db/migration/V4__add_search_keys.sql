@@ -0,0 +1,11 @@
+-- Normalized shadow columns for search (see SearchKeys): written by the entities on every insert and update,
+-- backfilled for existing rows by V5. The indexes serve prefix lookups and let contains-searches scan the narrow
+-- key index instead of the table.
+
+alter table books add column title_key varchar(512);
+alter table authors add column name_key varchar(512);
+alter table publishers add column name_key varchar(512);
+
+create index idx_books_title_key on books (title_key);
+create index idx_authors_name_key on authors (name_key);
+create index idx_publishers_name_key on publishers (name_key);
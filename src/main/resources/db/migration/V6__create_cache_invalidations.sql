@@ -0,0 +1,15 @@
+-- Cross-instance cache invalidation log (see JdbcInvalidationTransport): every instance appends the catalog writes it
+-- commits and polls for the ones appended by the others. Rows older than library.invalidation.jdbc.retention are
+-- deleted by the pollers.
+
+create table cache_invalidations (
+    id bigint not null auto_increment,
+    node_id varchar(64) not null,
+    entity_type varchar(16) not null,
+    entity_id bigint not null,
+    change_type varchar(16) not null,
+    published_at timestamp(3) not null,
+    primary key (id)
+);
+
+create index idx_cache_invalidations_published_at on cache_invalidations (published_at);
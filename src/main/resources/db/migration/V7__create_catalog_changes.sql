@@ -0,0 +1,24 @@
+-- Transactional outbox behind GET /api/changes. Each catalog write appends one row in its own transaction, numbered
+-- from catalog_change_sequence: bumping the single counter row locks it until commit, so sequence numbers become
+-- visible strictly in order and a consumer reading "seq > since" never skips one that commits later.
+-- compacted_through is the highest sequence removed by compaction; cursors below it can no longer be served.
+
+create table catalog_changes (
+    seq bigint not null,
+    entity_type varchar(16) not null,
+    entity_id bigint not null,
+    change_type varchar(16) not null,
+    changed_at timestamp(3) not null,
+    primary key (seq)
+);
+
+create index idx_catalog_changes_changed_at on catalog_changes (changed_at);
+
+create table catalog_change_sequence (
+    id int not null,
+    last_seq bigint not null,
+    compacted_through bigint not null,
+    primary key (id)
+);
+
+insert into catalog_change_sequence (id, last_seq, compacted_through) values (1, 0, 0);
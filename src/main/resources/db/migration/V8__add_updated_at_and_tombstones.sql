@@ -0,0 +1,22 @@
+-- Delta reads behind GET /api/{books,authors,publishers}?modifiedSince=. updated_at is the last time the row's JSON
+-- changed (including the names and books it embeds from other tables); rows are read in (updated_at, id) order so a
+-- page can end between rows sharing a timestamp. Existing rows start at the migration time.
+-- catalog_tombstones keeps the ids of deleted rows, including books removed with their author or publisher, so a
+-- delta client can drop them.
+
+alter table books add column updated_at timestamp(3) not null default current_timestamp(3);
+alter table authors add column updated_at timestamp(3) not null default current_timestamp(3);
+alter table publishers add column updated_at timestamp(3) not null default current_timestamp(3);
+
+create index idx_books_updated_at on books (updated_at, id);
+create index idx_authors_updated_at on authors (updated_at, id);
+create index idx_publishers_updated_at on publishers (updated_at, id);
+
+create table catalog_tombstones (
+    entity_type varchar(16) not null,
+    entity_id bigint not null,
+    deleted_at timestamp(3) not null,
+    primary key (entity_type, entity_id)
+);
+
+create index idx_catalog_tombstones_deleted_at on catalog_tombstones (entity_type, deleted_at, entity_id);
@@ -0,0 +1,200 @@
+package com.example.onlinelibrary.reactive;
+
+import com.example.onlinelibrary.dto.BookView;
+import com.example.onlinelibrary.exception.InvalidDataException;
+import com.example.onlinelibrary.reactive.repository.ReactiveCatalogRepository;
+import com.example.onlinelibrary.reactive.service.ReactiveCatalogService;
+import com.example.onlinelibrary.search.SearchKeys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = ReactiveLibraryApplication.class,
+		properties = {"spring.main.web-application-type=reactive", "spring.config.name=reactive"})
+@AutoConfigureWebTestClient
+class ReactiveReadEndpointsTest {
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@Autowired
+	private DatabaseClient databaseClient;
+
+	@Autowired
+	private ReactiveCatalogRepository catalogRepository;
+
+	@Autowired
+	private ReactiveCatalogService catalogService;
+
+	@BeforeEach
+	void setUp() {
+		Flux.concat(
+				sql("delete from books"),
+				sql("delete from authors"),
+				sql("delete from publishers"),
+				insertOwner("authors", 1, "Ursula Le Guin"),
+				insertOwner("authors", 2, "Stanislaw Lem"),
+				insertOwner("publishers", 1, "Ace"),
+				insertBook(1, "The Dispossessed", LocalDateTime.of(1974, 5, 1, 0, 0), 1, 1),
+				insertBook(2, "Solaris", LocalDateTime.of(1961, 1, 1, 0, 0), 2, 1),
+				insertBook(3, "A Wizard of Earthsea", LocalDateTime.of(1968, 11, 1, 0, 0), 1, 1))
+				.blockLast();
+	}
+
+	@Test
+	void getAllBooks_ShouldReturnBooksWithAuthorAndPublisher() {
+		webTestClient.get().uri("/api/books").accept(MediaType.APPLICATION_JSON)
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.length()").isEqualTo(3)
+				.jsonPath("$[?(@.id == 2)].title").isEqualTo("Solaris")
+				.jsonPath("$[?(@.id == 2)].author.name").isEqualTo("Stanislaw Lem")
+				.jsonPath("$[?(@.id == 2)].publisher.name").isEqualTo("Ace");
+	}
+
+	@Test
+	void getAllBooks_Ndjson_ShouldStreamOneBookPerLine() {
+		List<BookView> books = webTestClient.get().uri("/api/books/sort/title").accept(MediaType.APPLICATION_NDJSON)
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+				.expectBodyList(BookView.class)
+				.returnResult()
+				.getResponseBody();
+
+		assertEquals(List.of("A Wizard of Earthsea", "Solaris", "The Dispossessed"),
+				books.stream().map(BookView::title).toList());
+	}
+
+	@Test
+	void findAllBooksOrderByTitle_ShouldOrderByTitleKeyThenId() {
+		insertBook(4, "apple", LocalDateTime.of(2000, 1, 1, 0, 0), 1, 1).blockLast();
+
+		StepVerifier.create(catalogRepository.findAllBooksOrderByTitle().map(BookView::title))
+				.expectNext("A Wizard of Earthsea", "apple", "Solaris", "The Dispossessed")
+				.verifyComplete();
+	}
+
+	@Test
+	void getBookById_UnknownId_ShouldReturnNotFound() {
+		webTestClient.get().uri("/api/books/99").exchange().expectStatus().isNotFound();
+	}
+
+	@Test
+	void searchBooks_ShouldMatchAuthorNames() {
+		webTestClient.get().uri("/api/books/search?searchTerm=le guin")
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.length()").isEqualTo(2);
+	}
+
+	@Test
+	void searchBooks_WhitespaceTerm_ShouldBeRejected() {
+		StepVerifier.create(catalogService.searchBooks(" \t "))
+				.expectError(InvalidDataException.class)
+				.verify();
+	}
+
+	@Test
+	void findLatestBooks_ShouldOrderByPublicationDateDescending() {
+		webTestClient.get().uri("/api/books/latest?limit=2")
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$[0].title").isEqualTo("The Dispossessed")
+				.jsonPath("$[1].title").isEqualTo("A Wizard of Earthsea")
+				.jsonPath("$.length()").isEqualTo(2);
+	}
+
+	@Test
+	void generateAuthorReport_ShouldReturnJsonArray() {
+		webTestClient.get().uri("/api/books/report")
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$[0]").isEqualTo("Stanislaw Lem: 1 books")
+				.jsonPath("$[1]").isEqualTo("Ursula Le Guin: 2 books");
+	}
+
+	@Test
+	void getAuthorById_ShouldEmbedBooks() {
+		webTestClient.get().uri("/api/authors/1")
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.name").isEqualTo("Ursula Le Guin")
+				.jsonPath("$.books.length()").isEqualTo(2)
+				.jsonPath("$.books[0].author.name").isEqualTo("Ursula Le Guin")
+				.jsonPath("$.books[0].publisher.name").isEqualTo("Ace");
+	}
+
+	@Test
+	void getAllPublishers_ShouldFoldJoinRowsPerPublisher() {
+		webTestClient.get().uri("/api/publishers")
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.length()").isEqualTo(1)
+				.jsonPath("$[0].books.length()").isEqualTo(3);
+	}
+
+	@Test
+	void getAllAuthors_ShouldIncludeAuthorsWithoutBooks() {
+		insertOwner("authors", 3, "Octavia Butler").blockLast();
+
+		webTestClient.get().uri("/api/authors")
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.length()").isEqualTo(3)
+				.jsonPath("$[2].books.length()").isEqualTo(0);
+	}
+
+	@Test
+	void findAllBooks_ShouldHonourDemand() {
+		StepVerifier.create(catalogRepository.findAllBooks(), 1)
+				.expectNextCount(1)
+				.thenRequest(2)
+				.expectNextCount(2)
+				.verifyComplete();
+	}
+
+	private Flux<Long> sql(String sql) {
+		return databaseClient.sql(sql).fetch().rowsUpdated().flux();
+	}
+
+	private Flux<Long> insertOwner(String table, long id, String name) {
+		return databaseClient.sql("insert into " + table + " (id, name, name_key) values (:id, :name, :key)")
+				.bind("id", id)
+				.bind("name", name)
+				.bind("key", SearchKeys.normalize(name))
+				.fetch().rowsUpdated().flux();
+	}
+
+	private Flux<Long> insertBook(long id, String title, LocalDateTime publicationDate, long authorId,
+								  long publisherId) {
+		return databaseClient.sql("insert into books (id, title, title_key, publication_date, author_id, publisher_id) "
+						+ "values (:id, :title, :key, :date, :authorId, :publisherId)")
+				.bind("id", id)
+				.bind("title", title)
+				.bind("key", SearchKeys.normalize(title))
+				.bind("date", publicationDate)
+				.bind("authorId", authorId)
+				.bind("publisherId", publisherId)
+				.fetch().rowsUpdated().flux();
+	}
+}
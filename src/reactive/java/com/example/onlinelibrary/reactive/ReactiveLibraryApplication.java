@@ -0,0 +1,29 @@
+package com.example.onlinelibrary.reactive;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+/**
+ * Read-only WebFlux deployment of the catalog over R2DBC, built with {@code -Preactive}. It scans only this package
+ * and reads {@code reactive.properties}, so none of the servlet application's beans, JPA or JDBC pool are created;
+ * schema migrations stay with the servlet deployment. Every bean in this package is conditional on a reactive web
+ * application, which keeps the servlet application's component scan from picking them up.
+ */
+@SpringBootApplication(exclude = {DataSourceAutoConfiguration.class,
+        DataSourceTransactionManagerAutoConfiguration.class, HibernateJpaAutoConfiguration.class})
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveLibraryApplication {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveLibraryApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .properties("spring.config.name=reactive")
+                .run(args);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.onlinelibrary.reactive.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.onlinelibrary.dto.AuthorView;
+import com.example.onlinelibrary.reactive.service.ReactiveCatalogService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read endpoints of {@code AuthorController}.
+ */
+@RestController
+@RequestMapping(value = "/api/authors", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveAuthorController {
+
+    private final ReactiveCatalogService catalogService;
+
+    public ReactiveAuthorController(ReactiveCatalogService catalogService) {
+        this.catalogService = catalogService;
+    }
+
+    @GetMapping
+    public Flux<AuthorView> getAllAuthors() {
+        return catalogService.getAllAuthors();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<AuthorView>> getAuthorById(@PathVariable long id) {
+        return catalogService.getAuthorById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.onlinelibrary.reactive.controller;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.onlinelibrary.dto.BookView;
+import com.example.onlinelibrary.reactive.service.ReactiveCatalogService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read endpoints of {@code BookController}. Lists are written as a JSON array element by element, or as
+ * newline-delimited JSON when the client accepts {@code application/x-ndjson}.
+ */
+@RestController
+@RequestMapping(value = "/api/books", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveBookController {
+
+    private final ReactiveCatalogService catalogService;
+
+    public ReactiveBookController(ReactiveCatalogService catalogService) {
+        this.catalogService = catalogService;
+    }
+
+    @GetMapping
+    public Flux<BookView> getAllBooks() {
+        return catalogService.getAllBooks();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<BookView>> getBookById(@PathVariable long id) {
+        return catalogService.getBookById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/search")
+    public Flux<BookView> searchBooks(@RequestParam String searchTerm) {
+        return catalogService.searchBooks(searchTerm);
+    }
+
+    @GetMapping("/sort/title")
+    public Flux<BookView> sortBooksByTitle() {
+        return catalogService.sortBooksByTitle();
+    }
+
+    @GetMapping("/latest")
+    public Flux<BookView> findLatestBooks(@RequestParam(defaultValue = "20") int limit) {
+        return catalogService.findLatestBooks(limit);
+    }
+
+    @GetMapping("/sort/publication-date")
+    public Flux<BookView> sortBooksByPublicationDate() {
+        return catalogService.sortBooksByPublicationDate();
+    }
+
+    // Plain strings in a Flux would be written unquoted, so the (one line per author) report is sent as one list
+    @GetMapping("/report")
+    public Mono<List<String>> generateAuthorReport() {
+        return catalogService.generateAuthorReport().collectList();
+    }
+}
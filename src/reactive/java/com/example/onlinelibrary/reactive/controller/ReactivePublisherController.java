@@ -0,0 +1,43 @@
+package com.example.onlinelibrary.reactive.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.onlinelibrary.dto.PublisherView;
+import com.example.onlinelibrary.reactive.service.ReactiveCatalogService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read endpoints of {@code PublisherController}.
+ */
+@RestController
+@RequestMapping(value = "/api/publishers", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactivePublisherController {
+
+    private final ReactiveCatalogService catalogService;
+
+    public ReactivePublisherController(ReactiveCatalogService catalogService) {
+        this.catalogService = catalogService;
+    }
+
+    @GetMapping
+    public Flux<PublisherView> getAllPublishers() {
+        return catalogService.getAllPublishers();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<PublisherView>> getPublisherById(@PathVariable long id) {
+        return catalogService.getPublisherById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
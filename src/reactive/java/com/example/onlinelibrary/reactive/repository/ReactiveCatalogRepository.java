@@ -0,0 +1,167 @@
+package com.example.onlinelibrary.reactive.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.example.onlinelibrary.dto.AuthorView;
+import com.example.onlinelibrary.dto.BookView;
+import com.example.onlinelibrary.dto.NamedRef;
+import com.example.onlinelibrary.dto.PublisherView;
+import com.example.onlinelibrary.repository.BookJdbcRepository.AuthorBookCount;
+import com.example.onlinelibrary.search.SearchKeys;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The queries of {@code BookJdbcRepository} over R2DBC. Rows are emitted as the driver decodes them and only as fast
+ * as the subscriber requests them. Authors and publishers are read as one join ordered by owner, and consecutive rows
+ * of the same owner are folded into one view, so a full listing holds one owner's books at a time.
+ */
+@Repository
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveCatalogRepository {
+
+    private static final String SELECT_BOOKS = """
+            select b.id, b.title, b.publication_date,
+                   a.id as author_id, a.name as author_name,
+                   p.id as publisher_id, p.name as publisher_name
+            from books b
+            left join authors a on a.id = b.author_id
+            left join publishers p on p.id = b.publisher_id
+            """;
+
+    // %1$s is the owner table, %2$s the books column referencing it
+    private static final String SELECT_OWNERS = """
+            select o.id as owner_id, o.name as owner_name,
+                   b.id, b.title, b.publication_date,
+                   a.id as author_id, a.name as author_name,
+                   p.id as publisher_id, p.name as publisher_name
+            from %1$s o
+            left join books b on b.%2$s = o.id
+            left join authors a on a.id = b.author_id
+            left join publishers p on p.id = b.publisher_id
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveCatalogRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<BookView> findAllBooks() {
+        return databaseClient.sql(SELECT_BOOKS).map(ReactiveCatalogRepository::mapBook).all();
+    }
+
+    public Mono<BookView> findBookById(long id) {
+        return databaseClient.sql(SELECT_BOOKS + "where b.id = :id")
+                .bind("id", id)
+                .map(ReactiveCatalogRepository::mapBook)
+                .one();
+    }
+
+    public Flux<BookView> searchBooks(String searchTerm) {
+        return databaseClient.sql(SELECT_BOOKS + """
+                        where b.title_key like :pattern escape '!'
+                           or a.name_key like :pattern escape '!'
+                           or p.name_key like :pattern escape '!'
+                        """)
+                .bind("pattern", SearchKeys.containsPattern(searchTerm))
+                .map(ReactiveCatalogRepository::mapBook)
+                .all();
+    }
+
+    public Flux<BookView> findAllBooksOrderByTitle() {
+        return databaseClient.sql(SELECT_BOOKS + "order by b.title_key, b.id").map(ReactiveCatalogRepository::mapBook).all();
+    }
+
+    public Flux<BookView> findAllBooksOrderByPublicationDate() {
+        return databaseClient.sql(SELECT_BOOKS + "order by b.publication_date, b.id")
+                .map(ReactiveCatalogRepository::mapBook)
+                .all();
+    }
+
+    public Flux<BookView> findLatestBooks(int limit) {
+        return databaseClient.sql(SELECT_BOOKS + "order by b.publication_date desc, b.id desc limit :limit")
+                .bind("limit", limit)
+                .map(ReactiveCatalogRepository::mapBook)
+                .all();
+    }
+
+    public Flux<AuthorBookCount> countBooksByAuthor() {
+        return databaseClient.sql("""
+                        select a.name, count(*) as books
+                        from books b
+                        join authors a on a.id = b.author_id
+                        group by a.name
+                        order by a.name
+                        """)
+                .map(row -> new AuthorBookCount(row.get("name", String.class), row.get("books", Long.class)))
+                .all();
+    }
+
+    public Flux<AuthorView> findAllAuthors() {
+        return owners("authors", "author_id", "", null)
+                .map(owner -> new AuthorView(owner.id(), owner.name(), owner.books()));
+    }
+
+    public Mono<AuthorView> findAuthorById(long id) {
+        return owners("authors", "author_id", "where o.id = :id ", id)
+                .map(owner -> new AuthorView(owner.id(), owner.name(), owner.books()))
+                .next();
+    }
+
+    public Flux<PublisherView> findAllPublishers() {
+        return owners("publishers", "publisher_id", "", null)
+                .map(owner -> new PublisherView(owner.id(), owner.name(), owner.books()));
+    }
+
+    public Mono<PublisherView> findPublisherById(long id) {
+        return owners("publishers", "publisher_id", "where o.id = :id ", id)
+                .map(owner -> new PublisherView(owner.id(), owner.name(), owner.books()))
+                .next();
+    }
+
+    private Flux<Owner> owners(String table, String column, String where, Long id) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(
+                String.format(SELECT_OWNERS, table, column) + where + "order by o.id, b.id");
+        if (id != null) {
+            spec = spec.bind("id", id);
+        }
+        return spec.map(row -> new OwnerRow(row.get("owner_id", Long.class), row.get("owner_name", String.class),
+                        row.get("id", Long.class) == null ? null : mapBook(row)))
+                .all()
+                .bufferUntilChanged(OwnerRow::ownerId)
+                .map(rows -> new Owner(rows.get(0).ownerId(), rows.get(0).ownerName(),
+                        rows.stream().map(OwnerRow::book).filter(Objects::nonNull).toList()));
+    }
+
+    private static BookView mapBook(Readable row) {
+        LocalDateTime publicationDate = row.get("publication_date", LocalDateTime.class);
+        return new BookView(
+                row.get("id", Long.class),
+                row.get("title", String.class),
+                publicationDate == null ? null : Timestamp.valueOf(publicationDate),
+                reference(row, "author_id", "author_name"),
+                reference(row, "publisher_id", "publisher_name"));
+    }
+
+    private static NamedRef reference(Readable row, String idColumn, String nameColumn) {
+        Long id = row.get(idColumn, Long.class);
+        return id == null ? null : new NamedRef(id, row.get(nameColumn, String.class));
+    }
+
+    private record OwnerRow(Long ownerId, String ownerName, BookView book) {
+    }
+
+    private record Owner(Long id, String name, List<BookView> books) {
+    }
+}
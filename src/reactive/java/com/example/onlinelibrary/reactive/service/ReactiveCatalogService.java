@@ -0,0 +1,27 @@
+package com.example.onlinelibrary.reactive.service;
+
+import com.example.onlinelibrary.dto.AuthorView;
+import com.example.onlinelibrary.dto.BookView;
+import com.example.onlinelibrary.dto.PublisherView;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of the read endpoints of {@code BookService}, {@code AuthorService} and
+ * {@code PublisherService}, returning the same JSON contracts. By-id reads are empty when the id is unknown.
+ */
+public interface ReactiveCatalogService {
+
+    Flux<BookView> getAllBooks();
+    Mono<BookView> getBookById(long id);
+    Flux<BookView> searchBooks(String searchTerm);
+    Flux<BookView> sortBooksByTitle();
+    Flux<BookView> sortBooksByPublicationDate();
+    Flux<BookView> findLatestBooks(int limit);
+    Flux<String> generateAuthorReport();
+    Flux<AuthorView> getAllAuthors();
+    Mono<AuthorView> getAuthorById(long id);
+    Flux<PublisherView> getAllPublishers();
+    Mono<PublisherView> getPublisherById(long id);
+}
@@ -0,0 +1,92 @@
+package com.example.onlinelibrary.reactive.service.impl;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.stereotype.Service;
+
+import com.example.onlinelibrary.dto.AuthorView;
+import com.example.onlinelibrary.dto.BookView;
+import com.example.onlinelibrary.dto.PublisherView;
+import com.example.onlinelibrary.exception.InvalidDataException;
+import com.example.onlinelibrary.reactive.repository.ReactiveCatalogRepository;
+import com.example.onlinelibrary.reactive.service.ReactiveCatalogService;
+import com.example.onlinelibrary.search.SearchKeys;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveCatalogServiceImpl implements ReactiveCatalogService {
+
+    private static final String SEARCH_TERM_REQUIRED_MESSAGE = "Search term cannot be empty";
+    private static final String LIMIT_INVALID_MESSAGE = "Limit must be greater than zero";
+
+    private final ReactiveCatalogRepository catalogRepository;
+
+    public ReactiveCatalogServiceImpl(ReactiveCatalogRepository catalogRepository) {
+        this.catalogRepository = catalogRepository;
+    }
+
+    @Override
+    public Flux<BookView> getAllBooks() {
+        return catalogRepository.findAllBooks();
+    }
+
+    @Override
+    public Mono<BookView> getBookById(long id) {
+        return catalogRepository.findBookById(id);
+    }
+
+    @Override
+    public Flux<BookView> searchBooks(String searchTerm) {
+        if (searchTerm == null || SearchKeys.normalize(searchTerm).isEmpty()) {
+            return Flux.error(new InvalidDataException(SEARCH_TERM_REQUIRED_MESSAGE));
+        }
+        return catalogRepository.searchBooks(searchTerm);
+    }
+
+    @Override
+    public Flux<BookView> sortBooksByTitle() {
+        return catalogRepository.findAllBooksOrderByTitle();
+    }
+
+    @Override
+    public Flux<BookView> sortBooksByPublicationDate() {
+        return catalogRepository.findAllBooksOrderByPublicationDate();
+    }
+
+    @Override
+    public Flux<BookView> findLatestBooks(int limit) {
+        if (limit <= 0) {
+            return Flux.error(new InvalidDataException(LIMIT_INVALID_MESSAGE));
+        }
+        return catalogRepository.findLatestBooks(limit);
+    }
+
+    @Override
+    public Flux<String> generateAuthorReport() {
+        return catalogRepository.countBooksByAuthor()
+                .map(count -> count.authorName() + ": " + count.books() + " books");
+    }
+
+    @Override
+    public Flux<AuthorView> getAllAuthors() {
+        return catalogRepository.findAllAuthors();
+    }
+
+    @Override
+    public Mono<AuthorView> getAuthorById(long id) {
+        return catalogRepository.findAuthorById(id);
+    }
+
+    @Override
+    public Flux<PublisherView> getAllPublishers() {
+        return catalogRepository.findAllPublishers();
+    }
+
+    @Override
+    public Mono<PublisherView> getPublisherById(long id) {
+        return catalogRepository.findPublisherById(id);
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.onlinelibrary;
+
+import com.example.onlinelibrary.cache.BookNavigationIndex;
+import com.example.onlinelibrary.search.BookSearchEngine;
+import com.example.onlinelibrary.search.SearchKeys;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * Statement and row budgets for every endpoint, measured through the {@code X-SQL-*} headers against a seeded H2
+ * catalog. A change that turns a single query into one per row, or starts fetching far more rows than the
+ * response needs, fails here instead of in production.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryBudgetIntegrationTest {
+
+	private static final int AUTHORS = 40;
+	private static final int PUBLISHERS = 15;
+	private static final int BOOKS = 400;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private BookSearchEngine bookSearchEngine;
+
+	@Autowired
+	private BookNavigationIndex navigationIndex;
+
+	private long authorId;
+	private long publisherId;
+	private long bookId;
+
+	/**
+	 * Seeds through plain JDBC so nothing is counted against a request; the search and navigation indexes are then
+	 * rebuilt so ranked search and paging see the seeded books.
+	 */
+	@BeforeAll
+	void seedCatalog() {
+		for (int i = 0; i < AUTHORS; i++) {
+			jdbcTemplate.update("insert into authors (name, name_key) values (?, ?)", "Budget Author " + i,
+					SearchKeys.normalize("Budget Author " + i));
+		}
+		for (int i = 0; i < PUBLISHERS; i++) {
+			jdbcTemplate.update("insert into publishers (name, name_key) values (?, ?)", "Budget Publisher " + i,
+					SearchKeys.normalize("Budget Publisher " + i));
+		}
+		authorId = jdbcTemplate.queryForObject("select min(id) from authors where name like 'Budget Author %'", Long.class);
+		publisherId = jdbcTemplate.queryForObject("select min(id) from publishers where name like 'Budget Publisher %'", Long.class);
+		for (int i = 0; i < BOOKS; i++) {
+			jdbcTemplate.update("insert into books (title, title_key, publication_date, author_id, publisher_id) "
+							+ "values (?, ?, ?, ?, ?)",
+					"Budget Book " + i, SearchKeys.normalize("Budget Book " + i), Date.valueOf(LocalDate.of(1990, 1, 1).plusDays(i * 17L)),
+					authorId + i % AUTHORS, publisherId + i % PUBLISHERS);
+		}
+		bookId = jdbcTemplate.queryForObject("select min(id) from books where title like 'Budget Book %'", Long.class);
+		bookSearchEngine.reindex();
+		navigationIndex.reload();
+	}
+
+	Stream<Arguments> readEndpoints() {
+		return Stream.of(
+				Arguments.of("/api/books", 1, BOOKS),
+				Arguments.of("/api/books?view=normalized", 3, BOOKS + AUTHORS + PUBLISHERS),
+				Arguments.of("/api/books?fields=id,title,author", 1, BOOKS),
+				Arguments.of("/api/books/{bookId}", 1, 1),
+				Arguments.of("/api/books/search?searchTerm=budget book 1", 1, BOOKS),
+				Arguments.of("/api/books/search?searchTerm=budget&fields=id", 1, BOOKS),
+				Arguments.of("/api/books/search/ranked?searchTerm=budget&limit=10", 1, 10),
+				Arguments.of("/api/books/sort/title", 1, BOOKS),
+				Arguments.of("/api/books/sort/title?fields=id,title", 1, BOOKS),
+				Arguments.of("/api/books/sort/title?limit=10", 1, 100),
+				Arguments.of("/api/books/latest?limit=5", 1, 100),
+				Arguments.of("/api/books/sort/title/page?from=budget book 3&limit=20", 0, 0),
+				Arguments.of("/api/books/sort/publication-date/page?desc=true&limit=20", 0, 0),
+				Arguments.of("/api/books/sort/publication-date", 1, BOOKS),
+				Arguments.of("/api/books/sort/publication-date?fields=id", 1, BOOKS),
+				Arguments.of("/api/books/report", 1, BOOKS),
+				Arguments.of("/api/authors", 1, BOOKS + AUTHORS),
+				Arguments.of("/api/authors?fields=id,name", 1, AUTHORS),
+				Arguments.of("/api/authors/{authorId}", 1, BOOKS / AUTHORS),
+				Arguments.of("/api/publishers", 1, BOOKS + PUBLISHERS),
+				Arguments.of("/api/publishers?fields=name", 1, PUBLISHERS),
+				Arguments.of("/api/publishers/{publisherId}", 1, BOOKS / PUBLISHERS + 1),
+				Arguments.of("/api/changes?since=0&limit=50", 2, 51),
+				Arguments.of("/api/books?modifiedSince=2000-01-01T00:00:00Z&limit=50", 2, 50 + 5),
+				Arguments.of("/api/authors?modifiedSince=2000-01-01T00:00:00Z&limit=10", 3, 10 + 10 * (BOOKS / AUTHORS) + 5),
+				Arguments.of("/api/publishers?modifiedSince=2000-01-01T00:00:00Z&limit=5", 3, 5 + 5 * (BOOKS / PUBLISHERS + 1) + 5));
+	}
+
+	@ParameterizedTest(name = "GET {0}")
+	@MethodSource("readEndpoints")
+	void readEndpoint_ShouldStayWithinQueryBudget(String url, int maxStatements, int maxRows) throws Exception {
+		assertWithinBudget(get(resolve(url)), maxStatements, maxRows);
+	}
+
+	// Every write also appends to the change outbox (one counter update and one insert) and keeps the modifiedSince
+	// bookkeeping: a book write touches its authors and publishers, a delete records a tombstone
+	@Test
+	void bookWrites_ShouldStayWithinQueryBudget() throws Exception {
+		String body = "{\"title\":\"Budget Draft\",\"publicationDate\":\"2020-02-02\",\"author\":{\"id\":" + authorId
+				+ "},\"publisher\":{\"id\":" + publisherId + "}}";
+		MockHttpServletResponse created = assertWithinBudget(
+				post("/api/books").contentType(MediaType.APPLICATION_JSON).content(body), 5, 0);
+		String id = JsonPath.read(created.getContentAsString(), "$.id").toString();
+
+		assertWithinBudget(put("/api/books/" + id).contentType(MediaType.APPLICATION_JSON)
+				.content(body.replace("Budget Draft", "Budget Final")), 6, 1);
+		assertWithinBudget(delete("/api/books/" + id), 7, 1);
+	}
+
+	// A rename touches the books showing the name and their other side, and reads the owner plainly for the write and
+	// once more with its books for the response; a delete tombstones the owner and its books and appends a change for
+	// each of its books (one counter update and one insert)
+	@Test
+	void authorAndPublisherWrites_ShouldStayWithinQueryBudget() throws Exception {
+		for (String resource : new String[] {"authors", "publishers"}) {
+			MockHttpServletResponse created = assertWithinBudget(post("/api/" + resource)
+					.contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"Budget New\"}"), 3, 0);
+			String id = JsonPath.read(created.getContentAsString(), "$.id").toString();
+
+			assertWithinBudget(put("/api/" + resource + "/" + id).contentType(MediaType.APPLICATION_JSON)
+					.content("{\"name\":\"Budget Renamed\"}"), 7, 2);
+			assertWithinBudget(delete("/api/" + resource + "/" + id), 11, 2);
+		}
+	}
+
+	private MockHttpServletResponse assertWithinBudget(RequestBuilder request, int maxStatements, int maxRows)
+			throws Exception {
+		MockHttpServletResponse response = mockMvc.perform(request).andReturn().getResponse();
+		String description = response.getStatus() + " " + response.getHeader("X-SQL-Statements") + " statements, "
+				+ response.getHeader("X-SQL-Rows") + " rows";
+		assertTrue(response.getStatus() < 300, description);
+		assertNotNull(response.getHeader("X-SQL-Statements"), "missing SQL headers");
+		assertTrue(Integer.parseInt(response.getHeader("X-SQL-Statements")) <= maxStatements,
+				"statement budget of " + maxStatements + " exceeded: " + description);
+		assertTrue(Long.parseLong(response.getHeader("X-SQL-Rows")) <= maxRows,
+				"row budget of " + maxRows + " exceeded: " + description);
+		return response;
+	}
+
+	private String resolve(String url) {
+		return url.replace("{bookId}", String.valueOf(bookId))
+				.replace("{authorId}", String.valueOf(authorId))
+				.replace("{publisherId}", String.valueOf(publisherId));
+	}
+}
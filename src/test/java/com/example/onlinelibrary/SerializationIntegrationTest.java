@@ -0,0 +1,147 @@
+package com.example.onlinelibrary;
+
+import com.example.onlinelibrary.cache.BookNavigationIndex;
+import com.example.onlinelibrary.search.BookSearchEngine;
+import com.example.onlinelibrary.search.SearchKeys;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Every endpoint that returns entities is serialized with open-in-view off, so each embedded association has to be
+ * fetched by the service call itself; a lazy association left uninitialized fails here with a 500.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:serialization_db;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SerializationIntegrationTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private BookSearchEngine bookSearchEngine;
+
+	@Autowired
+	private BookNavigationIndex navigationIndex;
+
+	private long authorId;
+	private long publisherId;
+	private long bookId;
+
+	@BeforeAll
+	void seedCatalog() {
+		jdbcTemplate.update("insert into authors (name, name_key) values (?, ?)", "Ursula Le Guin",
+				SearchKeys.normalize("Ursula Le Guin"));
+		jdbcTemplate.update("insert into publishers (name, name_key) values (?, ?)", "Ace", SearchKeys.normalize("Ace"));
+		authorId = jdbcTemplate.queryForObject("select id from authors where name = 'Ursula Le Guin'", Long.class);
+		publisherId = jdbcTemplate.queryForObject("select id from publishers where name = 'Ace'", Long.class);
+		for (String title : new String[] {"The Dispossessed", "The Lathe of Heaven"}) {
+			jdbcTemplate.update("insert into books (title, title_key, publication_date, author_id, publisher_id) "
+					+ "values (?, ?, ?, ?, ?)", title, SearchKeys.normalize(title), Date.valueOf(LocalDate.of(1974, 5, 1)),
+					authorId, publisherId);
+		}
+		bookId = jdbcTemplate.queryForObject("select min(id) from books", Long.class);
+		bookSearchEngine.reindex();
+		navigationIndex.reload();
+	}
+
+	@ParameterizedTest(name = "GET {0}")
+	@ValueSource(strings = {"/api/books", "/api/books/search?searchTerm=the", "/api/books/sort/title",
+			"/api/books/sort/title?limit=5", "/api/books/latest?limit=5", "/api/books/sort/publication-date",
+			"/api/books?modifiedSince=2000-01-01T00:00:00Z"})
+	void bookLists_ShouldEmbedAuthorAndPublisher(String url) throws Exception {
+		String items = url.contains("modifiedSince") ? "$.items" : "$";
+		mockMvc.perform(get(url))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath(items + "[0].author.name").value("Ursula Le Guin"))
+				.andExpect(jsonPath(items + "[0].publisher.name").value("Ace"));
+	}
+
+	@Test
+	void getBookById_ShouldEmbedAuthorAndPublisher() throws Exception {
+		mockMvc.perform(get("/api/books/" + bookId))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.author.name").value("Ursula Le Guin"))
+				.andExpect(jsonPath("$.publisher.name").value("Ace"));
+	}
+
+	@ParameterizedTest(name = "GET {0}")
+	@ValueSource(strings = {"/api/authors", "/api/authors/{authorId}", "/api/authors?modifiedSince=2000-01-01T00:00:00Z"})
+	void authors_ShouldEmbedBooksWithPublisher(String url) throws Exception {
+		String author = url.contains("modifiedSince") ? "$.items[0]" : url.endsWith("}") ? "$" : "$[0]";
+		mockMvc.perform(get(url.replace("{authorId}", String.valueOf(authorId))))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath(author + ".books.length()").value(2))
+				.andExpect(jsonPath(author + ".books[0].publisher.name").value("Ace"));
+	}
+
+	@ParameterizedTest(name = "GET {0}")
+	@ValueSource(strings = {"/api/publishers", "/api/publishers/{publisherId}",
+			"/api/publishers?modifiedSince=2000-01-01T00:00:00Z"})
+	void publishers_ShouldEmbedBooksWithAuthor(String url) throws Exception {
+		String publisher = url.contains("modifiedSince") ? "$.items[0]" : url.endsWith("}") ? "$" : "$[0]";
+		mockMvc.perform(get(url.replace("{publisherId}", String.valueOf(publisherId))))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath(publisher + ".books.length()").value(2))
+				.andExpect(jsonPath(publisher + ".books[0].author.name").value("Ursula Le Guin"));
+	}
+
+	// Uses its own author and publisher so the renames do not show up in the read tests
+	@Test
+	void writes_ShouldReturnEmbeddedAssociations() throws Exception {
+		long writerId = created("/api/authors", "Octavia Butler");
+		long imprintId = created("/api/publishers", "Seven Stories");
+		String book = "{\"title\":\"Parable of the Sower\",\"publicationDate\":\"1993-10-01\",\"author\":{\"id\":"
+				+ writerId + "},\"publisher\":{\"id\":" + imprintId + "}}";
+		mockMvc.perform(post("/api/books").contentType(MediaType.APPLICATION_JSON).content(book))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.title").value("Parable of the Sower"));
+		long createdBook = jdbcTemplate.queryForObject("select id from books where title = 'Parable of the Sower'",
+				Long.class);
+		mockMvc.perform(put("/api/books/" + createdBook).contentType(MediaType.APPLICATION_JSON)
+						.content(book.replace("Parable of the Sower", "Parable of the Talents")))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.author.name").value("Octavia Butler"))
+				.andExpect(jsonPath("$.publisher.name").value("Seven Stories"));
+
+		mockMvc.perform(put("/api/authors/" + writerId).contentType(MediaType.APPLICATION_JSON)
+						.content("{\"name\":\"Octavia E. Butler\"}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.name").value("Octavia E. Butler"))
+				.andExpect(jsonPath("$.books.length()").value(1))
+				.andExpect(jsonPath("$.books[0].publisher.name").value("Seven Stories"));
+		mockMvc.perform(put("/api/publishers/" + imprintId).contentType(MediaType.APPLICATION_JSON)
+						.content("{\"name\":\"Seven Stories Press\"}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.books.length()").value(1))
+				.andExpect(jsonPath("$.books[0].author.name").value("Octavia E. Butler"));
+
+		mockMvc.perform(delete("/api/publishers/" + imprintId)).andExpect(status().isNoContent());
+		mockMvc.perform(delete("/api/authors/" + writerId)).andExpect(status().isNoContent());
+	}
+
+	private long created(String resource, String name) throws Exception {
+		mockMvc.perform(post(resource).contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"" + name + "\"}"))
+				.andExpect(status().isOk());
+		String table = resource.substring(resource.lastIndexOf('/') + 1);
+		return jdbcTemplate.queryForObject("select id from " + table + " where name = ?", Long.class, name);
+	}
+}
@@ -0,0 +1,83 @@
+package com.example.onlinelibrary;
+
+import com.example.onlinelibrary.dto.BookView;
+import com.example.onlinelibrary.repository.BookJdbcRepository;
+import com.example.onlinelibrary.search.SearchKeys;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Every {@code /api/books/sort/title} variant orders by ({@code title_key}, id), so a limited or sparse list is a
+ * prefix of the full one. The titles sort differently by raw title, which puts capitals and accents elsewhere.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:title_order_db;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TitleOrderIntegrationTest {
+
+	private static final List<String> TITLE_ORDER = List.of("apple", "Apple", "Banana", "cherry", "Éclair");
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private BookJdbcRepository bookJdbcRepository;
+
+	@BeforeAll
+	void seedCatalog() {
+		jdbcTemplate.update("insert into authors (name, name_key) values (?, ?)", "Anonymous",
+				SearchKeys.normalize("Anonymous"));
+		jdbcTemplate.update("insert into publishers (name, name_key) values (?, ?)", "Press", SearchKeys.normalize("Press"));
+		long authorId = jdbcTemplate.queryForObject("select id from authors where name = 'Anonymous'", Long.class);
+		long publisherId = jdbcTemplate.queryForObject("select id from publishers where name = 'Press'", Long.class);
+		for (String title : new String[] {"Éclair", "apple", "cherry", "Banana", "Apple"}) {
+			jdbcTemplate.update("insert into books (title, title_key, author_id, publisher_id) values (?, ?, ?, ?)",
+					title, SearchKeys.normalize(title), authorId, publisherId);
+		}
+	}
+
+	@Test
+	void sortByTitle_ShouldOrderByTitleKeyThenId() throws Exception {
+		assertEquals(TITLE_ORDER, titles("/api/books/sort/title"));
+	}
+
+	@Test
+	void sortByTitle_WithLimit_ShouldBePrefixOfFullList() throws Exception {
+		assertEquals(TITLE_ORDER.subList(0, 3), titles("/api/books/sort/title?limit=3"));
+	}
+
+	@Test
+	void sortByTitle_WithFields_ShouldMatchFullList() throws Exception {
+		assertEquals(TITLE_ORDER, titles("/api/books/sort/title?fields=id,title"));
+		assertEquals(TITLE_ORDER.subList(0, 3), titles("/api/books/sort/title?fields=id,title&limit=3"));
+	}
+
+	@Test
+	void jdbcReadPath_ShouldOrderLikeEntityPath() {
+		assertEquals(TITLE_ORDER, bookJdbcRepository.findAllOrderByTitle().stream().map(BookView::title).toList());
+	}
+
+	private List<String> titles(String url) throws Exception {
+		String body = mockMvc.perform(get(url))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+		return JsonPath.read(body, "$[*].title");
+	}
+}
@@ -0,0 +1,67 @@
+package com.example.onlinelibrary.benchmark;
+
+import com.example.onlinelibrary.cache.CatalogSnapshot;
+import com.example.onlinelibrary.dto.BookRow;
+import com.example.onlinelibrary.dto.NamedRef;
+import com.example.onlinelibrary.entity.Book;
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Books-per-author aggregation over already-loaded entities (what {@code generateAuthorReport} did per request,
+ * minus the query) against the same count over a {@link CatalogSnapshot} built from the same catalog:
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="AuthorReportBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AuthorReportBenchmark {
+
+    private static final String LOAD_BOOKS = "select b from Book b join fetch b.author join fetch b.publisher";
+
+    @State(Scope.Benchmark)
+    public static class Loaded {
+
+        List<Book> books;
+        CatalogSnapshot snapshot;
+
+        @Setup(Level.Trial)
+        public void load(BenchmarkCatalog catalog) {
+            try (Session session = catalog.sessionFactory.openSession()) {
+                books = session.createSelectionQuery(LOAD_BOOKS, Book.class).getResultList();
+                snapshot = CatalogSnapshot.of(
+                        books.stream().map(book -> new BookRow(book.getId(), book.getTitle(), book.getPublicationDate(),
+                                book.getAuthor().getId(), book.getPublisher().getId())).toList(),
+                        books.stream().map(Book::getAuthor).distinct()
+                                .map(author -> new NamedRef(author.getId(), author.getName())).toList(),
+                        books.stream().map(Book::getPublisher).distinct()
+                                .map(publisher -> new NamedRef(publisher.getId(), publisher.getName())).toList());
+            }
+        }
+    }
+
+    @Benchmark
+    public Map<String, Long> entityGroupingBy(Loaded loaded) {
+        return loaded.books.stream()
+                .collect(Collectors.groupingBy(book -> book.getAuthor().getName(), Collectors.counting()));
+    }
+
+    @Benchmark
+    public int[] snapshotCount(Loaded loaded) {
+        return loaded.snapshot.countBooksByAuthor();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.onlinelibrary.benchmark;
+
+import com.example.onlinelibrary.entity.Author;
+import com.example.onlinelibrary.entity.Book;
+import com.example.onlinelibrary.entity.Publisher;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Date;
+import java.util.HashSet;
+
+/**
+ * In-memory H2 catalog of {@link #BOOKS} books across 50 authors and 20 publishers, shared by the benchmarks. Tables
+ * are named as Spring Boot names them, so plain-SQL repositories can run against it.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkCatalog {
+
+    static final int BOOKS = 2_000;
+    static final String URL = "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1";
+
+    SessionFactory sessionFactory;
+
+    @Setup(Level.Trial)
+    public void create() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Author.class)
+                .addAnnotatedClass(Publisher.class)
+                .addAnnotatedClass(Book.class)
+                .setPhysicalNamingStrategy(new CamelCaseToUnderscoresNamingStrategy())
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, URL)
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .buildSessionFactory();
+        sessionFactory.inTransaction(session -> {
+            Author[] authors = new Author[50];
+            Publisher[] publishers = new Publisher[20];
+            for (int i = 0; i < authors.length; i++) {
+                authors[i] = new Author(null, "Author " + i, new HashSet<>());
+                session.persist(authors[i]);
+            }
+            for (int i = 0; i < publishers.length; i++) {
+                publishers[i] = new Publisher(null, "Publisher " + i, new HashSet<>());
+                session.persist(publishers[i]);
+            }
+            for (int i = 0; i < BOOKS; i++) {
+                session.persist(new Book(null, "Book " + i, new Date(), authors[i % authors.length],
+                        publishers[i % publishers.length]));
+            }
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        sessionFactory.close();
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.onlinelibrary.benchmark;
+
+import com.example.onlinelibrary.entity.Book;
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flush cost and per-entity footprint of a persistence context holding a catalog of books, as the update endpoints
+ * see it. Run once on the default (enhanced) build and once with {@code -DskipEnhance} after a clean, then compare:
+ *
+ * <pre>
+ * mvn -Pbenchmark clean test-compile exec:exec -Dbenchmark.args="PersistenceContextBenchmark -prof gc"
+ * mvn -Pbenchmark clean test-compile exec:exec -DskipEnhance -Dbenchmark.args="PersistenceContextBenchmark -prof gc"
+ * </pre>
+ *
+ * {@code gc.alloc.rate.norm} of {@code loadManagedBooks} is bytes allocated per managed book.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PersistenceContextBenchmark {
+
+    private static final String LOAD_BOOKS = "select b from Book b join fetch b.author join fetch b.publisher";
+
+    /**
+     * A session holding the whole catalog for one iteration; every call retitles one book and flushes, so the cost
+     * is dominated by finding the single dirty entity among the managed ones. Changes are rolled back afterwards.
+     */
+    @State(Scope.Thread)
+    public static class LoadedSession {
+
+        Session session;
+        List<Book> books;
+        int revision;
+
+        @Setup(Level.Iteration)
+        public void open(BenchmarkCatalog catalog) {
+            session = catalog.sessionFactory.openSession();
+            session.beginTransaction();
+            books = session.createSelectionQuery(LOAD_BOOKS, Book.class).getResultList();
+        }
+
+        @TearDown(Level.Iteration)
+        public void close() {
+            session.getTransaction().rollback();
+            session.close();
+        }
+    }
+
+    @Benchmark
+    public void flushOneDirtyBook(LoadedSession loaded) {
+        int revision = loaded.revision++;
+        loaded.books.get(revision % loaded.books.size()).setTitle("Revised " + revision);
+        loaded.session.flush();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkCatalog.BOOKS)
+    public int loadManagedBooks(BenchmarkCatalog catalog) {
+        try (Session session = catalog.sessionFactory.openSession()) {
+            return session.createSelectionQuery(LOAD_BOOKS, Book.class).getResultList().size();
+        }
+    }
+}
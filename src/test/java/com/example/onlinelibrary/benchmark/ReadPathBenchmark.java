@@ -0,0 +1,63 @@
+package com.example.onlinelibrary.benchmark;
+
+import com.example.onlinelibrary.dto.BookView;
+import com.example.onlinelibrary.entity.Book;
+import com.example.onlinelibrary.repository.BookJdbcRepository;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full-catalog read through the JPA path ({@code BookRepository.findAll()} with its entity graph, in a read-only
+ * session) against the JDBC read path that maps rows into {@link BookView} records:
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="ReadPathBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReadPathBenchmark {
+
+    private static final String FIND_ALL = "select b from Book b left join fetch b.author left join fetch b.publisher";
+
+    @State(Scope.Benchmark)
+    public static class JdbcPath {
+
+        BookJdbcRepository repository;
+
+        @Setup(Level.Trial)
+        public void create(BenchmarkCatalog catalog) {
+            JdbcDataSource dataSource = new JdbcDataSource();
+            dataSource.setURL(BenchmarkCatalog.URL);
+            repository = new BookJdbcRepository(JdbcClient.create(dataSource));
+        }
+    }
+
+    @Benchmark
+    public List<Book> jpaFindAll(BenchmarkCatalog catalog) {
+        try (Session session = catalog.sessionFactory.openSession()) {
+            session.setDefaultReadOnly(true);
+            session.beginTransaction();
+            List<Book> books = session.createSelectionQuery(FIND_ALL, Book.class).getResultList();
+            session.getTransaction().commit();
+            return books;
+        }
+    }
+
+    @Benchmark
+    public List<BookView> jdbcFindAll(JdbcPath jdbc) {
+        return jdbc.repository.findAll();
+    }
+}
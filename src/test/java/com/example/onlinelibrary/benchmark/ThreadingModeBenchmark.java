@@ -0,0 +1,174 @@
+package com.example.onlinelibrary.benchmark;
+
+import com.example.onlinelibrary.OnlineLibraryApplication;
+import com.example.onlinelibrary.cache.BookNavigationIndex;
+import com.example.onlinelibrary.cache.CatalogNameFilter;
+import com.example.onlinelibrary.cache.CatalogSnapshotCache;
+import com.example.onlinelibrary.search.BookSearchEngine;
+import com.example.onlinelibrary.search.SearchKeys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of the running service in platform-thread and virtual-thread mode: every JMH thread is one client
+ * issuing blocking HTTP requests against an embedded Tomcat, so {@code -t} is the number of concurrent users. Runs
+ * against an in-memory H2 catalog unless {@code -Dbenchmark.datasource.url} (with {@code .username} and
+ * {@code .password}) points at a MySQL database; only there does a request spend most of its time waiting on the
+ * database, which is where the two modes differ. An empty catalog is seeded first. Virtual mode needs a Java 21
+ * build:
+ *
+ * <pre>
+ * mvn -Pjava21,benchmark test-compile exec:exec -Dbenchmark.args="ThreadingModeBenchmark -t 400 -jvmArgsAppend -Dbenchmark.datasource.url=jdbc:mysql://localhost:3306/library_bench"
+ * </pre>
+ *
+ * Compare throughput and the p99 of the sample-time run per {@code virtual} value, and check
+ * {@code GET /api/admin/virtual-threads} or the log for pinning sites seen under load.
+ * <p>
+ * No comparison has been recorded yet: it needs the virtual-mode run and the MySQL run, both from a Java 21
+ * machine, and until then {@code spring.threads.virtual.enabled} stays off by default. The only run so far is a
+ * platform-mode smoke test (H2, 1 CPU, JDK 17, {@code -p virtual=false -t 32 -wi 2 -i 3 -w 5s -r 5s -bm thrpt},
+ * ops/ms). It shows every endpoint answers under load and nothing more; the error bars are wider than the scores:
+ *
+ * <pre>
+ * generateAuthorReport  0.802 ± 3.229
+ * getAuthorNames        0.245 ± 0.782
+ * getBookById           0.208 ± 0.587
+ * searchBooks           0.152 ± 0.410
+ * </pre>
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ThreadingModeBenchmark {
+
+    private static final int AUTHORS = 50;
+    private static final int PUBLISHERS = 20;
+    private static final int BOOKS = 2_000;
+
+    @Param({"false", "true"})
+    public boolean virtual;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private long firstBookId;
+
+    @Setup(Level.Trial)
+    public void start() {
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual-thread mode needs Java 21, running " + Runtime.version());
+        }
+        context = new SpringApplicationBuilder(OnlineLibraryApplication.class)
+                .properties("server.port=0",
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "spring.datasource.url=" + System.getProperty("benchmark.datasource.url",
+                                "jdbc:h2:mem:threading_benchmark;DB_CLOSE_DELAY=-1"),
+                        "spring.datasource.username=" + System.getProperty("benchmark.datasource.username", "sa"),
+                        "spring.datasource.password=" + System.getProperty("benchmark.datasource.password", ""),
+                        "logging.level.root=WARN")
+                .run();
+        seed(context.getBean(JdbcTemplate.class));
+        context.getBean(BookSearchEngine.class).reindex();
+        context.getBean(BookNavigationIndex.class).reload();
+        context.getBean(CatalogNameFilter.class).rebuild();
+        awaitSnapshot(context.getBean(CatalogSnapshotCache.class));
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        client = HttpClient.newHttpClient();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getBookById() throws IOException, InterruptedException {
+        return get("/api/books/" + (firstBookId + ThreadLocalRandom.current().nextInt(BOOKS)));
+    }
+
+    @Benchmark
+    public int getAuthorNames() throws IOException, InterruptedException {
+        return get("/api/authors?fields=id,name");
+    }
+
+    @Benchmark
+    public int searchBooks() throws IOException, InterruptedException {
+        return get("/api/books/search?searchTerm=book%20" + ThreadLocalRandom.current().nextInt(100));
+    }
+
+    @Benchmark
+    public int generateAuthorReport() throws IOException, InterruptedException {
+        return get("/api/books/report");
+    }
+
+    private int get(String path) throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).build(),
+                HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(path + " returned " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+
+    // The startup build ran against the empty catalog; until the rebuild lands the report falls back to the database
+    private static void awaitSnapshot(CatalogSnapshotCache snapshotCache) {
+        snapshotCache.onApplicationReady();
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+        while (snapshotCache.current().isEmpty()) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Catalog snapshot not rebuilt after seeding");
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        if (jdbcTemplate.queryForObject("select count(*) from books", Long.class) == 0) {
+            for (int i = 0; i < AUTHORS; i++) {
+                jdbcTemplate.update("insert into authors (name, name_key) values (?, ?)", "Author " + i,
+                        SearchKeys.normalize("Author " + i));
+            }
+            for (int i = 0; i < PUBLISHERS; i++) {
+                jdbcTemplate.update("insert into publishers (name, name_key) values (?, ?)", "Publisher " + i,
+                        SearchKeys.normalize("Publisher " + i));
+            }
+            long authorId = jdbcTemplate.queryForObject("select min(id) from authors", Long.class);
+            long publisherId = jdbcTemplate.queryForObject("select min(id) from publishers", Long.class);
+            for (int i = 0; i < BOOKS; i++) {
+                jdbcTemplate.update("insert into books (title, title_key, publication_date, author_id, publisher_id) "
+                                + "values (?, ?, ?, ?, ?)",
+                        "Book " + i, SearchKeys.normalize("Book " + i),
+                        Date.valueOf(LocalDate.of(1990, 1, 1).plusDays(i)),
+                        authorId + i % AUTHORS, publisherId + i % PUBLISHERS);
+            }
+        }
+        firstBookId = jdbcTemplate.queryForObject("select min(id) from books", Long.class);
+    }
+}
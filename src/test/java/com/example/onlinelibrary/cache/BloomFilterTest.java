@@ -0,0 +1,44 @@
+package com.example.onlinelibrary.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+	@Test
+	void mightContain_ShouldBeTrue_ForEveryAddedValue() {
+		BloomFilter filter = new BloomFilter(1000, 0.01);
+		for (int i = 0; i < 1000; i++) {
+			filter.add("Author " + i);
+		}
+
+		for (int i = 0; i < 1000; i++) {
+			assertTrue(filter.mightContain("Author " + i));
+		}
+	}
+
+	@Test
+	void mightContain_ShouldRarelyBeTrue_ForAbsentValues() {
+		BloomFilter filter = new BloomFilter(1000, 0.01);
+		for (int i = 0; i < 1000; i++) {
+			filter.add("Author " + i);
+		}
+
+		int falsePositives = 0;
+		for (int i = 0; i < 10000; i++) {
+			if (filter.mightContain("Publisher " + i)) {
+				falsePositives++;
+			}
+		}
+
+		assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+	}
+
+	@Test
+	void mightContain_ShouldBeFalse_WhenEmpty() {
+		BloomFilter filter = new BloomFilter(100, 0.01);
+
+		assertFalse(filter.mightContain("Effective Java"));
+	}
+}
@@ -0,0 +1,117 @@
+package com.example.onlinelibrary.cache;
+
+import com.example.onlinelibrary.dto.BookRow;
+import com.example.onlinelibrary.dto.BookView;
+import com.example.onlinelibrary.dto.NamedRef;
+import com.example.onlinelibrary.entity.Author;
+import com.example.onlinelibrary.entity.Book;
+import com.example.onlinelibrary.event.CatalogChangedEvent;
+import com.example.onlinelibrary.event.CatalogChangedEvent.ChangeType;
+import com.example.onlinelibrary.event.CatalogChangedEvent.EntityType;
+import com.example.onlinelibrary.repository.AuthorRepository;
+import com.example.onlinelibrary.repository.BookRepository;
+import com.example.onlinelibrary.repository.PublisherRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BookNavigationIndexTest {
+
+	private BookRepository bookRepository;
+
+	private BookNavigationIndex index;
+
+	@BeforeEach
+	void setUp() {
+		bookRepository = mock(BookRepository.class);
+		AuthorRepository authorRepository = mock(AuthorRepository.class);
+		PublisherRepository publisherRepository = mock(PublisherRepository.class);
+		when(authorRepository.findAllRefs()).thenReturn(List.of(new NamedRef(1L, "Joshua Bloch"), new NamedRef(2L, "Robert Martin")));
+		when(publisherRepository.findAllRefs()).thenReturn(List.of(new NamedRef(10L, "Addison-Wesley")));
+		when(bookRepository.findAllRows()).thenReturn(List.of(
+				new BookRow(1L, "effective Java", date(2018, 1, 6), 1L, 10L),
+				new BookRow(2L, "Clean Code", date(2008, 8, 1), 2L, 10L),
+				new BookRow(3L, "Java Puzzlers", date(2005, 7, 4), 1L, 10L),
+				new BookRow(4L, "Agile Software Development", null, 2L, 10L)));
+		index = new BookNavigationIndex(bookRepository, authorRepository, publisherRepository);
+	}
+
+	@Test
+	void pageByTitle_ShouldOrderCaseInsensitively_AndLoadOnFirstUse() {
+		List<BookView> page = index.pageByTitle(null, null, false, 10).orElseThrow();
+
+		assertEquals(List.of(4L, 2L, 1L, 3L), ids(page));
+		assertEquals("Joshua Bloch", page.get(2).author().name());
+		verify(bookRepository, times(1)).findAllRows();
+	}
+
+	@Test
+	void pageByTitle_ShouldContinueAfterCursor_InBothDirections() {
+		assertEquals(List.of(1L, 3L), ids(index.pageByTitle(null, 2L, false, 10).orElseThrow()));
+		assertEquals(List.of(2L, 4L), ids(index.pageByTitle(null, 1L, true, 10).orElseThrow()));
+	}
+
+	@Test
+	void pageByTitle_ShouldSeekToLetter() {
+		assertEquals(List.of(1L, 3L), ids(index.pageByTitle("E", null, false, 10).orElseThrow()));
+		assertEquals(List.of(1L, 2L, 4L), ids(index.pageByTitle("e", null, true, 10).orElseThrow()));
+		assertEquals(List.of(3L), ids(index.pageByTitle("Ja", null, false, 1).orElseThrow()));
+	}
+
+	@Test
+	void pageByTitle_ShouldBeEmpty_WhenCursorIsUnknown() {
+		assertTrue(index.pageByTitle(null, 99L, false, 10).isEmpty());
+	}
+
+	@Test
+	void pageByPublicationDate_ShouldPutUndatedBooksFirst_AndSeekToDate() {
+		assertEquals(List.of(4L, 3L, 2L, 1L), ids(index.pageByPublicationDate(null, null, false, 10).orElseThrow()));
+		assertEquals(List.of(2L, 1L), ids(index.pageByPublicationDate(LocalDate.of(2008, 8, 1), null, false, 10).orElseThrow()));
+		assertEquals(List.of(2L, 3L), ids(index.pageByPublicationDate(LocalDate.of(2008, 8, 1), null, true, 2).orElseThrow()));
+	}
+
+	@Test
+	void onCatalogChanged_ShouldMoveRetitledBook() {
+		index.reload();
+		Book book = new Book(2L, "Zen of Code", date(2008, 8, 1), new Author(2L, null, new HashSet<>()), null);
+
+		index.onCatalogChanged(new CatalogChangedEvent(EntityType.BOOK, 2L, ChangeType.UPDATED, book));
+
+		List<BookView> page = index.pageByTitle(null, null, true, 1).orElseThrow();
+		assertEquals("Zen of Code", page.get(0).title());
+		assertEquals("Robert Martin", page.get(0).author().name());
+		assertEquals(4, index.pageByTitle(null, null, false, 10).orElseThrow().size());
+	}
+
+	@Test
+	void onCatalogChanged_ShouldRenameAuthorAndDropDeletedAuthorsBooks() {
+		index.reload();
+
+		index.onCatalogChanged(new CatalogChangedEvent(EntityType.AUTHOR, 1L, ChangeType.UPDATED,
+				new Author(1L, "J. Bloch", new HashSet<>())));
+		assertEquals("J. Bloch", index.pageByTitle("Java", null, false, 1).orElseThrow().get(0).author().name());
+
+		index.onCatalogChanged(new CatalogChangedEvent(EntityType.AUTHOR, 2L, ChangeType.DELETED, null));
+		assertEquals(List.of(1L, 3L), ids(index.pageByTitle(null, null, false, 10).orElseThrow()));
+		assertEquals(List.of(3L, 1L), ids(index.pageByPublicationDate(null, null, false, 10).orElseThrow()));
+	}
+
+	private static List<Long> ids(List<BookView> page) {
+		List<Long> ids = new ArrayList<>();
+		page.forEach(view -> ids.add(view.id()));
+		return ids;
+	}
+
+	private static Date date(int year, int month, int day) {
+		return Date.from(LocalDate.of(year, month, day).atStartOfDay(ZoneId.systemDefault()).toInstant());
+	}
+}
@@ -0,0 +1,92 @@
+package com.example.onlinelibrary.cache;
+
+import com.example.onlinelibrary.dto.BookRow;
+import com.example.onlinelibrary.dto.NamedRef;
+import com.example.onlinelibrary.event.CatalogChangedEvent;
+import com.example.onlinelibrary.event.CatalogChangedEvent.ChangeType;
+import com.example.onlinelibrary.event.CatalogChangedEvent.EntityType;
+import com.example.onlinelibrary.repository.AuthorRepository;
+import com.example.onlinelibrary.repository.BookRepository;
+import com.example.onlinelibrary.repository.PublisherRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CatalogSnapshotCacheTest {
+
+	private BookRepository bookRepository;
+
+	private CatalogVersion catalogVersion;
+
+	private CatalogSnapshotCache cache;
+
+	@BeforeEach
+	void setUp() throws InterruptedException {
+		bookRepository = mock(BookRepository.class);
+		AuthorRepository authorRepository = mock(AuthorRepository.class);
+		PublisherRepository publisherRepository = mock(PublisherRepository.class);
+		when(bookRepository.findAllRows()).thenReturn(List.of(new BookRow(1L, "Dune", null, 1L, 1L)));
+		when(authorRepository.findAllRefs()).thenReturn(List.of(new NamedRef(1L, "Frank Herbert")));
+		when(publisherRepository.findAllRefs()).thenReturn(List.of(new NamedRef(1L, "Chilton")));
+		catalogVersion = new CatalogVersion();
+		cache = new CatalogSnapshotCache(bookRepository, authorRepository, publisherRepository, catalogVersion);
+		cache.onApplicationReady();
+		assertEquals(1, awaitSnapshot().size());
+	}
+
+	@AfterEach
+	void tearDown() {
+		cache.shutdown();
+	}
+
+	@Test
+	void current_ShouldBeEmpty_UntilCommittedWriteIsApplied() throws InterruptedException {
+		CountDownLatch release = new CountDownLatch(1);
+		when(bookRepository.findRowById(2L)).thenAnswer(invocation -> {
+			release.await(5, TimeUnit.SECONDS);
+			return Optional.of(new BookRow(2L, "Dune Messiah", null, 1L, 1L));
+		});
+		CatalogChangedEvent created = new CatalogChangedEvent(EntityType.BOOK, 2L, ChangeType.CREATED, null);
+
+		catalogVersion.onCatalogChanged(created);
+		assertTrue(cache.current().isEmpty());
+		cache.onCatalogChanged(created);
+		assertTrue(cache.current().isEmpty());
+		release.countDown();
+
+		assertEquals(2, awaitSnapshot().size());
+	}
+
+	@Test
+	void current_ShouldStayEmpty_UntilRebuilt_WhenWriteCouldNotBeApplied() throws InterruptedException {
+		when(bookRepository.findRowById(2L)).thenThrow(new IllegalStateException("database down"));
+		CatalogChangedEvent created = new CatalogChangedEvent(EntityType.BOOK, 2L, ChangeType.CREATED, null);
+
+		catalogVersion.onCatalogChanged(created);
+		cache.onCatalogChanged(created);
+		verify(bookRepository, timeout(5000)).findRowById(2L);
+		assertTrue(cache.current().isEmpty());
+		cache.onApplicationReady();
+
+		assertEquals(1, awaitSnapshot().size());
+		verify(bookRepository, times(2)).findAllRows();
+	}
+
+	private CatalogSnapshot awaitSnapshot() throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		Optional<CatalogSnapshot> snapshot;
+		while ((snapshot = cache.current()).isEmpty()) {
+			assertTrue(System.nanoTime() < deadline, "snapshot never caught up");
+			Thread.sleep(5);
+		}
+		return snapshot.get();
+	}
+}
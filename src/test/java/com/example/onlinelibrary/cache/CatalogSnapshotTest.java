@@ -0,0 +1,133 @@
+package com.example.onlinelibrary.cache;
+
+import com.example.onlinelibrary.dto.BookRow;
+import com.example.onlinelibrary.dto.NamedRef;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogSnapshotTest {
+
+	private CatalogSnapshot snapshot;
+
+	@BeforeEach
+	void setUp() {
+		snapshot = CatalogSnapshot.of(
+				List.of(new BookRow(3L, "Clean Code", null, 1L, 10L), new BookRow(1L, "Effective Java", null, 2L, 10L),
+						new BookRow(2L, "Java Puzzlers", null, 2L, 11L)),
+				List.of(new NamedRef(1L, "Robert Martin"), new NamedRef(2L, "Joshua Bloch")),
+				List.of(new NamedRef(10L, "Addison-Wesley"), new NamedRef(11L, "Prentice Hall")));
+	}
+
+	@Test
+	void of_ShouldOrderRowsById() {
+		assertEquals(3, snapshot.size());
+		assertEquals(1L, snapshot.bookId(0));
+		assertEquals("Effective Java", snapshot.title(0));
+		assertEquals(3L, snapshot.bookId(2));
+		assertEquals(CatalogSnapshot.NO_DATE, snapshot.epochDay(0));
+	}
+
+	@Test
+	void of_ShouldStorePublicationDateAsEpochDay() {
+		LocalDate day = LocalDate.of(2018, 1, 6);
+		Date date = Date.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant());
+
+		CatalogSnapshot dated = CatalogSnapshot.of(List.of(new BookRow(1L, "Effective Java", date, null, null)),
+				List.of(), List.of());
+
+		assertEquals(day.toEpochDay(), dated.epochDay(0));
+	}
+
+	@Test
+	void countBooksByAuthor_ShouldCountPerAuthorCode() {
+		int[] counts = snapshot.countBooksByAuthor();
+
+		assertEquals("Robert Martin", snapshot.authorName(0));
+		assertArrayEquals(new int[] {1, 2}, counts);
+		assertArrayEquals(new int[] {2, 1}, snapshot.countBooksByPublisher());
+	}
+
+	@Test
+	void countBooksByAuthor_ShouldMatchSequentialCount_WhenCatalogIsLarge() {
+		List<BookRow> books = new ArrayList<>();
+		List<NamedRef> authors = new ArrayList<>();
+		for (long author = 1; author <= 7; author++) {
+			authors.add(new NamedRef(author, "Author " + author));
+		}
+		int[] expected = new int[authors.size()];
+		for (long id = 1; id <= 50_000; id++) {
+			long author = id * 31 % 7 + 1;
+			books.add(new BookRow(id, "Book " + id, null, author, null));
+			expected[(int) author - 1]++;
+		}
+
+		assertArrayEquals(expected, CatalogSnapshot.of(books, authors, List.of()).countBooksByAuthor());
+	}
+
+	@Test
+	void withBook_ShouldReplaceExistingBook_WithoutChangingOriginal() {
+		CatalogSnapshot patched = snapshot.withBook(new BookRow(1L, "Effective Java 3rd", null, 1L, 10L));
+
+		assertEquals(3, patched.size());
+		assertEquals("Effective Java 3rd", patched.title(0));
+		assertArrayEquals(new int[] {2, 1}, patched.countBooksByAuthor());
+		assertEquals("Effective Java", snapshot.title(0));
+		assertArrayEquals(new int[] {1, 2}, snapshot.countBooksByAuthor());
+	}
+
+	@Test
+	void withBook_ShouldInsertNewBookInIdOrder() {
+		CatalogSnapshot patched = snapshot.withoutBook(2L).withBook(new BookRow(2L, "Refactoring", null, 1L, 11L));
+
+		assertEquals(3, patched.size());
+		assertEquals(2L, patched.bookId(1));
+		assertEquals("Refactoring", patched.title(1));
+	}
+
+	@Test
+	void withBook_ShouldReturnNull_WhenAuthorIsUnknown() {
+		assertNull(snapshot.withBook(new BookRow(4L, "Refactoring", null, 99L, 10L)));
+	}
+
+	@Test
+	void withAuthor_ShouldRenameOrAppend() {
+		CatalogSnapshot patched = snapshot.withAuthor(new NamedRef(2L, "J. Bloch")).withAuthor(new NamedRef(5L, "Kent Beck"));
+
+		assertEquals("J. Bloch", patched.authorName(1));
+		assertEquals("Kent Beck", patched.authorName(2));
+		assertArrayEquals(new int[] {1, 2, 0}, patched.countBooksByAuthor());
+		assertEquals("Joshua Bloch", snapshot.authorName(1));
+	}
+
+	@Test
+	void withAuthor_ShouldReturnNull_WhenNewIdWouldReorderDictionary() {
+		CatalogSnapshot patched = snapshot.withAuthor(new NamedRef(5L, "Kent Beck"));
+
+		assertNull(patched.withAuthor(new NamedRef(3L, "Martin Fowler")));
+	}
+
+	@Test
+	void withoutAuthor_ShouldDropTheAuthorsBooks() {
+		CatalogSnapshot patched = snapshot.withoutAuthor(2L);
+
+		assertEquals(1, patched.size());
+		assertEquals(3L, patched.bookId(0));
+		assertArrayEquals(new int[] {1, 0}, patched.countBooksByAuthor());
+	}
+
+	@Test
+	void withoutPublisher_ShouldDropThePublishersBooks() {
+		CatalogSnapshot patched = snapshot.withoutPublisher(10L);
+
+		assertEquals(1, patched.size());
+		assertEquals("Java Puzzlers", patched.title(0));
+	}
+}
@@ -0,0 +1,129 @@
+package com.example.onlinelibrary.cache;
+
+import com.example.onlinelibrary.entity.Author;
+import com.example.onlinelibrary.entity.Book;
+import com.example.onlinelibrary.entity.Publisher;
+import com.example.onlinelibrary.event.CatalogChangedEvent;
+import com.example.onlinelibrary.event.CatalogChangedEvent.ChangeType;
+import com.example.onlinelibrary.event.CatalogChangedEvent.EntityType;
+import com.example.onlinelibrary.event.CatalogResyncEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityJsonCacheTest {
+
+	private CatalogVersion catalogVersion;
+
+	private EntityJsonCache cache;
+
+	private Author author;
+
+	private Publisher publisher;
+
+	private Book book;
+
+	@BeforeEach
+	void setUp() {
+		catalogVersion = new CatalogVersion();
+		cache = new EntityJsonCache(catalogVersion, new ObjectMapper(), new SimpleMeterRegistry(), 100);
+		author = new Author(1L, "Ann", new HashSet<>());
+		publisher = new Publisher(2L, "Press", new HashSet<>());
+		book = new Book(3L, "Dune", null, author, publisher);
+		author.getBooks().add(book);
+		publisher.getBooks().add(book);
+	}
+
+	@Test
+	void json_ShouldServeFragment_UntilEntityIsWritten() throws Exception {
+		assertEquals("{\"id\":3,\"title\":\"Dune\",\"publicationDate\":null,\"author\":{\"id\":1,\"name\":\"Ann\"},"
+				+ "\"publisher\":{\"id\":2,\"name\":\"Press\"}}", json(book));
+
+		book.setTitle("Dune Messiah");
+		assertTrue(json(book).contains("\"Dune\""));
+
+		write(EntityType.BOOK, 3L, book);
+		assertTrue(json(book).contains("\"Dune Messiah\""));
+	}
+
+	@Test
+	void json_ShouldRetireEmbeddingFragments_WhenAuthorIsRenamed() throws Exception {
+		json(book);
+		json(publisher);
+
+		author.setName("Anne");
+		write(EntityType.AUTHOR, 1L, author);
+
+		assertTrue(json(book).contains("\"Anne\""));
+		assertTrue(json(publisher).contains("\"Anne\""));
+	}
+
+	@Test
+	void json_ShouldRetireNewOwnerFragment_WhenBookMovesToIt() throws Exception {
+		Author other = new Author(4L, "Bo", new HashSet<>());
+		json(other);
+
+		author.getBooks().remove(book);
+		book.setAuthor(other);
+		other.getBooks().add(book);
+		write(EntityType.BOOK, 3L, book);
+
+		assertTrue(json(other).contains("\"Dune\""));
+	}
+
+	@Test
+	void json_ShouldNotKeepFragment_SerializedFromEntityLoadedBeforeAWrite() throws Exception {
+		long loadedAt = cache.currentVersion();
+		write(EntityType.PUBLISHER, 9L, null);
+
+		cache.json(book, loadedAt);
+
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	void json_ShouldNotServeFragment_BuiltFromEntityWithOtherDependencies() throws Exception {
+		json(author);
+		Author reloaded = new Author(1L, "Ann", new HashSet<>(author.getBooks()));
+		reloaded.getBooks().add(new Book(5L, "Children of Dune", null, reloaded, publisher));
+
+		assertTrue(json(reloaded).contains("\"Children of Dune\""));
+	}
+
+	@Test
+	void onCatalogResync_ShouldRetireEveryFragment() throws Exception {
+		json(book);
+		EntityJsonCache.Fragment pinned = cache.fragment(EntityType.BOOK, 3L).orElseThrow();
+
+		book.setTitle("Dune Messiah");
+		catalogVersion.onCatalogResync(new CatalogResyncEvent(1));
+		cache.onCatalogResync(new CatalogResyncEvent(1));
+
+		assertEquals(0, cache.size());
+		assertFalse(cache.isCurrent(pinned));
+		assertTrue(json(book).contains("\"Dune Messiah\""));
+	}
+
+	@Test
+	void isCacheable_ShouldRejectUnsavedEntitiesAndDtos() {
+		assertTrue(EntityJsonCache.isCacheable(book));
+		assertFalse(EntityJsonCache.isCacheable(new Book(null, "Draft", null, author, publisher)));
+		assertFalse(EntityJsonCache.isCacheable(Set.of(book)));
+	}
+
+	private String json(Object entity) throws Exception {
+		return new String(cache.json(entity, cache.currentVersion()), StandardCharsets.UTF_8);
+	}
+
+	private void write(EntityType entityType, Long id, Object entity) {
+		catalogVersion.onCatalogChanged(new CatalogChangedEvent(entityType, id, ChangeType.UPDATED, entity));
+		cache.onCatalogChanged(new CatalogChangedEvent(entityType, id, ChangeType.UPDATED, entity));
+	}
+}
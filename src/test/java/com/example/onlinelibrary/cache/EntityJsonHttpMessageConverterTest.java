@@ -0,0 +1,30 @@
+package com.example.onlinelibrary.cache;
+
+import com.example.onlinelibrary.entity.Book;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityJsonHttpMessageConverterTest {
+
+	private final EntityJsonHttpMessageConverter converter = new EntityJsonHttpMessageConverter(
+			new EntityJsonCache(new CatalogVersion(), new ObjectMapper(), new SimpleMeterRegistry(), 100),
+			new ObjectMapper());
+
+	@Test
+	void read_ShouldBeRejectedAsNotReadable() {
+		MockHttpInputMessage input = new MockHttpInputMessage("{\"title\":\"Dune\"}".getBytes(StandardCharsets.UTF_8));
+
+		assertFalse(converter.canRead(Book.class, MediaType.APPLICATION_JSON));
+		assertFalse(converter.canRead(Book.class, null, MediaType.APPLICATION_JSON));
+		assertThrows(HttpMessageNotReadableException.class, () -> converter.read(Book.class, null, input));
+		assertThrows(HttpMessageNotReadableException.class, () -> converter.read(Book.class, input));
+	}
+}
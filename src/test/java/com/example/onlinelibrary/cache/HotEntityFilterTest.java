@@ -0,0 +1,133 @@
+package com.example.onlinelibrary.cache;
+
+import com.example.onlinelibrary.entity.Author;
+import com.example.onlinelibrary.entity.Book;
+import com.example.onlinelibrary.event.CatalogChangedEvent;
+import com.example.onlinelibrary.event.CatalogChangedEvent.ChangeType;
+import com.example.onlinelibrary.event.CatalogChangedEvent.EntityType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotEntityFilterTest {
+
+	private CatalogVersion catalogVersion;
+	private EntityJsonCache entityJsonCache;
+	private HotEntityCache hotEntityCache;
+	private HotEntityFilter filter;
+	private AtomicInteger controllerCalls;
+	private FilterChain controller;
+	private Map<String, Object> entities;
+	private Long loadedAtVersion;
+
+	@BeforeEach
+	void setUp() {
+		catalogVersion = new CatalogVersion();
+		entityJsonCache = new EntityJsonCache(catalogVersion, new ObjectMapper(), new SimpleMeterRegistry(), 100);
+		HotKeyTracker tracker = new HotKeyTracker(4, 2, 1_000);
+		hotEntityCache = new HotEntityCache(entityJsonCache, tracker, new SimpleMeterRegistry());
+		filter = new HotEntityFilter(tracker, hotEntityCache);
+		controllerCalls = new AtomicInteger();
+		entities = new HashMap<>();
+		entities.put("/api/books/7", new Book(7L, "Dune", null, null, null));
+		entities.put("/api/authors/3", new Author(3L, "Ann", new HashSet<>()));
+		// Serializes the way EntityJsonHttpMessageConverter does, with the version read before the entity was loaded
+		controller = (request, response) -> {
+			controllerCalls.incrementAndGet();
+			Long version = loadedAtVersion != null ? loadedAtVersion : catalogVersion.current();
+			Object entity = entities.get(((MockHttpServletRequest) request).getRequestURI());
+			response.setContentType("application/json");
+			response.getOutputStream().write(entity == null ? "[]".getBytes(StandardCharsets.UTF_8) : entityJsonCache.json(entity, version));
+		};
+	}
+
+	@Test
+	void doFilter_ShouldServePinnedJson_OnceIdIsHot() throws Exception {
+		get("/api/books/7");
+		get("/api/books/7");
+
+		MockHttpServletResponse response = get("/api/books/7");
+
+		assertEquals(2, controllerCalls.get());
+		assertEquals(200, response.getStatus());
+		assertEquals("application/json", response.getContentType());
+		assertTrue(response.getContentAsString().contains("\"Dune\""));
+		assertEquals(response.getContentAsByteArray().length,
+				hotEntityCache.hotSet().get(EntityType.BOOK).get(0).pinnedBytes());
+	}
+
+	@Test
+	void doFilter_ShouldReserialize_AfterEntityIsWritten() throws Exception {
+		get("/api/authors/3");
+		get("/api/authors/3");
+
+		((Author) entities.get("/api/authors/3")).setName("Anne");
+		write(EntityType.AUTHOR, 3L);
+
+		assertTrue(get("/api/authors/3").getContentAsString().contains("\"Anne\""));
+		assertEquals(3, controllerCalls.get());
+	}
+
+	@Test
+	void doFilter_ShouldKeepServingPin_AfterUnrelatedWrite() throws Exception {
+		get("/api/authors/3");
+		get("/api/authors/3");
+
+		write(EntityType.PUBLISHER, 11L);
+
+		assertTrue(get("/api/authors/3").getContentAsString().contains("\"Ann\""));
+		assertEquals(2, controllerCalls.get());
+	}
+
+	@Test
+	void doFilter_ShouldNotPin_ResponseLoadedBeforeAWrite() throws Exception {
+		get("/api/books/7");
+		loadedAtVersion = catalogVersion.current();
+		write(EntityType.BOOK, 7L);
+
+		get("/api/books/7");
+		assertEquals(0, hotEntityCache.hotSet().get(EntityType.BOOK).get(0).pinnedBytes());
+
+		loadedAtVersion = null;
+		get("/api/books/7");
+		get("/api/books/7");
+		assertEquals(3, controllerCalls.get());
+	}
+
+	@Test
+	void doFilter_ShouldNotTrackOtherRequests() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			get("/api/books/search");
+			filter.doFilter(new MockHttpServletRequest("PUT", "/api/publishers/1"), new MockHttpServletResponse(),
+					controller);
+		}
+
+		assertEquals(6, controllerCalls.get());
+		assertEquals(List.of(), hotEntityCache.hotSet().get(EntityType.PUBLISHER));
+	}
+
+	private void write(EntityType entityType, Long id) {
+		CatalogChangedEvent event = new CatalogChangedEvent(entityType, id, ChangeType.UPDATED, null);
+		catalogVersion.onCatalogChanged(event);
+		entityJsonCache.onCatalogChanged(event);
+	}
+
+	private MockHttpServletResponse get(String uri) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(new MockHttpServletRequest("GET", uri), response, controller);
+		return response;
+	}
+}
@@ -0,0 +1,70 @@
+package com.example.onlinelibrary.cache;
+
+import com.example.onlinelibrary.cache.HotKeyTracker.HotKey;
+import com.example.onlinelibrary.event.CatalogChangedEvent.EntityType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotKeyTrackerTest {
+
+	@Test
+	void countMinSketch_ShouldNeverUnderestimate() {
+		CountMinSketch sketch = new CountMinSketch(4, 64);
+		for (long key = 0; key < 1_000; key++) {
+			sketch.increment(key);
+		}
+		for (int i = 0; i < 100; i++) {
+			sketch.increment(7L);
+		}
+
+		assertTrue(sketch.estimate(7L) >= 101);
+		sketch.halve();
+		assertTrue(sketch.estimate(7L) >= 50);
+	}
+
+	@Test
+	void record_ShouldReportIdHot_OnceItReachesMinRequests() {
+		HotKeyTracker tracker = new HotKeyTracker(2, 3, 1_000);
+
+		assertFalse(tracker.record(EntityType.BOOK, 1L));
+		assertFalse(tracker.record(EntityType.BOOK, 1L));
+		assertTrue(tracker.record(EntityType.BOOK, 1L));
+		assertFalse(tracker.isHot(EntityType.AUTHOR, 1L));
+	}
+
+	@Test
+	void hotKeys_ShouldKeepOnlyTheMostRequestedIds() {
+		HotKeyTracker tracker = new HotKeyTracker(2, 3, 10_000);
+		request(tracker, EntityType.BOOK, 1L, 10);
+		request(tracker, EntityType.BOOK, 2L, 5);
+		request(tracker, EntityType.BOOK, 3L, 20);
+		for (long scan = 100; scan < 1_100; scan++) {
+			tracker.record(EntityType.BOOK, scan);
+		}
+
+		List<HotKey> hot = tracker.hotKeys(EntityType.BOOK);
+
+		assertEquals(List.of(3L, 1L), hot.stream().map(HotKey::id).toList());
+		assertFalse(tracker.isHot(EntityType.BOOK, 2L));
+	}
+
+	@Test
+	void record_ShouldCoolIdsDown_AsCountsDecay() {
+		HotKeyTracker tracker = new HotKeyTracker(4, 4, 8);
+		request(tracker, EntityType.PUBLISHER, 1L, 5);
+		assertTrue(tracker.isHot(EntityType.PUBLISHER, 1L));
+
+		request(tracker, EntityType.PUBLISHER, 2L, 3);
+
+		assertFalse(tracker.isHot(EntityType.PUBLISHER, 1L));
+	}
+
+	private static void request(HotKeyTracker tracker, EntityType type, long id, int times) {
+		for (int i = 0; i < times; i++) {
+			tracker.record(type, id);
+		}
+	}
+}
@@ -0,0 +1,67 @@
+package com.example.onlinelibrary.cache;
+
+import com.example.onlinelibrary.event.CatalogChangedEvent;
+import com.example.onlinelibrary.event.CatalogChangedEvent.ChangeType;
+import com.example.onlinelibrary.event.CatalogChangedEvent.EntityType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchResultCacheTest {
+
+	private CatalogVersion catalogVersion;
+
+	private SearchResultCache cache;
+
+	@BeforeEach
+	void setUp() {
+		catalogVersion = new CatalogVersion();
+		cache = new SearchResultCache(catalogVersion, new SimpleMeterRegistry(), 2);
+	}
+
+	@Test
+	void get_ShouldReturnIds_WhenStoredUnderCurrentVersion() {
+		cache.put("java", cache.currentVersion(), List.of(3L, 1L));
+
+		assertEquals(Optional.of(List.of(3L, 1L)), cache.get("java"));
+	}
+
+	@Test
+	void get_ShouldMiss_AfterAnyCatalogWrite() {
+		cache.put("java", cache.currentVersion(), List.of(1L));
+
+		catalogVersion.onCatalogChanged(new CatalogChangedEvent(EntityType.PUBLISHER, 9L, ChangeType.UPDATED, null));
+
+		assertTrue(cache.get("java").isEmpty());
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	void put_ShouldIgnoreResult_ComputedUnderOlderVersion() {
+		long version = cache.currentVersion();
+		catalogVersion.onCatalogChanged(new CatalogChangedEvent(EntityType.BOOK, 1L, ChangeType.CREATED, null));
+
+		cache.put("java", version, List.of(1L));
+
+		assertTrue(cache.get("java").isEmpty());
+	}
+
+	@Test
+	void put_ShouldEvictLeastRecentlyUsed_WhenFull() {
+		long version = cache.currentVersion();
+		cache.put("java", version, List.of(1L));
+		cache.put("spring", version, List.of(2L));
+		cache.get("java");
+
+		cache.put("kotlin", version, List.of(3L));
+
+		assertTrue(cache.get("spring").isEmpty());
+		assertTrue(cache.get("java").isPresent());
+		assertTrue(cache.get("kotlin").isPresent());
+	}
+}
@@ -0,0 +1,117 @@
+package com.example.onlinelibrary.cache;
+
+import com.example.onlinelibrary.cache.TopBooksCache.Ordering;
+import com.example.onlinelibrary.entity.Book;
+import com.example.onlinelibrary.event.CatalogChangedEvent;
+import com.example.onlinelibrary.event.CatalogChangedEvent.ChangeType;
+import com.example.onlinelibrary.event.CatalogChangedEvent.EntityType;
+import com.example.onlinelibrary.event.CatalogResyncEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopBooksCacheTest {
+
+	private CatalogVersion catalogVersion;
+
+	private TopBooksCache cache;
+
+	@BeforeEach
+	void setUp() {
+		catalogVersion = new CatalogVersion();
+		cache = new TopBooksCache(catalogVersion, 3);
+	}
+
+	@Test
+	void topIds_ShouldBeEmpty_UntilLoaded() {
+		assertTrue(cache.topIds(Ordering.LATEST, 2).isEmpty());
+	}
+
+	@Test
+	void topIds_ShouldServeLoadedPrefix() {
+		cache.load(Ordering.LATEST, cache.currentVersion(), List.of(book(3L, "C", 300), book(2L, "B", 200), book(1L, "A", 100)));
+
+		assertEquals(Optional.of(List.of(3L, 2L)), cache.topIds(Ordering.LATEST, 2));
+		assertTrue(cache.topIds(Ordering.LATEST, 4).isEmpty());
+	}
+
+	@Test
+	void topIds_ShouldServeWholeCatalog_WhenItIsSmallerThanCapacity() {
+		cache.load(Ordering.TITLE, cache.currentVersion(), List.of(book(1L, "A", 100)));
+
+		assertEquals(Optional.of(List.of(1L)), cache.topIds(Ordering.TITLE, 3));
+	}
+
+	@Test
+	void onCatalogChanged_ShouldInsertNewerBookAndTrimToCapacity() {
+		cache.load(Ordering.LATEST, cache.currentVersion(), List.of(book(3L, "C", 300), book(2L, "B", 200), book(1L, "A", 100)));
+
+		cache.onCatalogChanged(changed(ChangeType.CREATED, book(4L, "D", 250)));
+
+		assertEquals(Optional.of(List.of(3L, 4L, 2L)), cache.topIds(Ordering.LATEST, 3));
+	}
+
+	@Test
+	void onCatalogChanged_ShouldIgnoreBookBelowTheList_WhenListIsPartial() {
+		cache.load(Ordering.LATEST, cache.currentVersion(), List.of(book(3L, "C", 300), book(2L, "B", 200), book(1L, "A", 100)));
+
+		cache.onCatalogChanged(changed(ChangeType.DELETED, book(2L, "B", 200)));
+		cache.onCatalogChanged(changed(ChangeType.CREATED, book(5L, "E", 50)));
+
+		assertEquals(Optional.of(List.of(3L, 1L)), cache.topIds(Ordering.LATEST, 2));
+		assertTrue(cache.topIds(Ordering.LATEST, 3).isEmpty());
+	}
+
+	@Test
+	void onCatalogChanged_MixedCaseTitles_ShouldKeepTitleKeyOrder() {
+		cache = new TopBooksCache(catalogVersion, 10);
+		cache.load(Ordering.TITLE, cache.currentVersion(),
+				List.of(book(1L, "apple", 100), book(2L, "Banana", 200), book(4L, "cherry", 400), book(3L, "Émile", 300)));
+
+		cache.onCatalogChanged(changed(ChangeType.CREATED, book(5L, "BLUEBERRY", 500)));
+		cache.onCatalogChanged(changed(ChangeType.CREATED, book(6L, "dune", 600)));
+
+		assertEquals(Optional.of(List.of(1L, 2L, 5L, 4L, 6L, 3L)), cache.topIds(Ordering.TITLE, 10));
+	}
+
+	@Test
+	void onCatalogChanged_ShouldDropLists_WhenAuthorIsDeleted() {
+		cache.load(Ordering.TITLE, cache.currentVersion(), List.of(book(1L, "A", 100)));
+
+		cache.onCatalogChanged(new CatalogChangedEvent(EntityType.AUTHOR, 1L, ChangeType.DELETED, null));
+
+		assertTrue(cache.topIds(Ordering.TITLE, 1).isEmpty());
+	}
+
+	@Test
+	void onCatalogResync_ShouldDropLists() {
+		cache.load(Ordering.TITLE, cache.currentVersion(), List.of(book(1L, "A", 100)));
+
+		cache.onCatalogResync(new CatalogResyncEvent(1));
+
+		assertTrue(cache.topIds(Ordering.TITLE, 1).isEmpty());
+	}
+
+	@Test
+	void load_ShouldBeDiscarded_WhenCatalogChangedDuringQuery() {
+		long version = cache.currentVersion();
+		catalogVersion.onCatalogChanged(changed(ChangeType.CREATED, book(1L, "A", 100)));
+
+		cache.load(Ordering.TITLE, version, List.of(book(1L, "A", 100)));
+
+		assertTrue(cache.topIds(Ordering.TITLE, 1).isEmpty());
+	}
+
+	private static CatalogChangedEvent changed(ChangeType changeType, Book book) {
+		return new CatalogChangedEvent(EntityType.BOOK, book.getId(), changeType, book);
+	}
+
+	private static Book book(Long id, String title, long publishedAt) {
+		return new Book(id, title, new Date(publishedAt), null, null);
+	}
+}
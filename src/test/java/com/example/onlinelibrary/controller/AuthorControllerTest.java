@@ -2,6 +2,8 @@ package com.example.onlinelibrary.controller;
 
 import com.example.onlinelibrary.entity.Author;
 import com.example.onlinelibrary.service.AuthorService;
+import com.example.onlinelibrary.service.ModifiedSinceService;
+import com.example.onlinelibrary.service.SparseFieldService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -13,6 +15,8 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -25,6 +29,12 @@ class AuthorControllerTest {
     @Mock
     private AuthorService authorService;
 
+    @Mock
+    private SparseFieldService sparseFieldService;
+
+    @Mock
+    private ModifiedSinceService modifiedSinceService;
+
     @InjectMocks
     private AuthorController authorController;
 
@@ -63,6 +73,18 @@ class AuthorControllerTest {
         verify(authorService, times(1)).getAllAuthors();
     }
 
+    @Test
+    void getAllAuthors_ShouldReturnSparseFields_WhenFieldsAreGiven() throws Exception {
+        when(sparseFieldService.getAllAuthors("name")).thenReturn(List.of(Map.of("name", "Nikhitha")));
+
+        mockMvc.perform(get("/api/authors?fields=name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Nikhitha"))
+                .andExpect(jsonPath("$[0].id").doesNotExist());
+
+        verify(authorService, never()).getAllAuthors();
+    }
+
     @Test
     void getAuthorById_ShouldReturnAuthor_WhenExists() throws Exception {
         when(authorService.getAuthorById(1L)).thenReturn(author);
@@ -1,7 +1,15 @@
 package com.example.onlinelibrary.controller;
 
+import com.example.onlinelibrary.dto.BookRow;
+import com.example.onlinelibrary.dto.BookView;
+import com.example.onlinelibrary.dto.NamedRef;
+import com.example.onlinelibrary.dto.NormalizedBookList;
 import com.example.onlinelibrary.entity.Book;
+import com.example.onlinelibrary.search.BookSearchResult;
+import com.example.onlinelibrary.service.BookReadService;
 import com.example.onlinelibrary.service.BookService;
+import com.example.onlinelibrary.service.ModifiedSinceService;
+import com.example.onlinelibrary.service.SparseFieldService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -12,7 +20,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.LocalDate;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Date;
 import java.util.Optional;
 
@@ -26,6 +37,15 @@ class BookControllerTest {
     @Mock
     private BookService bookService;
 
+    @Mock
+    private SparseFieldService sparseFieldService;
+
+    @Mock
+    private BookReadService bookReadService;
+
+    @Mock
+    private ModifiedSinceService modifiedSinceService;
+
     @InjectMocks
     private BookController bookController;
 
@@ -64,6 +84,61 @@ class BookControllerTest {
         verify(bookService, times(1)).getAllBooks();
     }
 
+    @Test
+    void getAllBooks_ShouldUseJdbcReadPath_WhenConfigured() throws Exception {
+        when(bookReadService.servesFromJdbc("getAllBooks")).thenReturn(true);
+        when(bookReadService.getAllBooks()).thenReturn(List.of(
+                new BookView(1L, "Effective Java", null, new NamedRef(10L, "Joshua Bloch"), null)));
+
+        mockMvc.perform(get("/api/books"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Effective Java"))
+                .andExpect(jsonPath("$[0].author.name").value("Joshua Bloch"));
+
+        verify(bookService, never()).getAllBooks();
+    }
+
+    @Test
+    void getAllBooksNormalized_ShouldReferenceAuthorsById() throws Exception {
+        NormalizedBookList list = new NormalizedBookList(
+                List.of(new BookRow(1L, "Effective Java", null, 10L, 20L)),
+                List.of(new NamedRef(10L, "Joshua Bloch")),
+                List.of(new NamedRef(20L, "Addison-Wesley")));
+        when(bookService.getAllBooksNormalized()).thenReturn(list);
+
+        mockMvc.perform(get("/api/books?view=normalized"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.books[0].authorId").value(10))
+                .andExpect(jsonPath("$.authors[0].name").value("Joshua Bloch"))
+                .andExpect(jsonPath("$.publishers[0].id").value(20));
+
+        verify(bookService, never()).getAllBooks();
+    }
+
+    @Test
+    void getAllBooks_ShouldReturnSparseFields_WhenFieldsAreGiven() throws Exception {
+        when(sparseFieldService.getAllBooks("id,title")).thenReturn(List.of(Map.of("id", 1, "title", "Effective Java")));
+
+        mockMvc.perform(get("/api/books?fields=id,title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Effective Java"))
+                .andExpect(jsonPath("$[0].author").doesNotExist());
+
+        verify(sparseFieldService, times(1)).getAllBooks("id,title");
+        verify(bookService, never()).getAllBooks();
+    }
+
+    @Test
+    void searchBooks_ShouldReturnSparseFields_WhenFieldsAreGiven() throws Exception {
+        when(sparseFieldService.searchBooks("java", "title")).thenReturn(List.of(Map.of("title", "Effective Java")));
+
+        mockMvc.perform(get("/api/books/search?searchTerm=java&fields=title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Effective Java"));
+
+        verify(bookService, never()).searchBooks(any());
+    }
+
     @Test
     void getBookById_ShouldReturnBook_WhenExists() throws Exception {
         when(bookService.getBookById(1L)).thenReturn(book);
@@ -110,6 +185,18 @@ class BookControllerTest {
         verify(bookService, times(1)).searchBooks("Effective");
     }
 
+    @Test
+    void rankedSearch_ShouldReturnScoredBooks() throws Exception {
+        when(bookService.rankedSearch("java", 3)).thenReturn(Collections.singletonList(new BookSearchResult(book, 1.75)));
+
+        mockMvc.perform(get("/api/books/search/ranked?searchTerm=java&limit=3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].book.title").value("Effective Java"))
+                .andExpect(jsonPath("$[0].score").value(1.75));
+
+        verify(bookService, times(1)).rankedSearch("java", 3);
+    }
+
     @Test
     void sortBooksByTitle_ShouldReturnSortedBooks() throws Exception {
         when(bookService.sortBooksByTitle()).thenReturn(Collections.singletonList(book));
@@ -121,6 +208,42 @@ class BookControllerTest {
         verify(bookService, times(1)).sortBooksByTitle();
     }
 
+    @Test
+    void sortBooksByTitle_ShouldUseTopK_WhenLimitIsGiven() throws Exception {
+        when(bookService.sortBooksByTitle(5)).thenReturn(Collections.singletonList(book));
+
+        mockMvc.perform(get("/api/books/sort/title?limit=5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Effective Java"));
+
+        verify(bookService, times(1)).sortBooksByTitle(5);
+        verify(bookService, never()).sortBooksByTitle();
+    }
+
+    @Test
+    void sortBooksByTitle_ShouldReturnLimitedSparseFields_WhenFieldsAndLimitAreGiven() throws Exception {
+        when(sparseFieldService.sortBooksByTitle("id,title", 5)).thenReturn(List.of(Map.of("id", 1, "title", "Effective Java")));
+
+        mockMvc.perform(get("/api/books/sort/title?fields=id,title&limit=5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Effective Java"))
+                .andExpect(jsonPath("$[0].author").doesNotExist());
+
+        verify(sparseFieldService, times(1)).sortBooksByTitle("id,title", 5);
+        verify(bookService, never()).sortBooksByTitle(5);
+    }
+
+    @Test
+    void findLatestBooks_ShouldDefaultToTwentyBooks() throws Exception {
+        when(bookService.findLatestBooks(20)).thenReturn(Collections.singletonList(book));
+
+        mockMvc.perform(get("/api/books/latest"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Effective Java"));
+
+        verify(bookService, times(1)).findLatestBooks(20);
+    }
+
     @Test
     void sortBooksByPublicationDate_ShouldReturnSortedBooks() throws Exception {
         when(bookService.sortBooksByPublicationDate()).thenReturn(Collections.singletonList(book));
@@ -132,6 +255,35 @@ class BookControllerTest {
         verify(bookService, times(1)).sortBooksByPublicationDate();
     }
 
+    @Test
+    void pageBooksByTitle_ShouldPassSeekAndCursorParameters() throws Exception {
+        BookView view = new BookView(2L, "Java Puzzlers", null, new NamedRef(1L, "Joshua Bloch"), null);
+        when(bookService.pageBooksByTitle("J", 1L, true, 5)).thenReturn(List.of(view));
+
+        mockMvc.perform(get("/api/books/sort/title/page?from=J&after=1&desc=true&limit=5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Java Puzzlers"))
+                .andExpect(jsonPath("$[0].author.name").value("Joshua Bloch"));
+    }
+
+    @Test
+    void pageBooksByPublicationDate_ShouldDefaultToFirstTwentyAscending() throws Exception {
+        when(bookService.pageBooksByPublicationDate(null, null, false, 20)).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/books/sort/publication-date/page"))
+                .andExpect(status().isOk());
+
+        verify(bookService, times(1)).pageBooksByPublicationDate(null, null, false, 20);
+    }
+
+    @Test
+    void pageBooksByPublicationDate_ShouldParseIsoDate() throws Exception {
+        mockMvc.perform(get("/api/books/sort/publication-date/page?from=2018-01-06"))
+                .andExpect(status().isOk());
+
+        verify(bookService, times(1)).pageBooksByPublicationDate(LocalDate.of(2018, 1, 6), null, false, 20);
+    }
+
     @Test
     void generateAuthorReport_ShouldReturnReport() throws Exception {
         when(bookService.generateAuthorReport()).thenReturn(Collections.singletonList("Nikhitha: 1 books"));
@@ -0,0 +1,62 @@
+package com.example.onlinelibrary.controller;
+
+import com.example.onlinelibrary.service.ChangeFeedService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ChangeFeedControllerTest {
+
+    @Mock
+    private ChangeFeedService changeFeedService;
+
+    @InjectMocks
+    private ChangeFeedController changeFeedController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(changeFeedController).build();
+        when(changeFeedService.stream(anyLong())).thenReturn(Optional.of(new SseEmitter()));
+    }
+
+    @Test
+    void streamChanges_ShouldResumeFromLastEventId_WhenReconnectingWithSince() throws Exception {
+        mockMvc.perform(get("/api/changes/stream").param("since", "5").header("Last-Event-ID", "42"))
+                .andExpect(status().isOk());
+
+        verify(changeFeedService).stream(42L);
+        verify(changeFeedService, never()).stream(5L);
+    }
+
+    @Test
+    void streamChanges_ShouldStartFromSince_WithoutLastEventId() throws Exception {
+        mockMvc.perform(get("/api/changes/stream").param("since", "5"))
+                .andExpect(status().isOk());
+
+        verify(changeFeedService).stream(5L);
+    }
+
+    @Test
+    void streamChanges_ShouldStartAtLatest_WithoutCursor() throws Exception {
+        when(changeFeedService.latestSeq()).thenReturn(17L);
+
+        mockMvc.perform(get("/api/changes/stream"))
+                .andExpect(status().isOk());
+
+        verify(changeFeedService).stream(17L);
+    }
+}
@@ -2,6 +2,8 @@ package com.example.onlinelibrary.controller;
  
 import com.example.onlinelibrary.entity.Publisher;
 import com.example.onlinelibrary.service.PublisherService;
+import com.example.onlinelibrary.service.ModifiedSinceService;
+import com.example.onlinelibrary.service.SparseFieldService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -14,6 +16,8 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
  
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
  
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -27,6 +31,12 @@ class PublisherControllerTest {
  
     @Mock
     private PublisherService publisherService;
+
+    @Mock
+    private SparseFieldService sparseFieldService;
+
+    @Mock
+    private ModifiedSinceService modifiedSinceService;
  
     @InjectMocks
     private PublisherController publisherController;
@@ -66,6 +76,18 @@ class PublisherControllerTest {
         verify(publisherService, times(1)).getAllPublishers();
     }
  
+    @Test
+    void getAllPublishers_ShouldReturnSparseFields_WhenFieldsAreGiven() throws Exception {
+        when(sparseFieldService.getAllPublishers("name")).thenReturn(List.of(Map.of("name", "Nikhitha")));
+
+        mockMvc.perform(get("/api/publishers?fields=name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Nikhitha"))
+                .andExpect(jsonPath("$[0].id").doesNotExist());
+
+        verify(publisherService, never()).getAllPublishers();
+    }
+
     @Test
     void testGetPublisherById_Found() {
         Publisher mockPublisher = new Publisher();
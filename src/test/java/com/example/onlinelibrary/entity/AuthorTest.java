@@ -25,4 +25,14 @@ class AuthorTest {
 		assertEquals(1, author.getBooks().size());
 		assertEquals("Java Fundamentals", author.getBooks().iterator().next().getTitle());
 	}
+
+	@Test
+	void setName_ShouldKeepSearchKeyInStep() {
+		Author author = new Author(1L, "Émile Zola", new HashSet<>());
+		assertEquals("emile zola", author.getNameKey());
+
+		author.setName("Honoré  de Balzac");
+
+		assertEquals("honore de balzac", author.getNameKey());
+	}
 }
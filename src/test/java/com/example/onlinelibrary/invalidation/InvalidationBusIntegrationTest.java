@@ -0,0 +1,102 @@
+package com.example.onlinelibrary.invalidation;
+
+import com.example.onlinelibrary.event.CatalogChangedEvent.ChangeType;
+import com.example.onlinelibrary.event.CatalogChangedEvent.EntityType;
+import com.example.onlinelibrary.event.CatalogResyncEvent;
+import com.example.onlinelibrary.search.SearchKeys;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the bus against the JDBC transport of a real context: a write committed through JPA reaches a second
+ * subscriber on the shared table, and a resync rebuilds caches that missed a write.
+ */
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:invalidation_bus_db;DB_CLOSE_DELAY=-1",
+		"library.invalidation.transport=jdbc"})
+@AutoConfigureMockMvc
+class InvalidationBusIntegrationTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Test
+	void committedWrite_ShouldBeAppliedBySecondSubscriber() throws Exception {
+		JdbcInvalidationTransport transport = new JdbcInvalidationTransport(jdbcTemplate, Duration.ofHours(1),
+				Duration.ofSeconds(10), Duration.ofHours(1));
+		List<InvalidationMessage> received = new ArrayList<>();
+		List<Long> missed = new ArrayList<>();
+		InvalidationTransport.Receiver receiver = new InvalidationTransport.Receiver() {
+			@Override
+			public void receive(InvalidationMessage message) {
+				received.add(message);
+			}
+
+			@Override
+			public void missed(long count) {
+				missed.add(count);
+			}
+		};
+		try {
+			transport.subscribe(receiver);
+			mockMvc.perform(post("/api/authors").contentType(MediaType.APPLICATION_JSON)
+							.content("{\"name\":\"Stanislaw Lem\"}"))
+					.andExpect(status().isOk());
+			long authorId = jdbcTemplate.queryForObject("select id from authors where name = 'Stanislaw Lem'",
+					Long.class);
+
+			transport.poll(receiver);
+
+			assertEquals(1, received.size());
+			assertEquals(EntityType.AUTHOR, received.get(0).entityType());
+			assertEquals(authorId, received.get(0).entityId());
+			assertEquals(ChangeType.CREATED, received.get(0).changeType());
+			assertTrue(missed.isEmpty());
+		} finally {
+			transport.shutdown();
+		}
+	}
+
+	@Test
+	void resync_ShouldRebuildCachesThatMissedAWrite() throws Exception {
+		jdbcTemplate.update("insert into authors (name, name_key) values (?, ?)", "Solaris Author",
+				SearchKeys.normalize("Solaris Author"));
+		long authorId = jdbcTemplate.queryForObject("select id from authors where name = 'Solaris Author'", Long.class);
+		jdbcTemplate.update("insert into publishers (name, name_key) values (?, ?)", "Solaris Press",
+				SearchKeys.normalize("Solaris Press"));
+		long publisherId = jdbcTemplate.queryForObject("select id from publishers where name = 'Solaris Press'",
+				Long.class);
+		// Committed behind the caches' back, as a write whose invalidation was lost
+		jdbcTemplate.update("insert into books (title, title_key, author_id, publisher_id) values (?, ?, ?, ?)",
+				"Solaris", SearchKeys.normalize("Solaris"), authorId, publisherId);
+		mockMvc.perform(get("/api/books/sort/title/page?from=solaris"))
+				.andExpect(jsonPath("$.length()").value(0));
+
+		eventPublisher.publishEvent(new CatalogResyncEvent(1));
+
+		mockMvc.perform(get("/api/books/sort/title/page?from=solaris"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].title").value("Solaris"));
+	}
+}
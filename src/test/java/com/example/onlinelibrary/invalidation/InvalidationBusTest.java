@@ -0,0 +1,122 @@
+package com.example.onlinelibrary.invalidation;
+
+import com.example.onlinelibrary.entity.Author;
+import com.example.onlinelibrary.event.CatalogChangedEvent;
+import com.example.onlinelibrary.event.CatalogChangedEvent.ChangeType;
+import com.example.onlinelibrary.event.CatalogChangedEvent.EntityType;
+import com.example.onlinelibrary.event.CatalogResyncEvent;
+import com.example.onlinelibrary.repository.AuthorRepository;
+import com.example.onlinelibrary.repository.BookRepository;
+import com.example.onlinelibrary.repository.PublisherRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.HashSet;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class InvalidationBusTest {
+
+	private InMemoryInvalidationTransport transport;
+
+	private AuthorRepository authorRepository;
+
+	private ApplicationEventPublisher writerEvents;
+
+	private ApplicationEventPublisher readerEvents;
+
+	private SimpleMeterRegistry writerMetrics;
+
+	private SimpleMeterRegistry readerMetrics;
+
+	private InvalidationBus writer;
+
+	@BeforeEach
+	void setUp() {
+		transport = new InMemoryInvalidationTransport();
+		authorRepository = mock(AuthorRepository.class);
+		writerEvents = mock(ApplicationEventPublisher.class);
+		readerEvents = mock(ApplicationEventPublisher.class);
+		writerMetrics = new SimpleMeterRegistry();
+		readerMetrics = new SimpleMeterRegistry();
+		writer = bus("writer", writerEvents, writerMetrics);
+		bus("reader", readerEvents, readerMetrics);
+	}
+
+	@AfterEach
+	void tearDown() {
+		transport.shutdown();
+	}
+
+	@Test
+	void onCatalogChanged_ShouldRepublishWriteOnOtherNodes_WithEntityReadBack() {
+		Author author = new Author(4L, "Ann", new HashSet<>());
+		when(authorRepository.findById(4L)).thenReturn(Optional.of(author));
+
+		writer.onCatalogChanged(new CatalogChangedEvent(EntityType.AUTHOR, 4L, ChangeType.UPDATED, author));
+
+		ArgumentCaptor<CatalogChangedEvent> event = ArgumentCaptor.forClass(CatalogChangedEvent.class);
+		verify(readerEvents).publishEvent(event.capture());
+		assertEquals(new CatalogChangedEvent(EntityType.AUTHOR, 4L, ChangeType.UPDATED, author, true), event.getValue());
+		verify(writerEvents, never()).publishEvent(any(Object.class));
+		assertEquals(1.0, readerMetrics.get("library.invalidation.applied").counter().count());
+		assertEquals(1, readerMetrics.get("library.invalidation.lag").timer().count());
+	}
+
+	@Test
+	void receive_ShouldRepublishAsDelete_WhenEntityIsGone() {
+		when(authorRepository.findById(4L)).thenReturn(Optional.empty());
+
+		writer.onCatalogChanged(new CatalogChangedEvent(EntityType.AUTHOR, 4L, ChangeType.UPDATED, null));
+
+		verify(readerEvents).publishEvent(new CatalogChangedEvent(EntityType.AUTHOR, 4L, ChangeType.DELETED, null, true));
+	}
+
+	@Test
+	void onCatalogChanged_ShouldNotForwardRemoteEvents() {
+		writer.onCatalogChanged(new CatalogChangedEvent(EntityType.BOOK, 1L, ChangeType.DELETED, null, true));
+
+		verify(readerEvents, never()).publishEvent(any(Object.class));
+	}
+
+	@Test
+	void onCatalogChanged_InsideTransaction_ShouldReachOtherNodesOnlyAfterCommit() {
+		Author author = new Author(4L, "Ann", new HashSet<>());
+		when(authorRepository.findById(4L)).thenReturn(Optional.of(author));
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			writer.onCatalogChanged(new CatalogChangedEvent(EntityType.AUTHOR, 4L, ChangeType.UPDATED, author));
+			verifyNoInteractions(readerEvents);
+
+			TransactionSynchronizationUtils.triggerAfterCommit();
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		verify(readerEvents).publishEvent(new CatalogChangedEvent(EntityType.AUTHOR, 4L, ChangeType.UPDATED, author, true));
+	}
+
+	@Test
+	void missed_ShouldBeCounted_AndResyncLocalCaches() {
+		writer.missed(3);
+
+		assertEquals(3.0, writerMetrics.get("library.invalidation.missed").counter().count());
+		verify(writerEvents).publishEvent(new CatalogResyncEvent(3));
+	}
+
+	private InvalidationBus bus(String nodeId, ApplicationEventPublisher events, SimpleMeterRegistry metrics) {
+		InvalidationBus bus = new InvalidationBus(transport, events, mock(BookRepository.class), authorRepository,
+				mock(PublisherRepository.class), metrics, nodeId);
+		bus.start();
+		return bus;
+	}
+}
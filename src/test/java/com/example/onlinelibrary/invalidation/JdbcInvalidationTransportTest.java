@@ -0,0 +1,123 @@
+package com.example.onlinelibrary.invalidation;
+
+import com.example.onlinelibrary.event.CatalogChangedEvent.ChangeType;
+import com.example.onlinelibrary.event.CatalogChangedEvent.EntityType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcInvalidationTransportTest {
+
+	private EmbeddedDatabase database;
+
+	private JdbcTemplate jdbcTemplate;
+
+	private JdbcInvalidationTransport transport;
+
+	private final List<Long> received = new ArrayList<>();
+
+	private long missed;
+
+	private final InvalidationTransport.Receiver receiver = new InvalidationTransport.Receiver() {
+		@Override
+		public void receive(InvalidationMessage message) {
+			received.add(message.entityId());
+		}
+
+		@Override
+		public void missed(long count) {
+			missed += count;
+		}
+	};
+
+	@BeforeEach
+	void setUp() {
+		database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true)
+				.addScript("db/migration/V6__create_cache_invalidations.sql").build();
+		jdbcTemplate = new JdbcTemplate(database);
+		transport = new JdbcInvalidationTransport(jdbcTemplate, Duration.ofHours(1), Duration.ZERO, Duration.ofHours(1));
+	}
+
+	@AfterEach
+	void tearDown() {
+		transport.shutdown();
+		database.shutdown();
+	}
+
+	@Test
+	void poll_ShouldDeliverOnlyMessagesPublishedAfterSubscribing() {
+		transport.publish(message(1L));
+		transport.subscribe(receiver);
+		transport.publish(message(2L));
+		transport.publish(message(3L));
+
+		transport.poll(receiver);
+		transport.poll(receiver);
+
+		assertEquals(List.of(2L, 3L), received);
+		assertEquals(0, missed);
+	}
+
+	@Test
+	void poll_ShouldDeliverRowCommittedLate_AndCountGapsThatNeverFill() {
+		transport.subscribe(receiver);
+		insert(2L, 20L);
+		transport.poll(receiver);
+
+		insert(1L, 10L);
+		insert(5L, 50L);
+		transport.poll(receiver);
+		transport.poll(receiver);
+
+		assertEquals(List.of(20L, 10L, 50L), received);
+		assertEquals(2, missed);
+	}
+
+	@Test
+	void poll_ShouldCountMessageTheReceiverFailsToApply_AsMissed() {
+		InvalidationTransport.Receiver failing = new InvalidationTransport.Receiver() {
+			@Override
+			public void receive(InvalidationMessage message) {
+				if (message.entityId() == 2L) {
+					throw new IllegalStateException("database unavailable");
+				}
+				receiver.receive(message);
+			}
+
+			@Override
+			public void missed(long count) {
+				receiver.missed(count);
+			}
+		};
+		transport.subscribe(failing);
+		transport.publish(message(2L));
+		transport.publish(message(3L));
+
+		transport.poll(failing);
+		transport.poll(failing);
+
+		assertEquals(List.of(3L), received);
+		assertEquals(1, missed);
+	}
+
+	private void insert(long id, long entityId) {
+		jdbcTemplate.update("insert into cache_invalidations (id, node_id, entity_type, entity_id, change_type, "
+				+ "published_at) values (?, 'other', 'BOOK', ?, 'UPDATED', ?)", id, entityId, Timestamp.from(Instant.now()));
+	}
+
+	private static InvalidationMessage message(long bookId) {
+		return new InvalidationMessage("node", EntityType.BOOK, bookId, ChangeType.UPDATED, Instant.now());
+	}
+}
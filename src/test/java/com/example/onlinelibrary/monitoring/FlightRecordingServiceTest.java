@@ -0,0 +1,99 @@
+package com.example.onlinelibrary.monitoring;
+
+import com.example.onlinelibrary.entity.Author;
+import com.example.onlinelibrary.exception.InvalidDataException;
+import com.example.onlinelibrary.service.AuthorService;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class FlightRecordingServiceTest {
+
+	@TempDir
+	Path directory;
+
+	private FlightRecordingService flightRecordingService;
+
+	@BeforeEach
+	void setUp() {
+		flightRecordingService = new FlightRecordingService(directory, Duration.ofMinutes(5), DataSize.ofMegabytes(20), 2);
+	}
+
+	@AfterEach
+	void tearDown() {
+		flightRecordingService.close();
+	}
+
+	@Test
+	void start_ShouldThrowInvalidDataException_WhenAlreadyRunning() {
+		flightRecordingService.start();
+
+		assertEquals(true, flightRecordingService.status().get("running"));
+		assertThrows(InvalidDataException.class, () -> flightRecordingService.start());
+	}
+
+	@Test
+	void dump_ShouldThrowInvalidDataException_WhenNotRunning() {
+		assertThrows(InvalidDataException.class, () -> flightRecordingService.dump());
+	}
+
+	@Test
+	void dump_ShouldKeepOnlyNewestDumps() throws Exception {
+		Path unrelated = Files.createFile(directory.resolve("notes.txt"));
+		flightRecordingService.start();
+
+		flightRecordingService.dump();
+		Thread.sleep(5);
+		Path second = flightRecordingService.dump();
+		Thread.sleep(5);
+		Path third = flightRecordingService.dump();
+
+		try (Stream<Path> files = Files.list(directory)) {
+			assertEquals(Set.of(second, third, unrelated.toAbsolutePath()),
+					files.map(Path::toAbsolutePath).collect(Collectors.toSet()));
+		}
+	}
+
+	@Test
+	void stop_ShouldWriteServiceCallEventsToFile() throws Exception {
+		AuthorService target = mock(AuthorService.class);
+		when(target.getAuthorById(7L)).thenAnswer(invocation -> {
+			Thread.sleep(5);
+			return new Author(7L, "Joshua Bloch", Collections.emptySet());
+		});
+		AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+		proxyFactory.addAspect(new ServiceEventAspect());
+		AuthorService authorService = proxyFactory.getProxy();
+
+		flightRecordingService.start();
+		authorService.getAuthorById(7L);
+		Path file = flightRecordingService.stop();
+
+		assertTrue(Files.exists(file));
+		assertEquals(false, flightRecordingService.status().get("running"));
+		List<RecordedEvent> calls = RecordingFile.readAllEvents(file).stream()
+				.filter(event -> event.getEventType().getName().equals("com.example.onlinelibrary.ServiceCall"))
+				.toList();
+		assertEquals(1, calls.size());
+		assertEquals("getAuthorById", calls.get(0).getString("method"));
+		assertEquals(7L, calls.get(0).getLong("entityId"));
+		assertEquals(1, calls.get(0).getInt("resultSize"));
+	}
+}
@@ -0,0 +1,58 @@
+package com.example.onlinelibrary.monitoring;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlTrackingFilterTest {
+
+	private SimpleMeterRegistry meterRegistry;
+	private SqlTrackingFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		filter = new SqlTrackingFilter(meterRegistry, 3);
+	}
+
+	@Test
+	void doFilter_ShouldReportStatementsRowsAndTime() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(new MockHttpServletRequest("GET", "/api/books"), response, (request, res) -> {
+			SqlRequestStats stats = SqlRequestContext.current();
+			stats.setHandler("BookController.getAllBooks");
+			stats.recordStatement("select * from books", 4);
+			stats.recordRow();
+			stats.recordRow();
+		});
+
+		assertEquals("1", response.getHeader("X-SQL-Statements"));
+		assertEquals("2", response.getHeader("X-SQL-Rows"));
+		assertEquals("4", response.getHeader("X-SQL-Time-Ms"));
+		assertNull(response.getHeader("X-SQL-N-Plus-One"));
+		assertEquals(2.0, meterRegistry.get("library.sql.rows").tag("handler", "BookController.getAllBooks")
+				.summary().totalAmount());
+		assertNull(SqlRequestContext.current());
+	}
+
+	@Test
+	void doFilter_ShouldFlagRepeatedStatementAsNPlusOne() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(new MockHttpServletRequest("GET", "/api/authors"), response, (request, res) -> {
+			SqlRequestStats stats = SqlRequestContext.current();
+			stats.recordStatement("select * from authors", 1);
+			for (int i = 0; i < 3; i++) {
+				stats.recordStatement("select * from books where author_id=?", 1);
+			}
+		});
+
+		assertEquals("true", response.getHeader("X-SQL-N-Plus-One"));
+		assertEquals(1.0, meterRegistry.get("library.sql.n-plus-one").counter().count());
+	}
+}
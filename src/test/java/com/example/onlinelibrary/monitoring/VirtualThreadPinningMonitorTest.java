@@ -0,0 +1,54 @@
+package com.example.onlinelibrary.monitoring;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadPinningMonitorTest {
+
+	private static final List<String> DRIVER_STACK = List.of(
+			"java.net.SocketInputStream.read",
+			"com.mysql.cj.protocol.ReadAheadInputStream.read",
+			"com.mysql.cj.jdbc.ClientPreparedStatement.executeQuery",
+			"org.hibernate.sql.results.jdbc.internal.DeferredResultSetAccess.executeQuery",
+			"com.example.onlinelibrary.service.impl.BookServiceImpl.getBookById");
+
+	@Test
+	void site_ShouldPreferInnermostLibraryFrame() {
+		assertEquals("com.mysql.cj.protocol.ReadAheadInputStream.read", VirtualThreadPinningMonitor.site(DRIVER_STACK));
+	}
+
+	@Test
+	void site_WithoutLibraryFrame_ShouldFallBackToApplicationFrame() {
+		assertEquals("com.example.onlinelibrary.cache.HotKeyTracker.record",
+				VirtualThreadPinningMonitor.site(List.of("java.lang.Object.wait",
+						"com.example.onlinelibrary.cache.HotKeyTracker.record")));
+		assertEquals("java.lang.Object.wait", VirtualThreadPinningMonitor.site(List.of("java.lang.Object.wait")));
+		assertEquals("unknown", VirtualThreadPinningMonitor.site(List.of()));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void record_ShouldAggregatePerSite() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(meterRegistry, Duration.ofMillis(20));
+
+		monitor.record(DRIVER_STACK, Duration.ofMillis(30));
+		monitor.record(DRIVER_STACK, Duration.ofMillis(50));
+		monitor.record(List.of("com.example.onlinelibrary.cache.HotKeyTracker.record"), Duration.ofMillis(25));
+
+		List<Map<String, Object>> sites = (List<Map<String, Object>>) monitor.status().get("sites");
+		assertEquals(2, sites.size());
+		assertEquals("com.mysql.cj.protocol.ReadAheadInputStream.read", sites.get(0).get("site"));
+		assertEquals(2L, sites.get(0).get("count"));
+		assertEquals(80L, sites.get(0).get("totalMillis"));
+		assertEquals(50L, sites.get(0).get("maxMillis"));
+		assertEquals(2.0, meterRegistry.get("library.virtual-threads.pinned")
+				.tag("site", "com.mysql.cj.protocol.ReadAheadInputStream.read").counter().count());
+	}
+}
@@ -0,0 +1,73 @@
+package com.example.onlinelibrary.repository;
+
+import com.example.onlinelibrary.dto.CatalogChange;
+import com.example.onlinelibrary.event.CatalogChangedEvent.ChangeType;
+import com.example.onlinelibrary.event.CatalogChangedEvent.EntityType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogChangeRepositoryTest {
+
+	private EmbeddedDatabase database;
+
+	private JdbcTemplate jdbcTemplate;
+
+	private CatalogChangeRepository changeRepository;
+
+	@BeforeEach
+	void setUp() {
+		database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true)
+				.addScript("db/migration/V1__create_catalog_tables.sql")
+				.addScript("db/migration/V7__create_catalog_changes.sql")
+				.build();
+		jdbcTemplate = new JdbcTemplate(database);
+		changeRepository = new CatalogChangeRepository(JdbcClient.create(database));
+		jdbcTemplate.update("insert into authors (id, name) values (1, 'Ann'), (2, 'Bo')");
+		jdbcTemplate.update("insert into publishers (id, name) values (1, 'Press')");
+		jdbcTemplate.update("insert into books (id, title, author_id, publisher_id) values "
+				+ "(12, 'Dune', 1, 1), (10, 'Emma', 1, 1), (11, 'Solaris', 2, 1)");
+	}
+
+	@AfterEach
+	void tearDown() {
+		database.shutdown();
+	}
+
+	@Test
+	void appendBooksDeleted_ShouldNumberOneChangePerBookAfterEarlierChanges() {
+		Instant now = Instant.now();
+		changeRepository.append(EntityType.PUBLISHER, 1L, ChangeType.UPDATED, now);
+
+		changeRepository.appendBooksDeleted(EntityType.AUTHOR, 1L, now);
+		changeRepository.append(EntityType.AUTHOR, 1L, ChangeType.DELETED, now);
+
+		List<CatalogChange> changes = changeRepository.findSince(1, 10);
+		assertEquals(List.of(2L, 3L, 4L), changes.stream().map(CatalogChange::seq).toList());
+		assertEquals(List.of(10L, 12L, 1L), changes.stream().map(CatalogChange::entityId).toList());
+		assertEquals(List.of(EntityType.BOOK, EntityType.BOOK, EntityType.AUTHOR),
+				changes.stream().map(CatalogChange::entityType).toList());
+		assertEquals(ChangeType.DELETED, changes.get(0).changeType());
+		assertEquals(4, changeRepository.latestSeq());
+	}
+
+	@Test
+	void appendBooksDeleted_OwnerWithoutBooks_ShouldAppendNothing() {
+		jdbcTemplate.update("insert into publishers (id, name) values (2, 'Empty')");
+
+		changeRepository.appendBooksDeleted(EntityType.PUBLISHER, 2L, Instant.now());
+
+		assertEquals(0, changeRepository.latestSeq());
+		assertTrue(changeRepository.findSince(0, 10).isEmpty());
+	}
+}
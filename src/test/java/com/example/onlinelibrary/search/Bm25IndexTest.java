@@ -0,0 +1,91 @@
+package com.example.onlinelibrary.search;
+
+import com.example.onlinelibrary.entity.Author;
+import com.example.onlinelibrary.entity.Book;
+import com.example.onlinelibrary.entity.Publisher;
+import com.example.onlinelibrary.search.Bm25Index.Field;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Bm25IndexTest {
+
+	private Bm25Index index;
+
+	private Author bloch;
+
+	private Author goetz;
+
+	private Publisher addison;
+
+	@BeforeEach
+	void setUp() {
+		index = new Bm25Index(3.0, 2.0, 1.0);
+		bloch = new Author(1L, "Joshua Bloch", null);
+		goetz = new Author(2L, "Brian Goetz", null);
+		addison = new Publisher(1L, "Addison-Wesley", null);
+		index.index(book(1L, "Effective Java", bloch));
+		index.index(book(2L, "Java Concurrency in Practice", goetz));
+		index.index(book(3L, "Java Puzzlers", bloch));
+	}
+
+	@Test
+	void search_ShouldRankTitleMatchesByRelevance() {
+		List<BookSearchHit> hits = index.search("effective java", 10);
+
+		assertEquals(3, hits.size());
+		assertEquals(1L, hits.get(0).bookId());
+		assertTrue(hits.get(0).score() > hits.get(1).score());
+	}
+
+	@Test
+	void search_ShouldKeepOnlyTopLimitResults() {
+		List<BookSearchHit> hits = index.search("java", 2);
+
+		assertEquals(2, hits.size());
+		assertTrue(hits.get(0).score() >= hits.get(1).score());
+	}
+
+	@Test
+	void search_ShouldMatchAuthorAndPublisherFields() {
+		assertEquals(List.of(2L), index.search("goetz", 10).stream().map(BookSearchHit::bookId).toList());
+		assertEquals(3, index.search("wesley", 10).size());
+	}
+
+	@Test
+	void index_ShouldReplacePreviousVersionOfBook() {
+		index.index(book(1L, "Clean Code", bloch));
+
+		assertTrue(index.search("effective", 10).isEmpty());
+		assertEquals(1L, index.search("clean", 10).get(0).bookId());
+		assertEquals(3, index.size());
+	}
+
+	@Test
+	void rename_ShouldRetokenizeBooksOfAuthor() {
+		index.rename(Field.AUTHOR, 1L, SearchKeys.normalize("J. Bloch Jr"));
+
+		assertTrue(index.search("joshua", 10).isEmpty());
+		assertEquals(2, index.search("jr", 10).size());
+	}
+
+	@Test
+	void removeOwnedBy_ShouldDropBooksOfDeletedAuthor() {
+		index.removeOwnedBy(Field.AUTHOR, 1L);
+
+		assertEquals(1, index.size());
+		assertEquals(List.of(2L), index.search("java", 10).stream().map(BookSearchHit::bookId).toList());
+	}
+
+	@Test
+	void search_ShouldReturnEmpty_WhenQueryHasNoTokens() {
+		assertTrue(index.search(" -- ", 10).isEmpty());
+	}
+
+	private Book book(Long id, String title, Author author) {
+		return new Book(id, title, null, author, addison);
+	}
+}
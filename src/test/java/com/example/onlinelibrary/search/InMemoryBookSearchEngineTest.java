@@ -0,0 +1,90 @@
+package com.example.onlinelibrary.search;
+
+import com.example.onlinelibrary.entity.Author;
+import com.example.onlinelibrary.entity.Book;
+import com.example.onlinelibrary.entity.Publisher;
+import com.example.onlinelibrary.event.CatalogChangedEvent;
+import com.example.onlinelibrary.event.CatalogChangedEvent.ChangeType;
+import com.example.onlinelibrary.event.CatalogChangedEvent.EntityType;
+import com.example.onlinelibrary.repository.AuthorRepository;
+import com.example.onlinelibrary.repository.BookRepository;
+import com.example.onlinelibrary.repository.PublisherRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class InMemoryBookSearchEngineTest {
+
+	@Mock
+	private BookRepository bookRepository;
+
+	@Mock
+	private AuthorRepository authorRepository;
+
+	@Mock
+	private PublisherRepository publisherRepository;
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private InMemoryBookSearchEngine searchEngine;
+
+	private final Author bloch = new Author(1L, "Joshua Bloch", null);
+
+	private final Publisher addison = new Publisher(1L, "Addison-Wesley", null);
+
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.openMocks(this);
+		meterRegistry = new SimpleMeterRegistry();
+		searchEngine = new InMemoryBookSearchEngine(bookRepository, authorRepository, publisherRepository,
+				meterRegistry, 3.0, 2.0, 1.0);
+	}
+
+	@AfterEach
+	void tearDown() {
+		searchEngine.shutdown();
+	}
+
+	@Test
+	void reindex_ShouldReplaceIndexWithCurrentCatalog() {
+		when(bookRepository.findAll()).thenReturn(List.of(book(1L, "Effective Java")));
+		searchEngine.reindex();
+		when(bookRepository.findAll()).thenReturn(List.of(book(2L, "Java Puzzlers")));
+
+		assertEquals(1, searchEngine.reindex());
+
+		assertTrue(searchEngine.search("effective", 10).isEmpty());
+		assertEquals(2L, searchEngine.search("puzzlers", 10).get(0).bookId());
+	}
+
+	@Test
+	void onCatalogChanged_FailedUpdate_ShouldBeCountedAndNotStopLaterUpdates() {
+		when(bookRepository.findById(1L)).thenThrow(new IllegalStateException("connection reset"));
+		when(bookRepository.findById(2L)).thenReturn(Optional.of(book(2L, "Java Puzzlers")));
+
+		searchEngine.onCatalogChanged(changed(1L));
+		searchEngine.onCatalogChanged(changed(2L));
+		searchEngine.reindex();
+
+		assertEquals(1.0, meterRegistry.get("library.search.index.failures").counter().count());
+		verify(bookRepository).findById(2L);
+	}
+
+	private CatalogChangedEvent changed(Long bookId) {
+		return new CatalogChangedEvent(EntityType.BOOK, bookId, ChangeType.UPDATED, null, false);
+	}
+
+	private Book book(Long id, String title) {
+		return new Book(id, title, new Date(), bloch, addison);
+	}
+}
@@ -0,0 +1,186 @@
+package com.example.onlinelibrary.search;
+
+import com.example.onlinelibrary.dto.CatalogChange;
+import com.example.onlinelibrary.entity.Author;
+import com.example.onlinelibrary.entity.Book;
+import com.example.onlinelibrary.entity.Publisher;
+import com.example.onlinelibrary.event.CatalogChangedEvent;
+import com.example.onlinelibrary.event.CatalogChangedEvent.ChangeType;
+import com.example.onlinelibrary.event.CatalogChangedEvent.EntityType;
+import com.example.onlinelibrary.exception.InvalidDataException;
+import com.example.onlinelibrary.repository.BookRepository;
+import com.example.onlinelibrary.repository.CatalogChangeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class LuceneBookSearchEngineTest {
+
+	@TempDir
+	Path indexPath;
+
+	@Mock
+	private BookRepository bookRepository;
+
+	@Mock
+	private CatalogChangeRepository changeRepository;
+
+	private LuceneBookSearchEngine engine;
+
+	private Author bloch;
+
+	private Publisher addison;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		MockitoAnnotations.openMocks(this);
+		engine = newEngine();
+		bloch = new Author(1L, "Joshua Bloch", null);
+		addison = new Publisher(1L, "Addison-Wesley", null);
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		engine.close();
+	}
+
+	@Test
+	void search_ShouldStemTermsAndRankTitleFirst() throws Exception {
+		index(new Book(1L, "Effective Java", null, bloch, addison));
+		index(new Book(2L, "Programming Pearls", null, new Author(2L, "Jon Bentley", null), addison));
+
+		List<BookSearchHit> hits = engine.search("programs", 10);
+
+		assertEquals(List.of(2L), hits.stream().map(BookSearchHit::bookId).toList());
+	}
+
+	@Test
+	void search_ShouldSupportPhraseQueries() throws Exception {
+		index(new Book(1L, "Java Concurrency in Practice", null, bloch, addison));
+		index(new Book(2L, "Practice of Java", null, bloch, addison));
+
+		List<BookSearchHit> hits = engine.search("\"java concurrency\"", 10);
+
+		assertEquals(List.of(1L), hits.stream().map(BookSearchHit::bookId).toList());
+	}
+
+	@Test
+	void search_ShouldTreatQuerySyntaxAsPlainTerms() throws Exception {
+		index(new Book(1L, "Effective Java", null, bloch, addison));
+
+		assertEquals(List.of(), engine.search("jav*", 10));
+		assertEquals(List.of(), engine.search("/.*/", 10));
+		assertEquals(List.of(), engine.search("jav~2", 10));
+		assertEquals(List.of(1L), engine.search("title:(java", 10).stream().map(BookSearchHit::bookId).toList());
+		assertEquals(List.of(1L), engine.search("\"effective java", 10).stream().map(BookSearchHit::bookId).toList());
+	}
+
+	@Test
+	void search_WithTooManyTerms_ShouldThrowInvalidDataException() throws Exception {
+		index(new Book(1L, "Effective Java", null, bloch, addison));
+		String query = IntStream.range(0, 2000).mapToObj(i -> "term" + i).collect(Collectors.joining(" "));
+
+		assertThrows(InvalidDataException.class, () -> engine.search(query, 10));
+	}
+
+	@Test
+	void apply_ShouldRemoveBooksOfDeletedAuthor() throws Exception {
+		index(new Book(1L, "Effective Java", null, bloch, addison));
+
+		engine.apply(new CatalogChangedEvent(EntityType.AUTHOR, 1L, ChangeType.DELETED, null));
+		engine.awaitVisible();
+
+		assertTrue(engine.search("java", 10).isEmpty());
+	}
+
+	@Test
+	void reindex_ShouldStreamCatalogInBatches_AndDropDeletedBooks() throws Exception {
+		index(new Book(9L, "Deleted Book", null, bloch, addison));
+		engine.close();
+		engine = newEngine();
+		Book first = new Book(1L, "Effective Java", null, bloch, addison);
+		Book second = new Book(2L, "Java Puzzlers", null, bloch, addison);
+		when(bookRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(1))).thenReturn(List.of(first));
+		when(bookRepository.findByIdGreaterThanOrderByIdAsc(1L, Limit.of(1))).thenReturn(List.of(second));
+		when(bookRepository.findByIdGreaterThanOrderByIdAsc(2L, Limit.of(1))).thenReturn(List.of());
+
+		assertEquals(2, engine.reindex());
+		engine.awaitVisible();
+
+		assertEquals(2, engine.search("java", 10).size());
+		assertTrue(engine.search("deleted", 10).isEmpty());
+		verify(bookRepository, times(3)).findByIdGreaterThanOrderByIdAsc(any(), eq(Limit.of(1)));
+	}
+
+	@Test
+	void commit_AfterRestart_ShouldCatchUpFromCommittedChangeSeq() throws Exception {
+		rebuildAtSeq(3L, new Book(1L, "Effective Java", null, bloch, addison));
+		engine.close();
+		engine = newEngine();
+		Book missed = new Book(2L, "Java Puzzlers", null, bloch, addison);
+		when(bookRepository.findById(2L)).thenReturn(Optional.of(missed));
+		when(changeRepository.findSince(3L, 1))
+				.thenReturn(List.of(new CatalogChange(4L, EntityType.BOOK, 2L, ChangeType.CREATED, Instant.now())));
+
+		engine.commit();
+		engine.awaitVisible();
+
+		assertEquals(2, engine.search("java", 10).size());
+		clearInvocations(changeRepository);
+		engine.close();
+		engine = newEngine();
+		engine.commit();
+		verify(changeRepository).findSince(4L, 1);
+	}
+
+	@Test
+	void commit_BehindCompactedChangeFeed_ShouldRebuild() throws Exception {
+		rebuildAtSeq(3L, new Book(1L, "Effective Java", null, bloch, addison));
+		engine.close();
+		engine = newEngine();
+		when(changeRepository.compactedThrough()).thenReturn(10L);
+		when(changeRepository.latestSeq()).thenReturn(12L);
+		clearInvocations(bookRepository);
+
+		engine.commit();
+
+		verify(bookRepository).findByIdGreaterThanOrderByIdAsc(0L, Limit.of(1));
+		engine.close();
+		engine = newEngine();
+		engine.commit();
+		verify(changeRepository).findSince(12L, 1);
+	}
+
+	private void rebuildAtSeq(long seq, Book book) {
+		when(changeRepository.latestSeq()).thenReturn(seq);
+		when(bookRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(1))).thenReturn(List.of(book));
+		when(bookRepository.findByIdGreaterThanOrderByIdAsc(book.getId(), Limit.of(1))).thenReturn(List.of());
+		engine.reindex();
+	}
+
+	private LuceneBookSearchEngine newEngine() throws Exception {
+		return new LuceneBookSearchEngine(bookRepository, changeRepository, indexPath, 1, 60, 3.0f, 2.0f, 1.0f);
+	}
+
+	private void index(Book book) throws Exception {
+		when(bookRepository.findById(book.getId())).thenReturn(Optional.of(book));
+		engine.apply(new CatalogChangedEvent(EntityType.BOOK, book.getId(), ChangeType.CREATED, book));
+		engine.awaitVisible();
+	}
+}
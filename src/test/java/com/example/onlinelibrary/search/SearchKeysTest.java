@@ -0,0 +1,30 @@
+package com.example.onlinelibrary.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchKeysTest {
+
+	@Test
+	void normalize_ShouldFoldCaseAccentsAndWhitespace() {
+		assertEquals("emile zola", SearchKeys.normalize("  Émile \t ZOLA "));
+		assertEquals("garcia marquez", SearchKeys.normalize("García Márquez"));
+	}
+
+	@Test
+	void normalize_ShouldApplyCompatibilityDecompositionAndFullCaseFolding() {
+		assertEquals("office", SearchKeys.normalize("Oﬃce"));
+		assertEquals("strasse", SearchKeys.normalize("Straße"));
+	}
+
+	@Test
+	void normalize_ShouldReturnNull_ForNull() {
+		assertNull(SearchKeys.normalize(null));
+	}
+
+	@Test
+	void containsPattern_ShouldEscapeLikeWildcards() {
+		assertEquals("%100!% cotton!_ and !!%", SearchKeys.containsPattern("100% Cotton_ and !"));
+	}
+}
@@ -1,15 +1,21 @@
 package com.example.onlinelibrary.serviceImpl;
 
+import com.example.onlinelibrary.cache.CatalogNameFilter;
 import com.example.onlinelibrary.entity.Author;
+import com.example.onlinelibrary.event.CatalogChangedEvent.EntityType;
 import com.example.onlinelibrary.exception.DataIntegrityException;
 import com.example.onlinelibrary.exception.ResourceNotFoundException;
 import com.example.onlinelibrary.repository.AuthorRepository;
+import com.example.onlinelibrary.repository.CatalogChangeRepository;
+import com.example.onlinelibrary.repository.CatalogDeltaRepository;
 import com.example.onlinelibrary.service.impl.AuthorServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 
 import java.util.List;
@@ -17,6 +23,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class AuthorServiceImplTest {
@@ -24,6 +31,18 @@ class AuthorServiceImplTest {
 	@Mock
 	private AuthorRepository authorRepository;
 
+	@Mock
+	private CatalogNameFilter catalogNameFilter;
+
+	@Mock
+	private CatalogDeltaRepository deltaRepository;
+
+	@Mock
+	private CatalogChangeRepository changeRepository;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
 	@InjectMocks
 	private AuthorServiceImpl authorService;
 
@@ -60,6 +79,30 @@ class AuthorServiceImplTest {
 		verify(authorRepository, times(1)).save(author);
 	}
 
+	@Test
+	void createAuthor_ShouldThrowDataIntegrityException_WhenNameIsTaken() {
+		when(catalogNameFilter.mightExist(any(), eq("Nikhitha"))).thenReturn(true);
+		when(authorRepository.existsByName("Nikhitha")).thenReturn(true);
+
+		Exception exception = assertThrows(DataIntegrityException.class, () -> {
+			authorService.createAuthor(author);
+		});
+
+		assertEquals("Author with this name already exists", exception.getMessage());
+		verify(authorRepository, never()).save(any(Author.class));
+	}
+
+	@Test
+	void createAuthor_ShouldSkipExistenceLookup_WhenNameIsDefinitelyNew() {
+		when(catalogNameFilter.mightExist(any(), eq("Nikhitha"))).thenReturn(false);
+		when(authorRepository.save(any(Author.class))).thenReturn(author);
+
+		authorService.createAuthor(author);
+
+		verify(authorRepository, never()).existsByName(any());
+		verify(authorRepository, times(1)).save(author);
+	}
+
 	@Test
 	void getAllAuthors_ShouldReturnListOfAuthors() {
 		when(authorRepository.findAll()).thenReturn(List.of(author));
@@ -74,25 +117,25 @@ class AuthorServiceImplTest {
 
 	@Test
 	void getAuthorById_ShouldReturnAuthor_WhenExists() {
-		when(authorRepository.findById(1L)).thenReturn(Optional.of(author));
+		when(authorRepository.findWithBooksById(1L)).thenReturn(Optional.of(author));
 
 		Author foundAuthor = authorService.getAuthorById(1L);
 
 		assertNotNull(foundAuthor);
 		assertEquals("Nikhitha", foundAuthor.getName());
-		verify(authorRepository, times(1)).findById(1L);
+		verify(authorRepository, times(1)).findWithBooksById(1L);
 	}
 
 	@Test
 	void getAuthorById_ShouldThrowResourceNotFoundException_WhenDoesNotExist() {
-		when(authorRepository.findById(1L)).thenReturn(Optional.empty());
+		when(authorRepository.findWithBooksById(1L)).thenReturn(Optional.empty());
 
 		Exception exception = assertThrows(ResourceNotFoundException.class, () -> {
 			authorService.getAuthorById(1L);
 		});
 
 		assertEquals("Author not found with id 1", exception.getMessage());
-		verify(authorRepository, times(1)).findById(1L);
+		verify(authorRepository, times(1)).findWithBooksById(1L);
 	}
 
 	@Test
@@ -101,7 +144,7 @@ class AuthorServiceImplTest {
 		updatedAuthor.setName("Nikhitha");
 
 		when(authorRepository.findById(1L)).thenReturn(Optional.of(author));
-		when(authorRepository.save(any(Author.class))).thenReturn(updatedAuthor);
+		when(authorRepository.findWithBooksById(1L)).thenReturn(Optional.of(updatedAuthor));
 
 		Author result = authorService.updateAuthor(1L, updatedAuthor);
 
@@ -153,7 +196,9 @@ class AuthorServiceImplTest {
 
 		authorService.deleteAuthor(1L);
 
-		verify(authorRepository, times(1)).deleteById(1L);
+		InOrder inOrder = inOrder(changeRepository, authorRepository);
+		inOrder.verify(changeRepository).appendBooksDeleted(eq(EntityType.AUTHOR), eq(1L), any());
+		inOrder.verify(authorRepository, times(1)).deleteById(1L);
 	}
 
 	@Test
@@ -0,0 +1,65 @@
+package com.example.onlinelibrary.serviceImpl;
+
+import com.example.onlinelibrary.dto.BookView;
+import com.example.onlinelibrary.dto.NamedRef;
+import com.example.onlinelibrary.exception.InvalidDataException;
+import com.example.onlinelibrary.repository.BookJdbcRepository;
+import com.example.onlinelibrary.repository.BookJdbcRepository.AuthorBookCount;
+import com.example.onlinelibrary.service.impl.BookReadServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BookReadServiceImplTest {
+
+	@Mock
+	private BookJdbcRepository bookJdbcRepository;
+
+	private BookReadServiceImpl bookReadService;
+
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.openMocks(this);
+		bookReadService = new BookReadServiceImpl(bookJdbcRepository, Set.of("getAllBooks", "generateAuthorReport"));
+	}
+
+	@Test
+	void servesFromJdbc_ShouldOnlyCoverConfiguredEndpoints() {
+		assertTrue(bookReadService.servesFromJdbc("getAllBooks"));
+		assertFalse(bookReadService.servesFromJdbc("searchBooks"));
+	}
+
+	@Test
+	void getAllBooks_ShouldReturnRowsFromJdbc() {
+		List<BookView> books = List.of(new BookView(1L, "Effective Java", null, new NamedRef(10L, "Joshua Bloch"), null));
+		when(bookJdbcRepository.findAll()).thenReturn(books);
+
+		assertEquals(books, bookReadService.getAllBooks());
+	}
+
+	@Test
+	void searchBooks_ShouldThrowInvalidDataException_WhenSearchTermIsEmpty() {
+		assertThrows(InvalidDataException.class, () -> bookReadService.searchBooks(""));
+		verifyNoInteractions(bookJdbcRepository);
+	}
+
+	@Test
+	void searchBooks_ShouldThrowInvalidDataException_WhenSearchTermIsWhitespace() {
+		assertThrows(InvalidDataException.class, () -> bookReadService.searchBooks("   "));
+		verifyNoInteractions(bookJdbcRepository);
+	}
+
+	@Test
+	void generateAuthorReport_ShouldFormatCountsPerAuthor() {
+		when(bookJdbcRepository.countBooksByAuthor()).thenReturn(List.of(new AuthorBookCount("Nikhitha", 2)));
+
+		assertEquals(List.of("Nikhitha: 2 books"), bookReadService.generateAuthorReport());
+	}
+}
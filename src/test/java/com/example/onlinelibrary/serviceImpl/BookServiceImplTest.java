@@ -1,12 +1,29 @@
 package com.example.onlinelibrary.serviceImpl;
 
+import com.example.onlinelibrary.cache.BookNavigationIndex;
+import com.example.onlinelibrary.cache.CatalogNameFilter;
+import com.example.onlinelibrary.cache.CatalogSnapshot;
+import com.example.onlinelibrary.cache.CatalogSnapshotCache;
+import com.example.onlinelibrary.cache.SearchResultCache;
+import com.example.onlinelibrary.cache.TopBooksCache;
+import com.example.onlinelibrary.cache.TopBooksCache.Ordering;
+import com.example.onlinelibrary.dto.BookRow;
+import com.example.onlinelibrary.dto.BookView;
+import com.example.onlinelibrary.dto.NamedRef;
+import com.example.onlinelibrary.dto.NormalizedBookList;
 import com.example.onlinelibrary.entity.Author;
 import com.example.onlinelibrary.entity.Book;
 import com.example.onlinelibrary.entity.Publisher;
 import com.example.onlinelibrary.exception.DataIntegrityException;
 import com.example.onlinelibrary.exception.InvalidDataException;
 import com.example.onlinelibrary.exception.ResourceNotFoundException;
+import com.example.onlinelibrary.repository.AuthorRepository;
 import com.example.onlinelibrary.repository.BookRepository;
+import com.example.onlinelibrary.repository.CatalogDeltaRepository;
+import com.example.onlinelibrary.repository.PublisherRepository;
+import com.example.onlinelibrary.search.BookSearchEngine;
+import com.example.onlinelibrary.search.BookSearchHit;
+import com.example.onlinelibrary.search.BookSearchResult;
 import com.example.onlinelibrary.service.impl.BookServiceImpl;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -15,7 +32,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -32,6 +51,36 @@ class BookServiceImplTest {
 	@Mock
 	private BookRepository bookRepository;
 
+	@Mock
+	private AuthorRepository authorRepository;
+
+	@Mock
+	private PublisherRepository publisherRepository;
+
+	@Mock
+	private SearchResultCache searchResultCache;
+
+	@Mock
+	private BookSearchEngine searchEngine;
+
+	@Mock
+	private TopBooksCache topBooksCache;
+
+	@Mock
+	private CatalogNameFilter catalogNameFilter;
+
+	@Mock
+	private CatalogDeltaRepository deltaRepository;
+
+	@Mock
+	private CatalogSnapshotCache catalogSnapshotCache;
+
+	@Mock
+	private BookNavigationIndex navigationIndex;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
 	@InjectMocks
 	private BookServiceImpl bookService;
 
@@ -82,6 +131,32 @@ class BookServiceImplTest {
 		verify(bookRepository, times(1)).save(book);
 	}
 
+	@Test
+	void createBook_ShouldThrowDataIntegrityException_WhenTitleIsTaken() {
+		when(catalogNameFilter.mightExist(any(), eq("Effective Java"))).thenReturn(true);
+		when(bookRepository.existsByTitle("Effective Java")).thenReturn(true);
+
+		Exception exception = assertThrows(DataIntegrityException.class, () -> {
+			bookService.createBook(book);
+		});
+
+		assertEquals("Book with this title already exists", exception.getMessage());
+		verify(bookRepository, never()).save(any(Book.class));
+	}
+
+	@Test
+	void updateBook_ShouldNotCheckTitle_WhenTitleIsUnchanged() {
+		Book bookDetails = new Book();
+		bookDetails.setTitle("Effective Java");
+		when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+		when(bookRepository.save(any(Book.class))).thenReturn(book);
+
+		bookService.updateBook(1L, bookDetails);
+
+		verify(catalogNameFilter, never()).mightExist(any(), any());
+		verify(bookRepository, never()).existsByTitle(any());
+	}
+
 	@Test
 	void getAllBooks_ShouldReturnListOfBooks() {
 		when(bookRepository.findAll()).thenReturn(List.of(book));
@@ -94,6 +169,40 @@ class BookServiceImplTest {
 		verify(bookRepository, times(1)).findAll();
 	}
 
+	@Test
+	void getAllBooksNormalized_ShouldLoadReferencedAuthorsAndPublishersByJoin() {
+		Date published = new Date();
+		List<BookRow> rows = List.of(
+				new BookRow(1L, "Effective Java", published, 10L, 20L),
+				new BookRow(2L, "Java Puzzlers", published, 10L, 20L),
+				new BookRow(3L, "Java Concurrency in Practice", published, 11L, 20L));
+		when(bookRepository.findAllRows()).thenReturn(rows);
+		when(authorRepository.findRefsWithBooks())
+				.thenReturn(List.of(new NamedRef(10L, "Joshua Bloch"), new NamedRef(11L, "Brian Goetz")));
+		when(publisherRepository.findRefsWithBooks()).thenReturn(List.of(new NamedRef(20L, "Addison-Wesley")));
+
+		NormalizedBookList result = bookService.getAllBooksNormalized();
+
+		assertEquals(rows, result.books());
+		assertEquals(2, result.authors().size());
+		assertEquals(1, result.publishers().size());
+		verify(authorRepository, times(1)).findRefsWithBooks();
+		verify(publisherRepository, times(1)).findRefsWithBooks();
+		verify(authorRepository, never()).findRefsByIdIn(any());
+		verify(bookRepository, never()).findAll();
+	}
+
+	@Test
+	void getAllBooksNormalized_ShouldSkipSideTableQueries_WhenCatalogIsEmpty() {
+		when(bookRepository.findAllRows()).thenReturn(List.of());
+
+		NormalizedBookList result = bookService.getAllBooksNormalized();
+
+		assertTrue(result.books().isEmpty());
+		verify(authorRepository, never()).findRefsWithBooks();
+		verify(publisherRepository, never()).findRefsWithBooks();
+	}
+
 	@Test
 	void getBookById_ShouldReturnBook_WhenExists() {
 		when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
@@ -178,6 +287,46 @@ class BookServiceImplTest {
 		assertEquals("Effective Java", result.get(0).getTitle());
 	}
 
+	@Test
+	void searchBooks_ShouldMatchIgnoringAccents() {
+		Author author = new Author();
+		author.setName("Gabriel García Márquez");
+		book.setAuthor(author);
+		when(bookRepository.findAll()).thenReturn(List.of(book));
+
+		List<Book> result = bookService.searchBooks("GARCIA  marquez");
+
+		assertEquals(List.of(book), result);
+		verify(searchResultCache, times(1)).put(eq("garcia marquez"), anyLong(), eq(List.of(1L)));
+	}
+
+	@Test
+	void searchBooks_ShouldHydrateCachedIds_WithoutScanningCatalog() {
+		Book book2 = new Book();
+		book2.setId(2L);
+		book2.setTitle("Java Concurrency in Practice");
+		when(searchResultCache.get("java")).thenReturn(Optional.of(List.of(2L, 1L)));
+		when(bookRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(book, book2));
+
+		List<Book> result = bookService.searchBooks("Java");
+
+		assertEquals(2, result.size());
+		assertEquals("Java Concurrency in Practice", result.get(0).getTitle());
+		assertEquals("Effective Java", result.get(1).getTitle());
+		verify(bookRepository, never()).findAll();
+	}
+
+	@Test
+	void searchBooks_ShouldCacheMatchingIds_OnMiss() {
+		when(searchResultCache.get("effective")).thenReturn(Optional.empty());
+		when(searchResultCache.currentVersion()).thenReturn(7L);
+		when(bookRepository.findAll()).thenReturn(List.of(book));
+
+		bookService.searchBooks("Effective");
+
+		verify(searchResultCache, times(1)).put("effective", 7L, List.of(1L));
+	}
+
 	@Test
 	void searchBooks_ShouldThrowInvalidDataException_WhenSearchTermIsEmpty() {
 		Exception exception = assertThrows(InvalidDataException.class, () -> {
@@ -187,6 +336,42 @@ class BookServiceImplTest {
 		assertEquals("Search term cannot be empty", exception.getMessage());
 	}
 
+	@Test
+	void searchBooks_ShouldThrowInvalidDataException_WhenSearchTermIsWhitespace() {
+		Exception exception = assertThrows(InvalidDataException.class, () -> {
+			bookService.searchBooks(" \t ");
+		});
+
+		assertEquals("Search term cannot be empty", exception.getMessage());
+		verify(bookRepository, never()).findAll();
+		verify(searchResultCache, never()).put(anyString(), anyLong(), anyList());
+	}
+
+	@Test
+	void rankedSearch_ShouldReturnBooksInScoreOrder() {
+		Book book2 = new Book();
+		book2.setId(2L);
+		book2.setTitle("Java Concurrency in Practice");
+		when(searchEngine.search("java", 5)).thenReturn(List.of(new BookSearchHit(2L, 2.5), new BookSearchHit(1L, 1.5)));
+		when(bookRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(book, book2));
+
+		List<BookSearchResult> results = bookService.rankedSearch("java", 5);
+
+		assertEquals(2, results.size());
+		assertEquals("Java Concurrency in Practice", results.get(0).book().getTitle());
+		assertEquals(2.5, results.get(0).score());
+		assertEquals("Effective Java", results.get(1).book().getTitle());
+	}
+
+	@Test
+	void rankedSearch_ShouldThrowInvalidDataException_WhenLimitIsNotPositive() {
+		InvalidDataException exception = assertThrows(InvalidDataException.class,
+				() -> bookService.rankedSearch("java", 0));
+
+		assertEquals("Limit must be greater than zero", exception.getMessage());
+		verify(searchEngine, never()).search(anyString(), anyInt());
+	}
+
 	@Test
 	void sortBooksByTitle_ShouldReturnSortedBooks() {
 		Book book2 = new Book();
@@ -195,7 +380,7 @@ class BookServiceImplTest {
 		books.add(book);
 		books.add(book2);
 
-		when(bookRepository.findAll()).thenReturn(books);
+		when(bookRepository.findAllByOrderByTitleKeyAscIdAsc(Limit.unlimited())).thenReturn(books);
 
 		List<Book> sortedBooks = bookService.sortBooksByTitle();
 
@@ -203,6 +388,40 @@ class BookServiceImplTest {
 		assertEquals("Java Concurrency in Practice", sortedBooks.get(1).getTitle());
 	}
 
+	@Test
+	void findLatestBooks_ShouldQueryLimitedRowsAndWarmCache_OnMiss() {
+		Book book2 = new Book();
+		book2.setId(2L);
+		book2.setTitle("Java Concurrency in Practice");
+		when(topBooksCache.topIds(Ordering.LATEST, 1)).thenReturn(Optional.empty());
+		when(topBooksCache.capacity()).thenReturn(2);
+		when(topBooksCache.currentVersion()).thenReturn(4L);
+		when(bookRepository.findAllByOrderByPublicationDateDescIdDesc(Limit.of(2))).thenReturn(List.of(book, book2));
+
+		List<Book> latest = bookService.findLatestBooks(1);
+
+		assertEquals(1, latest.size());
+		assertEquals("Effective Java", latest.get(0).getTitle());
+		verify(topBooksCache, times(1)).load(Ordering.LATEST, 4L, List.of(book, book2));
+		verify(bookRepository, never()).findAll();
+	}
+
+	@Test
+	void sortBooksByTitle_ShouldHydrateCachedTopIds() {
+		when(topBooksCache.topIds(Ordering.TITLE, 1)).thenReturn(Optional.of(List.of(1L)));
+		when(bookRepository.findAllById(List.of(1L))).thenReturn(List.of(book));
+
+		List<Book> first = bookService.sortBooksByTitle(1);
+
+		assertEquals(List.of(book), first);
+		verify(bookRepository, never()).findAllByOrderByTitleKeyAscIdAsc(any());
+	}
+
+	@Test
+	void findLatestBooks_ShouldThrowInvalidDataException_WhenLimitIsNotPositive() {
+		assertThrows(InvalidDataException.class, () -> bookService.findLatestBooks(0));
+	}
+
 	@Test
 	void sortBooksByPublicationDate_ShouldReturnSortedBooks() {
 
@@ -238,6 +457,61 @@ class BookServiceImplTest {
 		assertEquals("Nikhitha: 1 books", report.get(0));
 	}
 
+	@Test
+	void generateAuthorReport_ShouldListAuthorsByName_WithoutSnapshot() {
+		Author tolkien = new Author();
+		tolkien.setName("Tolkien");
+		Author austen = new Author();
+		austen.setName("Austen");
+		Book hobbit = new Book(1L, "The Hobbit", null, tolkien, null);
+		Book emma = new Book(2L, "Emma", null, austen, null);
+		Book silmarillion = new Book(3L, "The Silmarillion", null, tolkien, null);
+		when(bookRepository.findAll()).thenReturn(List.of(hobbit, emma, silmarillion));
+
+		assertEquals(List.of("Austen: 1 books", "Tolkien: 2 books"), bookService.generateAuthorReport());
+	}
+
+	@Test
+	void pageBooksByTitle_ShouldThrowInvalidDataException_WhenLimitIsNotPositive() {
+		assertThrows(InvalidDataException.class, () -> bookService.pageBooksByTitle(null, null, false, 0));
+
+		verifyNoInteractions(navigationIndex);
+	}
+
+	@Test
+	void pageBooksByTitle_ShouldThrowResourceNotFoundException_WhenCursorBookIsUnknown() {
+		when(navigationIndex.pageByTitle(null, 99L, false, 10)).thenReturn(Optional.empty());
+
+		Exception exception = assertThrows(ResourceNotFoundException.class,
+				() -> bookService.pageBooksByTitle(null, 99L, false, 10));
+
+		assertEquals("Book not found with id 99", exception.getMessage());
+	}
+
+	@Test
+	void pageBooksByPublicationDate_ShouldServeFromNavigationIndex() {
+		BookView view = new BookView(1L, "Effective Java", null, null, null);
+		when(navigationIndex.pageByPublicationDate(null, null, true, 10)).thenReturn(Optional.of(List.of(view)));
+
+		assertEquals(List.of(view), bookService.pageBooksByPublicationDate(null, null, true, 10));
+		verifyNoInteractions(bookRepository);
+	}
+
+	@Test
+	void generateAuthorReport_ShouldCountFromSnapshot_WhenSnapshotIsBuilt() {
+		CatalogSnapshot snapshot = CatalogSnapshot.of(
+				List.of(new BookRow(1L, "Effective Java", null, 2L, 3L), new BookRow(2L, "Java Puzzlers", null, 2L, 3L),
+						new BookRow(3L, "Clean Code", null, 1L, 3L)),
+				List.of(new NamedRef(1L, "Robert Martin"), new NamedRef(2L, "Joshua Bloch"), new NamedRef(4L, "Nobody")),
+				List.of(new NamedRef(3L, "Addison-Wesley")));
+		when(catalogSnapshotCache.current()).thenReturn(Optional.of(snapshot));
+
+		List<String> report = bookService.generateAuthorReport();
+
+		assertEquals(List.of("Joshua Bloch: 2 books", "Robert Martin: 1 books"), report);
+		verify(bookRepository, never()).findAll();
+	}
+
 	@Test
 
 	void createBook_ShouldThrowInvalidDataException_WhenTitleIsNull() {
@@ -0,0 +1,142 @@
+package com.example.onlinelibrary.serviceImpl;
+
+import com.example.onlinelibrary.dto.CatalogChange;
+import com.example.onlinelibrary.dto.ChangePage;
+import com.example.onlinelibrary.event.CatalogChangedEvent;
+import com.example.onlinelibrary.event.CatalogChangedEvent.ChangeType;
+import com.example.onlinelibrary.event.CatalogChangedEvent.EntityType;
+import com.example.onlinelibrary.exception.InvalidDataException;
+import com.example.onlinelibrary.repository.CatalogChangeRepository;
+import com.example.onlinelibrary.service.impl.ChangeFeedServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ChangeFeedServiceImplTest {
+
+	@Mock
+	private CatalogChangeRepository changeRepository;
+
+	private ChangeFeedServiceImpl changeFeedService;
+
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.openMocks(this);
+		Duration idle = Duration.ofHours(1);
+		changeFeedService = new ChangeFeedServiceImpl(changeRepository, Duration.ofDays(7), idle, idle, idle, 1000);
+	}
+
+	@AfterEach
+	void tearDown() {
+		changeFeedService.shutdown();
+	}
+
+	@Test
+	void record_ShouldAppendLocalWrites() {
+		changeFeedService.record(new CatalogChangedEvent(EntityType.BOOK, 5L, ChangeType.UPDATED, null));
+
+		verify(changeRepository).append(eq(EntityType.BOOK), eq(5L), eq(ChangeType.UPDATED), any(Instant.class));
+	}
+
+	@Test
+	void record_ShouldSkipRemoteWrites() {
+		changeFeedService.record(new CatalogChangedEvent(EntityType.BOOK, 5L, ChangeType.UPDATED, null, true));
+
+		verifyNoInteractions(changeRepository);
+	}
+
+	@Test
+	void changesSince_ShouldContinueFromLastSequence() {
+		CatalogChange change = new CatalogChange(12L, EntityType.AUTHOR, 3L, ChangeType.DELETED, Instant.now());
+		when(changeRepository.findSince(10L, 2)).thenReturn(List.of(change));
+
+		assertEquals(Optional.of(new ChangePage(List.of(change), 12L)), changeFeedService.changesSince(10L, 2));
+		assertEquals(Optional.of(new ChangePage(List.of(), 20L)), changeFeedService.changesSince(20L, 2));
+	}
+
+	@Test
+	void changesSince_ShouldBeEmpty_WhenCursorWasCompacted() {
+		when(changeRepository.compactedThrough()).thenReturn(100L);
+
+		assertTrue(changeFeedService.changesSince(99L, 10).isEmpty());
+		assertTrue(changeFeedService.stream(99L).isEmpty());
+		verify(changeRepository, never()).findSince(anyLong(), anyInt());
+	}
+
+	@Test
+	void changesSince_ShouldRejectNonPositiveLimit() {
+		assertThrows(InvalidDataException.class, () -> changeFeedService.changesSince(0L, 0));
+	}
+
+	@Test
+	void stream_SlowClient_ShouldNotDelayOthers_AndShouldBeDisconnected() throws InterruptedException {
+		List<CatalogChange> changes = List.of(
+				new CatalogChange(1L, EntityType.BOOK, 1L, ChangeType.CREATED, Instant.now()),
+				new CatalogChange(2L, EntityType.BOOK, 2L, ChangeType.CREATED, Instant.now()),
+				new CatalogChange(3L, EntityType.BOOK, 3L, ChangeType.CREATED, Instant.now()));
+		when(changeRepository.findSince(anyLong(), anyInt())).thenAnswer(invocation -> changes.stream()
+				.filter(change -> change.seq() > invocation.getArgument(0, Long.class))
+				.toList());
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch disconnected = new CountDownLatch(1);
+		CountDownLatch delivered = new CountDownLatch(changes.size());
+		Deque<SseEmitter> emitters = new ArrayDeque<>(List.of(
+				new SseEmitter() {
+					@Override
+					public void send(SseEventBuilder builder) throws IOException {
+						try {
+							release.await(5, TimeUnit.SECONDS);
+						} catch (InterruptedException ex) {
+							Thread.currentThread().interrupt();
+						}
+					}
+
+					@Override
+					public void complete() {
+						disconnected.countDown();
+					}
+				},
+				new SseEmitter() {
+					@Override
+					public void send(SseEventBuilder builder) {
+						delivered.countDown();
+					}
+				}));
+		changeFeedService.shutdown();
+		changeFeedService = new ChangeFeedServiceImpl(changeRepository, Duration.ofDays(7), Duration.ofHours(1),
+				Duration.ofMillis(20), Duration.ofHours(1), 2) {
+			@Override
+			protected SseEmitter createEmitter(long timeoutMillis) {
+				return emitters.poll();
+			}
+		};
+
+		changeFeedService.stream(0L);
+		changeFeedService.stream(0L);
+
+		try {
+			assertTrue(delivered.await(5, TimeUnit.SECONDS));
+			assertTrue(disconnected.await(5, TimeUnit.SECONDS));
+		} finally {
+			release.countDown();
+		}
+	}
+}
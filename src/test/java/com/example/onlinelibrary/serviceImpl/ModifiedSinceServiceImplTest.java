@@ -0,0 +1,143 @@
+package com.example.onlinelibrary.serviceImpl;
+
+import com.example.onlinelibrary.dto.ModifiedPage;
+import com.example.onlinelibrary.entity.Author;
+import com.example.onlinelibrary.entity.Book;
+import com.example.onlinelibrary.event.CatalogChangedEvent.EntityType;
+import com.example.onlinelibrary.exception.InvalidDataException;
+import com.example.onlinelibrary.repository.AuthorRepository;
+import com.example.onlinelibrary.repository.BookRepository;
+import com.example.onlinelibrary.repository.CatalogDeltaRepository;
+import com.example.onlinelibrary.repository.PublisherRepository;
+import com.example.onlinelibrary.service.impl.ModifiedSinceServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ModifiedSinceServiceImplTest {
+
+	private static final Instant SINCE = Instant.parse("2024-01-01T00:00:00Z");
+
+	@Mock
+	private BookRepository bookRepository;
+
+	@Mock
+	private AuthorRepository authorRepository;
+
+	@Mock
+	private PublisherRepository publisherRepository;
+
+	@Mock
+	private CatalogDeltaRepository deltaRepository;
+
+	private ModifiedSinceServiceImpl modifiedSinceService;
+
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.openMocks(this);
+		modifiedSinceService = new ModifiedSinceServiceImpl(bookRepository, authorRepository, publisherRepository,
+				deltaRepository, Duration.ofSeconds(5));
+	}
+
+	@Test
+	void booksModifiedSince_FullPage_ShouldContinueFromLastRow() {
+		Book first = book(3L, SINCE.plusSeconds(1));
+		Book second = book(7L, SINCE.plusSeconds(2));
+		when(bookRepository.findModifiedSince(eq(SINCE), eq(0L), any(Instant.class), eq(Limit.of(2))))
+				.thenReturn(List.of(first, second));
+		when(deltaRepository.findDeleted(EntityType.BOOK, SINCE, SINCE.plusSeconds(2))).thenReturn(List.of(4L));
+
+		ModifiedPage<Book> page = modifiedSinceService.booksModifiedSince(SINCE, 0L, 2);
+
+		assertEquals(List.of(first, second), page.items());
+		assertEquals(List.of(4L), page.deletedIds());
+		assertEquals(SINCE.plusSeconds(2), page.nextModifiedSince());
+		assertEquals(7L, page.nextAfter());
+		assertTrue(page.more());
+	}
+
+	@Test
+	void booksModifiedSince_PartialPage_ShouldContinueFromSettleHorizon() {
+		Instant before = Instant.now().minusSeconds(5).truncatedTo(ChronoUnit.MILLIS);
+		when(bookRepository.findModifiedSince(eq(SINCE), eq(7L), any(Instant.class), any(Limit.class)))
+				.thenReturn(List.of(book(9L, SINCE.plusSeconds(3))));
+
+		ModifiedPage<Book> page = modifiedSinceService.booksModifiedSince(SINCE, 7L, 10);
+
+		assertEquals(1, page.items().size());
+		assertFalse(page.more());
+		assertEquals(0L, page.nextAfter());
+		assertFalse(page.nextModifiedSince().isBefore(before));
+		assertTrue(page.nextModifiedSince().isBefore(Instant.now()));
+		verify(deltaRepository).findDeleted(EntityType.BOOK, SINCE, page.nextModifiedSince());
+	}
+
+	@Test
+	void booksModifiedSince_CursorInsideSettleTime_ShouldReturnSameCursor() {
+		Instant recent = Instant.now();
+
+		ModifiedPage<Book> page = modifiedSinceService.booksModifiedSince(recent, 12L, 10);
+
+		assertTrue(page.items().isEmpty());
+		assertEquals(recent, page.nextModifiedSince());
+		assertEquals(12L, page.nextAfter());
+		verifyNoInteractions(bookRepository, deltaRepository);
+	}
+
+	@Test
+	void booksModifiedSince_ShouldCapPageSize() {
+		when(bookRepository.findModifiedSince(any(Instant.class), anyLong(), any(Instant.class), any(Limit.class)))
+				.thenReturn(Collections.emptyList());
+
+		modifiedSinceService.booksModifiedSince(SINCE, 0L, 50_000);
+
+		verify(bookRepository).findModifiedSince(eq(SINCE), eq(0L), any(Instant.class), eq(Limit.of(1000)));
+	}
+
+	@Test
+	void booksModifiedSince_InvalidLimit_ShouldThrowException() {
+		assertThrows(InvalidDataException.class, () -> modifiedSinceService.booksModifiedSince(SINCE, 0L, 0));
+	}
+
+	@Test
+	void authorsModifiedSince_ShouldKeepKeysetOrder() {
+		Author late = author(2L, SINCE.plusSeconds(9));
+		Author early = author(5L, SINCE.plusSeconds(1));
+		when(authorRepository.findIdsModifiedSince(eq(SINCE), eq(0L), any(Instant.class), eq(Limit.of(2))))
+				.thenReturn(List.of(5L, 2L));
+		when(authorRepository.findByIdIn(List.of(5L, 2L))).thenReturn(List.of(late, early));
+
+		ModifiedPage<Author> page = modifiedSinceService.authorsModifiedSince(SINCE, 0L, 2);
+
+		assertEquals(List.of(early, late), page.items());
+		assertEquals(SINCE.plusSeconds(9), page.nextModifiedSince());
+		assertEquals(2L, page.nextAfter());
+	}
+
+	private static Book book(Long id, Instant updatedAt) {
+		Book book = new Book(id, "Book " + id, null, null, null);
+		ReflectionTestUtils.setField(book, "updatedAt", updatedAt);
+		return book;
+	}
+
+	private static Author author(Long id, Instant updatedAt) {
+		Author author = new Author(id, "Author " + id, Collections.emptySet());
+		ReflectionTestUtils.setField(author, "updatedAt", updatedAt);
+		return author;
+	}
+}
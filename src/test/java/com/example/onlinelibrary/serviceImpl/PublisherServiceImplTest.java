@@ -1,16 +1,22 @@
 package com.example.onlinelibrary.serviceImpl;
 
+import com.example.onlinelibrary.cache.CatalogNameFilter;
 import com.example.onlinelibrary.entity.Publisher;
+import com.example.onlinelibrary.event.CatalogChangedEvent.EntityType;
 import com.example.onlinelibrary.exception.DataIntegrityException;
 import com.example.onlinelibrary.exception.ResourceNotFoundException;
 import com.example.onlinelibrary.repository.PublisherRepository;
+import com.example.onlinelibrary.repository.CatalogChangeRepository;
+import com.example.onlinelibrary.repository.CatalogDeltaRepository;
 import com.example.onlinelibrary.service.impl.PublisherServiceImpl;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 
 import java.util.List;
@@ -18,6 +24,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class PublisherServiceImplTest {
@@ -25,6 +32,18 @@ class PublisherServiceImplTest {
 	@Mock
 	private PublisherRepository publisherRepository;
 
+	@Mock
+	private CatalogNameFilter catalogNameFilter;
+
+	@Mock
+	private CatalogDeltaRepository deltaRepository;
+
+	@Mock
+	private CatalogChangeRepository changeRepository;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
 	@InjectMocks
 	private PublisherServiceImpl publisherService;
 
@@ -61,6 +80,19 @@ class PublisherServiceImplTest {
 		verify(publisherRepository, times(1)).save(publisher);
 	}
 
+	@Test
+	void createPublisher_ShouldThrowDataIntegrityException_WhenNameIsTaken() {
+		when(catalogNameFilter.mightExist(any(), eq(publisher.getName()))).thenReturn(true);
+		when(publisherRepository.existsByName(publisher.getName())).thenReturn(true);
+
+		Exception exception = assertThrows(DataIntegrityException.class, () -> {
+			publisherService.createPublisher(publisher);
+		});
+
+		assertEquals("Publisher with this name already exists", exception.getMessage());
+		verify(publisherRepository, never()).save(any(Publisher.class));
+	}
+
 	@Test
 	void getAllPublishers_ShouldReturnListOfPublishers() {
 		when(publisherRepository.findAll()).thenReturn(List.of(publisher));
@@ -75,25 +107,25 @@ class PublisherServiceImplTest {
 
 	@Test
 	void getPublisherById_ShouldReturnPublisher_WhenExists() {
-		when(publisherRepository.findById(1L)).thenReturn(Optional.of(publisher));
+		when(publisherRepository.findWithBooksById(1L)).thenReturn(Optional.of(publisher));
 
 		Publisher foundPublisher = publisherService.getPublisherById(1L);
 
 		assertNotNull(foundPublisher);
 		assertEquals("Geetha Publisher", foundPublisher.getName());
-		verify(publisherRepository, times(1)).findById(1L);
+		verify(publisherRepository, times(1)).findWithBooksById(1L);
 	}
 
 	@Test
 	void getPublisherById_ShouldThrowResourceNotFoundException_WhenDoesNotExist() {
-		when(publisherRepository.findById(1L)).thenReturn(Optional.empty());
+		when(publisherRepository.findWithBooksById(1L)).thenReturn(Optional.empty());
 
 		Exception exception = assertThrows(ResourceNotFoundException.class, () -> {
 			publisherService.getPublisherById(1L);
 		});
 
 		assertEquals("Publisher not found with id 1", exception.getMessage());
-		verify(publisherRepository, times(1)).findById(1L);
+		verify(publisherRepository, times(1)).findWithBooksById(1L);
 	}
 
 	@Test
@@ -102,7 +134,7 @@ class PublisherServiceImplTest {
 		updatedPublisher.setName("The Indian Publisher");
 
 		when(publisherRepository.findById(1L)).thenReturn(Optional.of(publisher));
-		when(publisherRepository.save(any(Publisher.class))).thenReturn(updatedPublisher);
+		when(publisherRepository.findWithBooksById(1L)).thenReturn(Optional.of(updatedPublisher));
 
 		Publisher result = publisherService.updatePublisher(1L, updatedPublisher);
 
@@ -144,7 +176,9 @@ class PublisherServiceImplTest {
 
 		publisherService.deletePublisher(1L);
 
-		verify(publisherRepository, times(1)).deleteById(1L);
+		InOrder inOrder = inOrder(changeRepository, publisherRepository);
+		inOrder.verify(changeRepository).appendBooksDeleted(eq(EntityType.PUBLISHER), eq(1L), any());
+		inOrder.verify(publisherRepository, times(1)).deleteById(1L);
 	}
 
 	@Test
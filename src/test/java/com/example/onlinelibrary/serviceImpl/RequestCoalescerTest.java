@@ -0,0 +1,193 @@
+package com.example.onlinelibrary.serviceImpl;
+
+import com.example.onlinelibrary.cache.CatalogVersion;
+import com.example.onlinelibrary.cache.EntityJsonCache;
+import com.example.onlinelibrary.entity.Book;
+import com.example.onlinelibrary.event.CatalogChangedEvent;
+import com.example.onlinelibrary.event.CatalogChangedEvent.ChangeType;
+import com.example.onlinelibrary.event.CatalogChangedEvent.EntityType;
+import com.example.onlinelibrary.exception.InvalidDataException;
+import com.example.onlinelibrary.service.impl.RequestCoalescer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCoalescerTest {
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private RequestCoalescer coalescer;
+
+	private ExecutorService executor;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		coalescer = new RequestCoalescer(new CatalogVersion(), meterRegistry, Duration.ofSeconds(5));
+		executor = Executors.newFixedThreadPool(2);
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void execute_ShouldShareInFlightResult_WhenSameKeyIsRequestedConcurrently() throws Exception {
+		CountDownLatch leaderStarted = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger loads = new AtomicInteger();
+
+		Future<String> leader = executor.submit(() -> coalescer.execute("searchBooks", List.of("java"), () -> {
+			loads.incrementAndGet();
+			leaderStarted.countDown();
+			await(release);
+			return "result";
+		}));
+		assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+		Future<String> follower = executor.submit(() -> coalescer.execute("searchBooks", List.of("java"), () -> {
+			loads.incrementAndGet();
+			return "other";
+		}));
+		waitForDeduplicatedCount(1);
+		release.countDown();
+
+		assertEquals("result", leader.get(5, TimeUnit.SECONDS));
+		assertEquals("result", follower.get(5, TimeUnit.SECONDS));
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	void execute_ShouldLoadAgain_WhenPreviousCallHasFinished() {
+		AtomicInteger loads = new AtomicInteger();
+
+		coalescer.execute("getAllBooks", List.of(), loads::incrementAndGet);
+		coalescer.execute("getAllBooks", List.of(), loads::incrementAndGet);
+
+		assertEquals(2, loads.get());
+		assertEquals(0.0, meterRegistry.counter("library.coalescing.calls", "method", "getAllBooks", "outcome",
+				"deduplicated").count());
+	}
+
+	@Test
+	void execute_ShouldFallBackToOwnLoad_WhenLeaderExceedsMaxWait() throws Exception {
+		coalescer = new RequestCoalescer(new CatalogVersion(), meterRegistry, Duration.ofMillis(50));
+		CountDownLatch leaderStarted = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		Future<String> leader = executor.submit(() -> coalescer.execute("generateAuthorReport", List.of(), () -> {
+			leaderStarted.countDown();
+			await(release);
+			return "slow";
+		}));
+		assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+		String result = coalescer.execute("generateAuthorReport", List.of(), () -> "fast");
+		release.countDown();
+
+		assertEquals("fast", result);
+		assertEquals("slow", leader.get(5, TimeUnit.SECONDS));
+		assertEquals(1.0, meterRegistry.counter("library.coalescing.calls", "method", "generateAuthorReport",
+				"outcome", "timeout").count());
+	}
+
+	@Test
+	void execute_ShouldPropagateLeaderException_ToFollowers() throws Exception {
+		CountDownLatch leaderStarted = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		Future<Object> leader = executor.submit(() -> coalescer.execute("searchBooks", List.of(""), () -> {
+			leaderStarted.countDown();
+			await(release);
+			throw new InvalidDataException("Search term cannot be empty");
+		}));
+		assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+		Future<Object> follower = executor.submit(() -> coalescer.execute("searchBooks", List.of(""), () -> "unused"));
+		waitForDeduplicatedCount(1);
+		release.countDown();
+
+		Exception exception = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+		assertInstanceOf(InvalidDataException.class, exception.getCause());
+		assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void execute_WriteCommittedDuringLeaderLoad_FollowerShouldLoadOnItsOwn() throws Exception {
+		CatalogVersion catalogVersion = new CatalogVersion();
+		EntityJsonCache jsonCache = new EntityJsonCache(catalogVersion, new ObjectMapper(), meterRegistry, 100);
+		coalescer = new RequestCoalescer(catalogVersion, meterRegistry, Duration.ofSeconds(5));
+		CountDownLatch leaderStarted = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		Future<Book> leader = executor.submit(() -> coalescer.execute("getBookById", List.of(3L), () -> {
+			leaderStarted.countDown();
+			await(release);
+			return new Book(3L, "Dune", null, null, null);
+		}));
+		assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+		CatalogChangedEvent rename = new CatalogChangedEvent(EntityType.BOOK, 3L, ChangeType.UPDATED,
+				new Book(3L, "Dune Messiah", null, null, null));
+		catalogVersion.onCatalogChanged(rename);
+		jsonCache.onCatalogChanged(rename);
+
+		// The follower's request starts after the rename committed, so it must not get the load that began before it
+		Future<String> follower = executor.submit(() -> {
+			RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+			try {
+				RequestAttributes attributes = RequestContextHolder.currentRequestAttributes();
+				attributes.setAttribute(EntityJsonCache.REQUEST_VERSION, catalogVersion.current(),
+						RequestAttributes.SCOPE_REQUEST);
+				Book book = coalescer.execute("getBookById", List.of(3L),
+						() -> new Book(3L, "Dune Messiah", null, null, null));
+				Long loadedAt = (Long) attributes.getAttribute(EntityJsonCache.REQUEST_VERSION,
+						RequestAttributes.SCOPE_REQUEST);
+				return new String(jsonCache.json(book, loadedAt), StandardCharsets.UTF_8);
+			} finally {
+				RequestContextHolder.resetRequestAttributes();
+			}
+		});
+
+		assertTrue(follower.get(5, TimeUnit.SECONDS).contains("\"Dune Messiah\""));
+		release.countDown();
+		assertEquals("Dune", leader.get(5, TimeUnit.SECONDS).getTitle());
+		assertEquals(0.0, meterRegistry.counter("library.coalescing.calls", "method", "getBookById", "outcome",
+				"deduplicated").count());
+	}
+
+	private void waitForDeduplicatedCount(int expected) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (meterRegistry.find("library.coalescing.calls").tag("outcome", "deduplicated").counters().stream()
+				.mapToDouble(counter -> counter.count()).sum() < expected) {
+			assertTrue(System.nanoTime() < deadline, "follower never joined the in-flight call");
+			Thread.sleep(5);
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
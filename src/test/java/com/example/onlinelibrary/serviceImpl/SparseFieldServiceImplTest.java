@@ -0,0 +1,96 @@
+package com.example.onlinelibrary.serviceImpl;
+
+import com.example.onlinelibrary.exception.InvalidDataException;
+import com.example.onlinelibrary.repository.SparseFieldRepository;
+import com.example.onlinelibrary.repository.SparseFieldRepository.BookOrder;
+import com.example.onlinelibrary.service.impl.SparseFieldServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SparseFieldServiceImplTest {
+
+	@Mock
+	private SparseFieldRepository sparseFieldRepository;
+
+	@InjectMocks
+	private SparseFieldServiceImpl sparseFieldService;
+
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.openMocks(this);
+	}
+
+	@Test
+	void getAllBooks_ShouldProjectRequestedFieldsInOrder() {
+		List<Map<String, Object>> rows = List.of(Map.of("id", 1L, "title", "Effective Java"));
+		when(sparseFieldRepository.findBooks(List.of("title", "id"), null, BookOrder.NONE)).thenReturn(rows);
+
+		assertEquals(rows, sparseFieldService.getAllBooks(" title, id,title "));
+	}
+
+	@Test
+	void sortBooksByPublicationDate_ShouldOrderInQuery() {
+		sparseFieldService.sortBooksByPublicationDate("id");
+
+		verify(sparseFieldRepository, times(1)).findBooks(List.of("id"), null, BookOrder.PUBLICATION_DATE);
+	}
+
+	@Test
+	void sortBooksByTitle_ShouldLimitQuery_WhenLimitIsGiven() {
+		sparseFieldService.sortBooksByTitle("id,title", 5);
+
+		verify(sparseFieldRepository, times(1)).findBooks(List.of("id", "title"), null, BookOrder.TITLE, Limit.of(5));
+	}
+
+	@Test
+	void sortBooksByTitle_ShouldThrowInvalidDataException_WhenLimitIsNotPositive() {
+		assertThrows(InvalidDataException.class, () -> sparseFieldService.sortBooksByTitle("id", 0));
+		verifyNoInteractions(sparseFieldRepository);
+	}
+
+	@Test
+	void searchBooks_ShouldPassSearchTermToQuery() {
+		sparseFieldService.searchBooks("java", "id,author");
+
+		verify(sparseFieldRepository, times(1)).findBooks(List.of("id", "author"), "java", BookOrder.NONE);
+	}
+
+	@Test
+	void searchBooks_ShouldThrowInvalidDataException_WhenSearchTermIsEmpty() {
+		assertThrows(InvalidDataException.class, () -> sparseFieldService.searchBooks("", "id"));
+	}
+
+	@Test
+	void searchBooks_ShouldThrowInvalidDataException_WhenSearchTermIsWhitespace() {
+		assertThrows(InvalidDataException.class, () -> sparseFieldService.searchBooks("   ", "id"));
+		verifyNoInteractions(sparseFieldRepository);
+	}
+
+	@Test
+	void getAllAuthors_ShouldRejectUnknownField() {
+		InvalidDataException exception = assertThrows(InvalidDataException.class,
+				() -> sparseFieldService.getAllAuthors("id,books"));
+
+		assertEquals("Unknown field: books", exception.getMessage());
+		verify(sparseFieldRepository, never()).findAuthors(anyList());
+	}
+
+	@Test
+	void getAllPublishers_ShouldThrowInvalidDataException_WhenNoFieldIsGiven() {
+		InvalidDataException exception = assertThrows(InvalidDataException.class,
+				() -> sparseFieldService.getAllPublishers(" , "));
+
+		assertEquals("At least one field is required", exception.getMessage());
+	}
+}
@@ -0,0 +1,70 @@
+package com.example.onlinelibrary.threading;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BoundedDataSourceTest {
+
+	private DataSource target;
+	private BoundedDataSource dataSource;
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		target = mock(DataSource.class);
+		when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+		dataSource = new BoundedDataSource(target, 2, Duration.ofMillis(50));
+	}
+
+	@Test
+	void getConnection_AllPermitsTaken_ShouldTimeOut() throws SQLException {
+		dataSource.getConnection();
+		dataSource.getConnection();
+
+		assertThrows(SQLTransientConnectionException.class, () -> dataSource.getConnection());
+		assertEquals(0, dataSource.status().get("available"));
+	}
+
+	@Test
+	void close_ShouldReleasePermitOnce() throws SQLException {
+		Connection connection = dataSource.getConnection();
+
+		connection.close();
+		connection.close();
+
+		assertEquals(2, dataSource.status().get("available"));
+		dataSource.getConnection();
+		dataSource.getConnection();
+		assertThrows(SQLTransientConnectionException.class, () -> dataSource.getConnection());
+	}
+
+	@Test
+	void getConnection_TargetFails_ShouldReleasePermit() throws SQLException {
+		when(target.getConnection()).thenThrow(new SQLException("database down"));
+
+		assertThrows(SQLException.class, () -> dataSource.getConnection());
+
+		assertEquals(2, dataSource.status().get("available"));
+	}
+
+	@Test
+	void connection_ShouldDelegateToTarget() throws SQLException {
+		Connection delegate = mock(Connection.class);
+		when(target.getConnection()).thenReturn(delegate);
+
+		Connection connection = dataSource.getConnection();
+		connection.setAutoCommit(false);
+		connection.close();
+
+		verify(delegate).setAutoCommit(false);
+		verify(delegate).close();
+	}
+}